@@ -1,7 +1,11 @@
 package ch.uzh.ifi.seal.soprafs20.bots;
 
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
 import ch.uzh.ifi.seal.soprafs20.entity.MysteryWord;
 
+/**
+ * Bots are stateless and shared by all lobbies, the language of the lobby is passed with each call
+ */
 public interface Bot {
-    public String getClue(MysteryWord mysteryWord);
+    public String getClue(MysteryWord mysteryWord, Language language);
 }
@@ -0,0 +1,110 @@
+package ch.uzh.ifi.seal.soprafs20.bots;
+
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Bot Lexicon
+ * Word relations the bots give their clues from, one WordGraph per language loaded once from the
+ * classpath (bots/words_EN.csv, bots/words_DE.csv) and shared read-only by all bots, together with the
+ * list of random words per language (bots/random_EN.txt, bots/random_DE.txt) of the CrazyBot.
+ * No clue needs a call to an external service.
+ */
+@Component
+public class BotLexicon {
+
+    private static final String WORDS = "bots/words_";
+    private static final String RANDOM_WORDS = "bots/random_";
+
+    private final Map<Language, WordGraph> graphs;
+    private final Map<Language, String[]> randomWords;
+
+    public BotLexicon() {
+        Map<Language, WordGraph> byLanguage = new EnumMap<>(Language.class);
+        Map<Language, String[]> randomByLanguage = new EnumMap<>(Language.class);
+        for (Language language : Language.values()) {
+            byLanguage.put(language, load(WORDS + language + ".csv"));
+            randomByLanguage.put(language, loadWords(RANDOM_WORDS + language + ".txt"));
+        }
+        this.graphs = Collections.unmodifiableMap(byLanguage);
+        this.randomWords = Collections.unmodifiableMap(randomByLanguage);
+    }
+
+    /**
+     * @return a synonym or, if there is none, a related word for the FriendlyBot or null if the word is not in the lexicon
+     */
+    public String getSynonym(Language language, String word) {
+        WordGraph graph = graphs.get(language);
+        String synonym = graph.first(word, WordGraph.Relation.SYNONYM);
+        return synonym != null ? synonym : graph.first(word, WordGraph.Relation.RELATED);
+    }
+
+    /**
+     * @return an antonym for the MaliciousBot or null if the word is not in the lexicon
+     */
+    public String getAntonym(Language language, String word) {
+        return graphs.get(language).first(word, WordGraph.Relation.ANTONYM);
+    }
+
+    /**
+     * @param random - the random number generator of the bot, so a seeded bot draws the same words again
+     * @return a random word of the language that is not the given word (ignoring case) or null if the list is empty
+     */
+    public String getRandomWord(Language language, Random random, String except) {
+        String[] words = randomWords.get(language);
+        if (words.length == 0) {
+            return null;
+        }
+        int index = random.nextInt(words.length);
+        if (words[index].equalsIgnoreCase(except) && words.length > 1) {
+            index = (index + 1 + random.nextInt(words.length - 1)) % words.length;
+        }
+        return words[index];
+    }
+
+    private String[] loadWords(String file) {
+        ClassPathResource resource = new ClassPathResource(file);
+        if (!resource.exists()) {
+            return new String[0];
+        }
+        List<String> words = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.isBlank()) {
+                    words.add(line.trim());
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new SopraServiceException("Random words of the bots couldn't be loaded from " + file);
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private WordGraph load(String file) {
+        ClassPathResource resource = new ClassPathResource(file);
+        try (BufferedReader br = resource.exists()
+                ? new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))
+                : new BufferedReader(new StringReader(""))) {
+            return WordGraph.read(br);
+        }
+        catch (IOException e) {
+            throw new SopraServiceException("Lexicon of the bots couldn't be loaded from " + file);
+        }
+    }
+}
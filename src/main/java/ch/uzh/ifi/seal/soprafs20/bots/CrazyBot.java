@@ -2,50 +2,38 @@ package ch.uzh.ifi.seal.soprafs20.bots;
 
 import ch.uzh.ifi.seal.soprafs20.constant.Language;
 import ch.uzh.ifi.seal.soprafs20.entity.MysteryWord;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.util.EnumMap;
+import java.util.Random;
 
+@Component
 public class CrazyBot implements Bot {
-    private URL url;
-
-    RestTemplate restTemplate = new RestTemplate();
-    ObjectMapper mapper = new ObjectMapper();
-    ResponseEntity<String> response;
-
-    private static final EnumMap<Language, String> URLS = new EnumMap<>(Language.class);
-    static{
-        URLS.put(Language.EN, "https://random-word-api.herokuapp.com//word?number=");
-        URLS.put(Language.DE, "http:german-api");
+    private final BotLexicon botLexicon;
+    // shared by the threads of the bots, Random is thread-safe
+    private final Random random;
+
+    /**
+     * @param seed - seed of the random words (bot.crazy.seed), a negative seed draws different words on every start
+     */
+    @Autowired
+    public CrazyBot(BotLexicon botLexicon, @Value("${bot.crazy.seed:-1}") long seed) {
+        this(botLexicon, seed < 0 ? new Random() : new Random(seed));
     }
 
-
-    public CrazyBot(Language language){
-        try {
-            this.url = new URL(URLS.get(language));
-        } catch (MalformedURLException e){}
-
+    public CrazyBot(BotLexicon botLexicon, Random random) {
+        this.botLexicon = botLexicon;
+        this.random = random;
     }
 
     @Override
-    public String getClue(MysteryWord mysteryWord) {
-        String crazyWord;
-        try {
-            response = restTemplate.getForEntity(url + "1", String.class);
-        } catch(Exception e){
-            return "Server not reachable";
-        }
-        try{
-            JsonNode root = mapper.readTree(response.getBody());
-            crazyWord = root.get(0).asText();
-        } catch (Exception e){
+    public String getClue(MysteryWord mysteryWord, Language language) {
+        String crazyWord = botLexicon.getRandomWord(language, random, mysteryWord == null ? null : mysteryWord.getWord());
+        if(crazyWord != null) {
+            return crazyWord;
+        } else {
             return "No Random Word found";
         }
-        return crazyWord;
     }
 }
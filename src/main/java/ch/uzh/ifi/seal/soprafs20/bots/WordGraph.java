@@ -0,0 +1,204 @@
+package ch.uzh.ifi.seal.soprafs20.bots;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Word Graph
+ * Relations (synonyms, related words, antonyms) between the words of one language, kept in adjacency arrays:
+ * every word has an index and the words related to word i are targets[offsets[i]] .. targets[offsets[i + 1] - 1].
+ * Relations are symmetric, the words listed for a word come before the words that list it.
+ * A lookup is one hash lookup of the word and an array access, the graph is immutable once it is read.
+ */
+public final class WordGraph {
+
+    public enum Relation {
+        SYNONYM, RELATED, ANTONYM
+    }
+
+    private static final String COMMENT = "#";
+    private static final String WORD_SEPARATOR = "\\|";
+
+    private final Map<String, Integer> indexByWord;
+    private final String[] words;
+    private final int[][] offsets;
+    private final int[][] targets;
+
+    private WordGraph(Map<String, Integer> indexByWord, String[] words, int[][] offsets, int[][] targets) {
+        this.indexByWord = indexByWord;
+        this.words = words;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * @return the first word with this relation to the given word (ignoring case) or null if there is none
+     */
+    public String first(String word, Relation relation) {
+        int index = indexOf(word);
+        if (index < 0) {
+            return null;
+        }
+        int[] relationOffsets = offsets[relation.ordinal()];
+        int start = relationOffsets[index];
+        return start == relationOffsets[index + 1] ? null : words[targets[relation.ordinal()][start]];
+    }
+
+    /**
+     * @return all words with this relation to the given word (ignoring case), the listed ones first
+     */
+    public List<String> get(String word, Relation relation) {
+        int index = indexOf(word);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        int[] relationOffsets = offsets[relation.ordinal()];
+        int[] relationTargets = targets[relation.ordinal()];
+        List<String> related = new ArrayList<>(relationOffsets[index + 1] - relationOffsets[index]);
+        for (int i = relationOffsets[index]; i < relationOffsets[index + 1]; i++) {
+            related.add(words[relationTargets[i]]);
+        }
+        return related;
+    }
+
+    /**
+     * @return number of words in the graph
+     */
+    public int size() {
+        return words.length;
+    }
+
+    private int indexOf(String word) {
+        if (word == null) {
+            return -1;
+        }
+        Integer index = indexByWord.get(key(word));
+        return index == null ? -1 : index;
+    }
+
+    private static String key(String word) {
+        return word.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads the graph from lines "word,synonyms,related,antonyms", several words of a column are separated by |.
+     * Empty lines and lines starting with # are skipped.
+     */
+    public static WordGraph read(BufferedReader reader) throws IOException {
+        Builder builder = new Builder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith(COMMENT)) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            int word = builder.index(columns[0]);
+            if (word < 0) {
+                continue;
+            }
+            for (Relation relation : Relation.values()) {
+                int column = relation.ordinal() + 1;
+                if (column < columns.length) {
+                    for (String target : columns[column].split(WORD_SEPARATOR)) {
+                        builder.add(relation, word, builder.index(target));
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects the words and the listed relations as pairs of indexes before they are sorted into the arrays
+     */
+    private static final class Builder {
+        private final Map<String, Integer> indexByWord = new HashMap<>();
+        private final List<String> words = new ArrayList<>();
+        private final int[][] edges = new int[Relation.values().length][16];
+        private final int[] edgeCounts = new int[Relation.values().length];
+
+        private int index(String word) {
+            String trimmed = word.trim();
+            if (trimmed.isEmpty()) {
+                return -1;
+            }
+            return indexByWord.computeIfAbsent(key(trimmed), key -> {
+                words.add(trimmed);
+                return words.size() - 1;
+            });
+        }
+
+        private void add(Relation relation, int from, int to) {
+            if (to < 0 || to == from) {
+                return;
+            }
+            int r = relation.ordinal();
+            if (edgeCounts[r] + 2 > edges[r].length) {
+                edges[r] = Arrays.copyOf(edges[r], edges[r].length * 2);
+            }
+            edges[r][edgeCounts[r]++] = from;
+            edges[r][edgeCounts[r]++] = to;
+        }
+
+        private WordGraph build() {
+            int size = words.size();
+            int[][] offsets = new int[Relation.values().length][];
+            int[][] targets = new int[Relation.values().length][];
+            for (Relation relation : Relation.values()) {
+                int r = relation.ordinal();
+                int[] pairs = edges[r];
+                int pairCount = edgeCounts[r] / 2;
+                // every relation is stored in both directions: listed (from -> to) first, then reversed (to -> from)
+                int[] relationOffsets = new int[size + 1];
+                for (int i = 0; i < pairCount; i++) {
+                    relationOffsets[pairs[2 * i] + 1]++;
+                    relationOffsets[pairs[2 * i + 1] + 1]++;
+                }
+                for (int i = 0; i < size; i++) {
+                    relationOffsets[i + 1] += relationOffsets[i];
+                }
+                int[] next = Arrays.copyOf(relationOffsets, size);
+                int[] relationTargets = new int[2 * pairCount];
+                for (int i = 0; i < pairCount; i++) {
+                    append(relationOffsets, relationTargets, next, pairs[2 * i], pairs[2 * i + 1]);
+                }
+                for (int i = 0; i < pairCount; i++) {
+                    append(relationOffsets, relationTargets, next, pairs[2 * i + 1], pairs[2 * i]);
+                }
+                compact(relationOffsets, relationTargets, next);
+                offsets[r] = relationOffsets;
+                targets[r] = Arrays.copyOf(relationTargets, relationOffsets[size]);
+            }
+            return new WordGraph(Collections.unmodifiableMap(indexByWord), words.toArray(new String[0]), offsets, targets);
+        }
+
+        /**
+         * adds the target to the slots of the word unless it is already there
+         */
+        private static void append(int[] offsets, int[] targets, int[] next, int from, int to) {
+            for (int i = offsets[from]; i < next[from]; i++) {
+                if (targets[i] == to) {
+                    return;
+                }
+            }
+            targets[next[from]++] = to;
+        }
+
+        /**
+         * removes the slots that stayed empty because of duplicates
+         */
+        private static void compact(int[] offsets, int[] targets, int[] next) {
+            int size = next.length;
+            int write = 0;
+            for (int word = 0; word < size; word++) {
+                int start = offsets[word];
+                offsets[word] = write;
+                for (int i = start; i < next[word]; i++) {
+                    targets[write++] = targets[i];
+                }
+            }
+            offsets[size] = write;
+        }
+    }
+}
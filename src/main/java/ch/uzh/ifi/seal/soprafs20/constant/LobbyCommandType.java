@@ -0,0 +1,5 @@
+package ch.uzh.ifi.seal.soprafs20.constant;
+
+public enum LobbyCommandType {
+    READY, START, GET_CARD, NUMBER, ACCEPT_WORD, DECLINE_WORD, ADD_CLUE, GET_CLUES, FLAG_CLUES, GUESS, NEXT_ROUND, STOP
+}
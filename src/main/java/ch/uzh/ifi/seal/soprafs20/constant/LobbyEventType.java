@@ -0,0 +1,5 @@
+package ch.uzh.ifi.seal.soprafs20.constant;
+
+public enum LobbyEventType {
+    LOBBY_CHANGED, LOBBY_DELETED, CLUE_ADDED, GUESS_MADE, NEXT_ROUND, CLUES, MYSTERY_WORDS, ACCEPTED, ERROR
+}
@@ -0,0 +1,18 @@
+package ch.uzh.ifi.seal.soprafs20.constant;
+
+/**
+ * Time windows of the leaderboards: the scores of the last days, including today
+ */
+public enum RankingWindow {
+    DAILY(1), WEEKLY(7), MONTHLY(30);
+
+    private final int days;
+
+    RankingWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
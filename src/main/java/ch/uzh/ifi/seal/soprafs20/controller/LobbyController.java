@@ -9,10 +9,10 @@ import ch.uzh.ifi.seal.soprafs20.service.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +22,8 @@ import java.util.Set;
  * Lobby Controller
  * This class is responsible for handling all REST request that are related to the lobby.
  * The controller will receive the request and delegate the execution to the LobbyService and finally return the result.
+ * Requests that change the state of a lobby are executed as commands of that lobby (see LobbyCommandExecutor).
+ * The read endpoints of a lobby answer with an ETag and with 304 Not Modified if the lobby did not change (see LobbyVersionService).
  */
 @RestController
 public class LobbyController {
@@ -31,15 +33,24 @@ public class LobbyController {
     private final PlayerService playerService;
     private final ClueService clueService;
     private final GameService gameService;
+    private final LobbyCommandExecutor lobbyCommandExecutor;
+    private final LobbyVersionService lobbyVersionService;
+    private final DefinitionService definitionService;
 
+    private static final String LOBBY_READER = "lobby:";
+    private static final String GAME_READER = "game:";
+    private static final String CLUES_READER = "clues:";
 
     @Autowired
-    LobbyController(UserService userService, LobbyService lobbyService, PlayerService playerService, ClueService clueService, GameService gameService) {
+    LobbyController(UserService userService, LobbyService lobbyService, PlayerService playerService, ClueService clueService, GameService gameService, LobbyCommandExecutor lobbyCommandExecutor, LobbyVersionService lobbyVersionService, DefinitionService definitionService) {
         this.lobbyService = lobbyService;
         this.userService = userService;
         this.playerService = playerService;
         this.clueService = clueService;
         this.gameService = gameService;
+        this.lobbyCommandExecutor = lobbyCommandExecutor;
+        this.lobbyVersionService = lobbyVersionService;
+        this.definitionService = definitionService;
     }
 
     /**
@@ -103,20 +114,47 @@ public class LobbyController {
         return lobbyGetDTOs;
     }
 
+    /**
+     * GET one page of the lobby browser, optionally filtered by status, language and game mode
+     * @param after - the cursor "next" of the previous page, omitted for the first page
+     * @return Status Code 200 and the overview of the lobbies of the page
+     */
+    @GetMapping("/lobbies/browser")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public LobbyPageGetDTO getLobbyPage(@RequestHeader(name = "Token", required = false) String token,
+                                        @RequestParam(required = false) String after,
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(required = false) LobbyStatus lobbyStatus,
+                                        @RequestParam(required = false) Language language,
+                                        @RequestParam(required = false) GameModeStatus gameMode) {
+        //check Access rights via token
+        userService.checkUserToken(token);
+
+        return lobbyService.getLobbyPage(after, size, lobbyStatus, language, gameMode);
+    }
+
     /**
      * GET a specific Lobby with all its Players by ID
      * @return Status Code 200, the requested Lobby that contains a List of all its Players
+     * or Status Code 304 if the Lobby did not change since the last request (If-None-Match)
      */
     @GetMapping("/lobbies/{lobbyId}")
-    @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public LobbyGetDTO getLobbyById(@RequestHeader(name = "Token", required = false) String token,
-                                    @PathVariable long lobbyId) {
+                                    @PathVariable long lobbyId, WebRequest request) {
+        String eTag = lobbyVersionService.getETag(lobbyId);
+        if (wasServed(request, lobbyId, eTag, LOBBY_READER + token)) {
+            return null;
+        }
         //check Access rights via token
         User user = userService.checkUserToken(token);
         // get the requested lobby; send message to the LobbyService
         Lobby lobby = lobbyService.getLobbyById(lobbyId);
             if (lobbyService.isUsernameInLobby(user.getUsername(), lobby)) {
+                if (isNotModified(request, lobbyId, eTag, LOBBY_READER + token)) {
+                    return null;
+                }
                 // return with status code 200
                 return DTOMapper.INSTANCE.convertEntityToLobbyGetDTO(lobby);
             }
@@ -134,27 +172,29 @@ public class LobbyController {
     @ResponseBody
     public void joinLobbyById(@PathVariable long lobbyId,
                                        @RequestHeader(name = "Token", required = false) String token) {
-        //check if User is already Player in another Lobby/Game
-        Boolean isPlayerToJoin = playerService.checkPlayerToken(token);
-        //check Access rights via token
-        User userToJoin = userService.checkUserToken(token);
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-
-        if (Boolean.TRUE.equals(isPlayerToJoin)) {
-            String forbiddenExceptionMsg = "The requested Lobby is already " + lobby.getLobbyStatus();
-            if (lobby.getLobbyStatus() != LobbyStatus.RUNNING) {
-                // convert the User to Player
-                Player player = playerService.convertUserToPlayer(userToJoin, PlayerRole.CLUE_CREATOR);
-                // get the requested Lobby and add the Player to the Lobby
-                lobbyService.addPlayerToLobby(lobby, player);
-                // add ranking for player
-                gameService.addStats(player.getId(),lobby.getId());
-                // return with status code 204
+        lobbyCommandExecutor.execute(lobbyId, () -> {
+            //check if User is already Player in another Lobby/Game
+            Boolean isPlayerToJoin = playerService.checkPlayerToken(token);
+            //check Access rights via token
+            User userToJoin = userService.checkUserToken(token);
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+
+            if (Boolean.TRUE.equals(isPlayerToJoin)) {
+                String forbiddenExceptionMsg = "The requested Lobby is already " + lobby.getLobbyStatus();
+                if (lobby.getLobbyStatus() != LobbyStatus.RUNNING) {
+                    // convert the User to Player
+                    Player player = playerService.convertUserToPlayer(userToJoin, PlayerRole.CLUE_CREATOR);
+                    // get the requested Lobby and add the Player to the Lobby
+                    lobbyService.addPlayerToLobby(lobby, player);
+                    // add ranking for player
+                    gameService.addStats(player.getId(),lobby.getId());
+                    // return with status code 204
                 
+                }
+                else throw new ForbiddenException(forbiddenExceptionMsg);
             }
-            else throw new ForbiddenException(forbiddenExceptionMsg);
-        }
-        else throw new ConflictException("You are already in a Lobby or in a Game.");
+            else throw new ConflictException("You are already in a Lobby or in a Game.");
+        });
     }
 
     @PostMapping("/lobbies/{lobbyId}/invite/{userId}")
@@ -205,27 +245,31 @@ public class LobbyController {
     @ResponseBody
     public ResponseEntity<?> leaveLobby(@PathVariable long lobbyId,
                                            @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User leavingPlayer = userService.checkUserToken(token);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User leavingPlayer = userService.checkUserToken(token);
 
-        //verify if the throwing out player is the lobby creator
-        lobbyService.removePlayerFromLobby(lobbyId, leavingPlayer.getId());
-        return new ResponseEntity<>("", HttpStatus.NO_CONTENT);
+            //verify if the throwing out player is the lobby creator
+            lobbyService.removePlayerFromLobby(lobbyId, leavingPlayer.getId());
+            return new ResponseEntity<>("", HttpStatus.NO_CONTENT);
+        });
     }
 
     @PutMapping("/lobbies/{lobbyId}/terminate")
     @ResponseBody
     public ResponseEntity<?> stopLobbyById(@PathVariable long lobbyId,
                                            @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User lobbyCreator = userService.checkUserToken(token);
-
-        //verify if the throwing out player is the lobby creator
-        if(lobbyService.endLobby(lobbyId , lobbyCreator)) {
-            return new ResponseEntity<>("", HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>("Unauthorized (invalid Token)", HttpStatus.UNAUTHORIZED);
-        }
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User lobbyCreator = userService.checkUserToken(token);
+
+            //verify if the throwing out player is the lobby creator
+            if(lobbyService.endLobby(lobbyId , lobbyCreator)) {
+                return new ResponseEntity<>("", HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>("Unauthorized (invalid Token)", HttpStatus.UNAUTHORIZED);
+            }
+        });
     }
 
     @PutMapping("/lobbies/{lobbyId}/ready")
@@ -233,52 +277,56 @@ public class LobbyController {
     @ResponseBody
     public Boolean readyLobbyById(@PathVariable long lobbyId,
                                            @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User user = userService.checkUserToken(token);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User user = userService.checkUserToken(token);
 
-        //check whether User is in this Lobby
-        Boolean isInThisLobby = lobbyService.isUserInLobby(user, lobbyId);
+            //check whether User is in this Lobby
+            Boolean isInThisLobby = lobbyService.isUserInLobby(user, lobbyId);
 
-        Player player = playerService.getPlayerById(user.getId());
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            Player player = playerService.getPlayerById(user.getId());
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
 
-        if(Boolean.FALSE.equals(isInThisLobby)) {
-            throw new ForbiddenException("The user is not in this Lobby.");
-        }
+            if(Boolean.FALSE.equals(isInThisLobby)) {
+                throw new ForbiddenException("The user is not in this Lobby.");
+            }
 
-        // set Bots ready
-        if(player.getRole().equals(PlayerRole.GUESSER)){
-            Set<Player> allPlayers = lobby.getPlayers();
-            for (Player singlePlayer:allPlayers){
-                if(!singlePlayer.getPlayerType().equals(PlayerType.HUMAN)){
-                    playerService.setPlayerReady(singlePlayer);
+            // set Bots ready
+            if(player.getRole().equals(PlayerRole.GUESSER)){
+                Set<Player> allPlayers = lobby.getPlayers();
+                for (Player singlePlayer:allPlayers){
+                    if(!singlePlayer.getPlayerType().equals(PlayerType.HUMAN)){
+                        playerService.setPlayerReady(singlePlayer);
+                    }
                 }
             }
-        }
-        if (Boolean.TRUE.equals(playerService.isPlayerReady(player))){
-            // if Player was ready, trigger to not Ready
-            playerService.setPlayerToNotReady(player);
-        } else {
-            // if player was not ready, trigger to ready
-            playerService.setPlayerReady(player);
-        }
-        return true;
+            if (Boolean.TRUE.equals(playerService.isPlayerReady(player))){
+                // if Player was ready, trigger to not Ready
+                playerService.setPlayerToNotReady(player);
+            } else {
+                // if player was not ready, trigger to ready
+                playerService.setPlayerReady(player);
+            }
+            lobbyService.playersChanged(lobby);
+            return true;
+        });
     }
 
     @PutMapping("/lobbies/{lobbyId}/kick/{userID}")
     @ResponseBody
     public ResponseEntity<?> kickPlayerOut(@PathVariable long lobbyId, @PathVariable long userID,
                                            @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User lobbyCreator = userService.checkUserToken(token);
-
-        //verify if the throwing out player is the lobby creator
-        if(lobbyService.kickOutPlayer(lobbyCreator, userID, lobbyId)) {
-            return new ResponseEntity<>("", HttpStatus.NO_CONTENT);
-        } else {
-            return new ResponseEntity<>("Forbidden: User is not creator of lobby or is not even in the lobby", HttpStatus.FORBIDDEN);
-        }
-
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User lobbyCreator = userService.checkUserToken(token);
+
+            //verify if the throwing out player is the lobby creator
+            if(lobbyService.kickOutPlayer(lobbyCreator, userID, lobbyId)) {
+                return new ResponseEntity<>("", HttpStatus.NO_CONTENT);
+            } else {
+                return new ResponseEntity<>("Forbidden: User is not creator of lobby or is not even in the lobby", HttpStatus.FORBIDDEN);
+            }
+        });
     }
 
 
@@ -292,30 +340,32 @@ public class LobbyController {
     @ResponseBody
     public void startLobbyById(@PathVariable long lobbyId,
                                @RequestHeader(name = "Token", required = false) String token) {
-        //check if Player is the Host of the lobby and therefore allowed to start the game
-        Boolean isPlayerAllowedToStart = playerService.isAllowedToStart(token);
+        lobbyCommandExecutor.execute(lobbyId, () -> {
+            //check if Player is the Host of the lobby and therefore allowed to start the game
+            Boolean isPlayerAllowedToStart = playerService.isAllowedToStart(token);
 
-        // check if Lobby has enough Players to start the game
-        lobbyService.lobbyHasEnoughPlayers(lobbyId);
+            // check if Lobby has enough Players to start the game
+            lobbyService.lobbyHasEnoughPlayers(lobbyId);
 
-        // add Bots to Lobby if Gamemode is Bots.
-        lobbyService.addBots(lobbyId);
+            // add Bots to Lobby if Gamemode is Bots.
+            lobbyService.addBots(lobbyId);
 
-        //check Access rights via token
-        userService.checkUserToken(token);
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            //check Access rights via token
+            userService.checkUserToken(token);
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
 
-        if (Boolean.TRUE.equals(isPlayerAllowedToStart)) {
-            String forbiddenExceptionMsg = "Not all players in the Lobby are ready yet.";
-            Set<Player> players = lobby.getPlayers();
+            if (Boolean.TRUE.equals(isPlayerAllowedToStart)) {
+                String forbiddenExceptionMsg = "Not all players in the Lobby are ready yet.";
+                Set<Player> players = lobby.getPlayers();
 
-            boolean areAllPlayersReady = lobbyService.areAllPlayersReady(players);
-            if (areAllPlayersReady) {
-                lobbyService.startGame(lobbyId);
+                boolean areAllPlayersReady = lobbyService.areAllPlayersReady(players);
+                if (areAllPlayersReady) {
+                    lobbyService.startGame(lobbyId);
+                }
+                else throw new ForbiddenException(forbiddenExceptionMsg);
             }
-            else throw new ForbiddenException(forbiddenExceptionMsg);
-        }
-        else throw new ForbiddenException("You are no Host of the Lobby or not even in the lobby.");
+            else throw new ForbiddenException("You are no Host of the Lobby or not even in the lobby.");
+        });
     }
 
     /**
@@ -328,14 +378,16 @@ public class LobbyController {
     @ResponseBody
     public LobbyGetDTO stopLobbyById2(@PathVariable long lobbyId,
                                @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User userToJoin = userService.checkUserToken(token);
-        lobbyService.getLobbyById(lobbyId);
-        Player player = playerService.getPlayerById(userToJoin.getId());
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User userToJoin = userService.checkUserToken(token);
+            lobbyService.getLobbyById(lobbyId);
+            Player player = playerService.getPlayerById(userToJoin.getId());
 
-        Lobby lobby = lobbyService.stopGame(lobbyId, player);
+            Lobby lobby = lobbyService.stopGame(lobbyId, player);
 
-        return DTOMapper.INSTANCE.convertEntityToLobbyGetDTO(lobby);
+            return DTOMapper.INSTANCE.convertEntityToLobbyGetDTO(lobby);
+        });
     }
 
 
@@ -348,20 +400,32 @@ public class LobbyController {
     @ResponseBody
     public List<MysteryWordGetDto> getMysteryWords(@PathVariable long lobbyId,
                                              @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User user = userService.checkUserToken(token);
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        if (!lobbyService.isUsernameInLobby(user.getUsername(), lobby) || PlayerRole.GUESSER == playerService.getPlayerById(user.getId()).getRole()) {
-            throw new ForbiddenException(
-                "You are not in this lobby or is the active player");
-        }
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User user = userService.checkUserToken(token);
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            if (!lobbyService.isUsernameInLobby(user.getUsername(), lobby) || PlayerRole.GUESSER == playerService.getPlayerById(user.getId()).getRole()) {
+                throw new ForbiddenException(
+                    "You are not in this lobby or is the active player");
+            }
 
-        List<MysteryWord> mysteryWordList = lobbyService.getMysteryWordsFromLobby(lobbyId);
-        List<MysteryWordGetDto> mysteryWordGetDtoList = new ArrayList<>();
-        for(MysteryWord mysteryWord : mysteryWordList) {
-            mysteryWordGetDtoList.add(DTOMapper.INSTANCE.convertMysteryWordToMysteryWordGetDTO(mysteryWord));
-        }
-        return mysteryWordGetDtoList;
+            List<MysteryWord> mysteryWordList = lobbyService.getMysteryWordsFromLobby(lobbyId);
+            RoundState roundState = lobby.getGame() == null ? new RoundState() : lobby.getGame().getRoundState();
+            List<MysteryWordGetDto> mysteryWordGetDtoList = new ArrayList<>();
+            for(MysteryWord mysteryWord : mysteryWordList) {
+                MysteryWordGetDto mysteryWordGetDto = DTOMapper.INSTANCE.convertMysteryWordToMysteryWordGetDTO(mysteryWord);
+                // the status of the words is the state of the round in this lobby
+                if (roundState.isSelected(mysteryWord)) {
+                    mysteryWordGetDto.setStatus(MysteryWordStatus.IN_USE);
+                    mysteryWordGetDto.setTimedrawn(roundState.getTimeDrawn());
+                }
+                else {
+                    mysteryWordGetDto.setStatus(MysteryWordStatus.NOT_USED);
+                }
+                mysteryWordGetDtoList.add(mysteryWordGetDto);
+            }
+            return mysteryWordGetDtoList;
+        });
     }
 
     /**
@@ -373,14 +437,16 @@ public class LobbyController {
     public ResponseEntity<?> updateSelectedMysteryWord(@PathVariable long lobbyId,
                                           @RequestBody int selectedNumber,
                                              @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        userService.checkUserToken(token);
-        lobbyService.getLobbyById(lobbyId);
-        if(selectedNumber < 1 || selectedNumber > 5) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
-        }
-        lobbyService.updateSelectedMysteryWord(lobbyId, selectedNumber);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            userService.checkUserToken(token);
+            lobbyService.getLobbyById(lobbyId);
+            if(selectedNumber < 1 || selectedNumber > 5) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+            }
+            lobbyService.updateSelectedMysteryWord(lobbyId, selectedNumber);
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
+        });
     }
 
     /**
@@ -390,14 +456,16 @@ public class LobbyController {
     @ResponseBody
     public ResponseEntity<?> acceptMysteryWord(@PathVariable long lobbyId,
                                                        @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User user = userService.checkUserToken(token);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User user = userService.checkUserToken(token);
 
-        // get Lobby
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        lobbyService.acceptOrDeclineMysteryWord(user, lobby, true);
+            // get Lobby
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            lobbyService.acceptOrDeclineMysteryWord(user, lobby, true);
 
-        return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().build();
+        });
     }
 
     /**
@@ -407,14 +475,16 @@ public class LobbyController {
     @ResponseBody
     public ResponseEntity<?> declineMysteryWord(@PathVariable long lobbyId,
                                                 @RequestHeader(name = "Token", required = false) String token) {
-        //check Access rights via token
-        User user = userService.checkUserToken(token);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User user = userService.checkUserToken(token);
 
-        // get Lobby
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        lobbyService.acceptOrDeclineMysteryWord(user, lobby, false);
+            // get Lobby
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            lobbyService.acceptOrDeclineMysteryWord(user, lobby, false);
 
-        return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().build();
+        });
     }
 
 
@@ -423,56 +493,76 @@ public class LobbyController {
     @ResponseBody
     public void addClue(@PathVariable long lobbyId,
                                      @RequestHeader(name = "Token", required = false) String token, @RequestBody CluePostDTO cluePostDTO){
-        Clue clue = DTOMapper.INSTANCE.convertCluePOSTDTOToEntity(cluePostDTO);
-        Clue clue2 = DTOMapper.INSTANCE.convertClue2POSTDTOToEntity(cluePostDTO);
+        lobbyCommandExecutor.execute(lobbyId, () -> {
+            Clue clue = DTOMapper.INSTANCE.convertCluePOSTDTOToEntity(cluePostDTO);
+            Clue clue2 = DTOMapper.INSTANCE.convertClue2POSTDTOToEntity(cluePostDTO);
+
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            Player thisPlayer = playerService.getPlayerByToken(token);
+            clueService.addClue(clue, lobby, token);
+            if(!"".equals(clue2.getHint()) && clue2.getHint() != null){
+                if(lobby.getPlayers().size() == 3){
+                    clueService.addClue(clue2, lobby, token);
+                } else{
+                    throw new ForbiddenException("Number of Players is not 3, you are not allowed to add two clues");
+                }
 
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        Player thisPlayer = playerService.getPlayerByToken(token);
-        clueService.addClue(clue, lobby, token);
-        if(!"".equals(clue2.getHint()) && clue2.getHint() != null){
-            if(lobby.getPlayers().size() == 3){
-                clueService.addClue(clue2, lobby, token);
-            } else{
-                throw new ForbiddenException("Number of Players is not 3, you are not allowed to add two clues");
             }
-
-        }
-        lobbyService.setNewStatusToPlayer(lobby.getPlayers(), thisPlayer, PlayerStatus.WAITING_FOR_REVIEW, PlayerStatus.REVIEWING_CLUES);
+            lobbyService.setNewStatusToPlayer(lobby, thisPlayer, PlayerStatus.WAITING_FOR_REVIEW, PlayerStatus.REVIEWING_CLUES);
+        });
     }
 
     @GetMapping("/lobbies/{lobbyId}/clues")
-    @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public List<ClueGetDTO> getClues(@PathVariable long lobbyId,
-                                   @RequestHeader(name = "Token", required = false) String token){
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        List<Clue> clues= clueService.getClues(lobby, token);
-        List<ClueGetDTO> clueGetDTOs= new ArrayList<>();
-        for (Clue clue:clues){
-            clueGetDTOs.add(DTOMapper.INSTANCE.convertClueToClueGetDTO(clue));
+                                     @RequestHeader(name = "Token", required = false) String token,
+                                     WebRequest request){
+        String eTag = lobbyVersionService.getETag(lobbyId);
+        if (wasServed(request, lobbyId, eTag, CLUES_READER + token)) {
+            return null;
+        }
+        List<ClueGetDTO> clueGetDTOs = getClues(lobbyId, token);
+        if (isNotModified(request, lobbyId, eTag, CLUES_READER + token)) {
+            return null;
         }
         return clueGetDTOs;
     }
 
+    /**
+     * Clues of the lobby as seen by the player with the token, also used by the LobbyWebSocketHandler
+     */
+    public List<ClueGetDTO> getClues(long lobbyId, String token){
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            List<Clue> clues= clueService.getClues(lobby, token);
+            List<ClueGetDTO> clueGetDTOs= new ArrayList<>();
+            for (Clue clue:clues){
+                clueGetDTOs.add(DTOMapper.INSTANCE.convertClueToClueGetDTO(clue));
+            }
+            return clueGetDTOs;
+        });
+    }
+
     @PutMapping("/lobbies/{lobbyId}/clues/flag")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public void flagMultipleClue(@PathVariable long lobbyId, @RequestHeader(name = "Token", required = false) String token, @RequestBody List<Long> ids){
-
-        // todo add @RequestBody with a List of all Clues that should be flagged.
-        // todo go trough list of Clue IDs and flag all of them => CluesToFlag
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        for(long clueId:ids){
-            clueService.flagClue(clueId, token, lobby);
-        }
+        lobbyCommandExecutor.execute(lobbyId, () -> {
+            // todo add @RequestBody with a List of all Clues that should be flagged.
+            // todo go trough list of Clue IDs and flag all of them => CluesToFlag
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            for(long clueId:ids){
+                clueService.flagClue(clueId, token, lobby);
+            }
 
 
-        // todo remove and put at right place, status of players HAVE to be updated somewhere...
+            // todo remove and put at right place, status of players HAVE to be updated somewhere...
 
-        Game game = lobby.getGame();
-        game.setComparingGuessCounter(1 + game.getComparingGuessCounter());
-        Player player = playerService.getPlayerById(userService.checkUserToken(token).getId());
-        lobbyService.setNewStatusToPlayer(lobby.getPlayers(), player, PlayerStatus.GUESSING_WORD, PlayerStatus.WAITING_FOR_GUESS);
+            Game game = lobby.getGame();
+            game.setComparingGuessCounter(1 + game.getComparingGuessCounter());
+            Player player = playerService.getPlayerById(userService.checkUserToken(token).getId());
+            lobbyService.setNewStatusToPlayer(lobby, player, PlayerStatus.GUESSING_WORD, PlayerStatus.WAITING_FOR_GUESS);
+        });
     }
 
 
@@ -482,35 +572,39 @@ public class LobbyController {
     public ResponseEntity<?> guessMysteryWord(@RequestHeader(name = "Token", required = false) String token,
                                               @PathVariable long lobbyId,
                                               @RequestBody GuessPostDTO guessPostDTO) {
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            //check Access rights via token
+            User user = userService.checkUserToken(token);
 
-        //check Access rights via token
-        User user = userService.checkUserToken(token);
-
-        //check whether User is in this Lobby and has the role of the Guesser
-        Boolean isGuesserOfLobby = lobbyService.isGuesserOfLobby(user, lobbyId);
+            //check whether User is in this Lobby and has the role of the Guesser
+            Boolean isGuesserOfLobby = lobbyService.isGuesserOfLobby(user, lobbyId);
         
-        String guess = DTOMapper.INSTANCE.convertGuessPostDTOToGuessString(guessPostDTO);
-        Long timeToGuess = DTOMapper.INSTANCE.convertGuessPostDTOToTimeToGuess(guessPostDTO); 
+            String guess = DTOMapper.INSTANCE.convertGuessPostDTOToGuessString(guessPostDTO);
+            Long timeToGuess = DTOMapper.INSTANCE.convertGuessPostDTOToTimeToGuess(guessPostDTO); 
 
-        if (Boolean.FALSE.equals(isGuesserOfLobby)) {
-            throw new UnauthorizedException("User is not the current Guesser of the Lobby.");
-        }
+            if (Boolean.FALSE.equals(isGuesserOfLobby)) {
+                throw new UnauthorizedException("User is not the current Guesser of the Lobby.");
+            }
 
-        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+            Lobby lobby = lobbyService.getLobbyById(lobbyId);
 
-        gameService.compareGuess(lobby, guess, user.getId(),timeToGuess); 
+            gameService.compareGuess(lobby, guess, user.getId(),timeToGuess); 
 
-        // set Status of all Players to End of Turn.
-        lobbyService.setNewPlayersStatus(lobby.getPlayers(), PlayerStatus.END_OF_TURN, PlayerStatus.END_OF_TURN);
+            // set Status of all Players to End of Turn.
+            lobbyService.setNewPlayersStatus(lobby, PlayerStatus.END_OF_TURN, PlayerStatus.END_OF_TURN);
 
-        return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().build();
+        });
     }
     
     @GetMapping("/lobbies/{lobbyId}/game")
-    @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public GuessGetDTO guessMysteryWord(@RequestHeader(name = "Token", required = false) String token,
-                                              @PathVariable long lobbyId) {
+                                              @PathVariable long lobbyId, WebRequest request) {
+        String eTag = lobbyVersionService.getETag(lobbyId);
+        if (wasServed(request, lobbyId, eTag, GAME_READER + token)) {
+            return null;
+        }
 
         //check Access rights via token
         userService.checkUserToken(token);
@@ -520,6 +614,9 @@ public class LobbyController {
         if (lobby.getLobbyStatus() == LobbyStatus.WAITING) {
             throw new NotFoundException("The Lobby is still waiting. You can't get round statistics yet.");
         }
+        if (isNotModified(request, lobbyId, eTag, GAME_READER + token)) {
+            return null;
+        }
 
         String guess = gameService.getGuess(lobby);
         String mysteryWord = gameService.getMysteryWord(lobby);
@@ -545,7 +642,6 @@ public class LobbyController {
         // todo: get player and reduce points for retrieving the definition
         // todo: maybe add german api?
 
-        DefinitionService definitionService = new DefinitionService(new RestTemplateBuilder());
         String definition = definitionService.getDefinitionOfWord(word);
 
         return ResponseEntity.ok(definition);
@@ -555,10 +651,12 @@ public class LobbyController {
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public ResponseEntity nextRound(@RequestHeader(name = "Token", required = false) String token, @PathVariable long lobbyId){
-        userService.checkUserToken(token);
-        lobbyService.nextRound(lobbyId, token);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            userService.checkUserToken(token);
+            lobbyService.nextRound(lobbyId, token);
 
-        return new ResponseEntity("next Round", HttpStatus.OK);
+            return new ResponseEntity("next Round", HttpStatus.OK);
+        });
     }
     
     
@@ -587,11 +685,28 @@ public class LobbyController {
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     public ResponseEntity restartGame(@RequestHeader(name = "Token", required = false) String token, @PathVariable long lobbyId){
-        userService.checkUserToken(token);
-        lobbyService.restartGame(lobbyId, token);
+        return lobbyCommandExecutor.call(lobbyId, () -> {
+            userService.checkUserToken(token);
+            lobbyService.restartGame(lobbyId, token);
 
-        return new ResponseEntity("Restart Game", HttpStatus.OK);
+            return new ResponseEntity("Restart Game", HttpStatus.OK);
+        });
     }
 
-}
+    /**
+     * Checks whether the reader already received the current state of the lobby (and therefore had the access rights to it)
+     * @return true if the request can be answered with 304 Not Modified without checking the token again
+     */
+    private boolean wasServed(WebRequest request, long lobbyId, String eTag, String reader) {
+        return lobbyVersionService.wasServed(lobbyId, eTag, reader) && request.checkNotModified(eTag);
+    }
 
+    /**
+     * Must be called after checking the access rights of the reader, sets the ETag header of the response
+     * @return true if the client already has the current state of the lobby (304 Not Modified)
+     */
+    private boolean isNotModified(WebRequest request, long lobbyId, String eTag, String reader) {
+        lobbyVersionService.served(lobbyId, eTag, reader);
+        return request.checkNotModified(eTag);
+    }
+}
@@ -3,6 +3,7 @@ package ch.uzh.ifi.seal.soprafs20.controller;
 import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
 import ch.uzh.ifi.seal.soprafs20.constant.RankingOrderBy;
+import ch.uzh.ifi.seal.soprafs20.constant.RankingWindow;
 import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
@@ -11,9 +12,11 @@ import ch.uzh.ifi.seal.soprafs20.exceptions.ForbiddenException;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.*;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyCommandExecutor;
 import ch.uzh.ifi.seal.soprafs20.service.LobbyService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import ch.uzh.ifi.seal.soprafs20.service.WindowedLeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +26,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -33,17 +37,21 @@ import java.util.Set;
 @RestController
 public class UserController {
 
+    private static final int MAX_RANKING_PAGE_SIZE = 100;
+
     private final UserService userService;
     private final LobbyService lobbyService;
     private final PlayerService playerService;
     private final GameService gameService;
+    private final LobbyCommandExecutor lobbyCommandExecutor;
 
     @Autowired
-    UserController(UserService userService, LobbyService lobbyService, PlayerService playerService, GameService gameService) {
+    UserController(UserService userService, LobbyService lobbyService, PlayerService playerService, GameService gameService, LobbyCommandExecutor lobbyCommandExecutor) {
         this.userService = userService;
         this.lobbyService = lobbyService;
         this.playerService = playerService;
         this.gameService = gameService;
+        this.lobbyCommandExecutor = lobbyCommandExecutor;
     }
 
     /**
@@ -126,7 +134,11 @@ public class UserController {
 
         // delete User
         User user = userService.authenticateDeletion(userId, token, toDeleteUser);
-        lobbyService.removeFromLobbyAndDeletePlayer(user);
+        Long lobbyId = lobbyService.getLobbyIdOfUser(user);
+        if (lobbyId != null) {
+            // the player leaves its lobby in order with the other commands of the lobby
+            lobbyCommandExecutor.execute(lobbyId, () -> lobbyService.removeFromLobbyAndDeletePlayer(user));
+        }
         userService.deleteUser(user);
 
         return ResponseEntity.noContent().build(); // status code 204 noContent
@@ -193,25 +205,112 @@ public class UserController {
     }
 
     /**
-     * Overall Game ranking for all users
+     * Overall Game ranking for all users, one page at a time.
+     * Ordered by SCORE, CORRECT_GUESSES or BEST_CLUES the best users come first, USERNAME is alphabetical.
      *
      */
     @GetMapping("/users/ranking/{orderBy}")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
-    public List<OverallRankDTO> getOverallPlayerRanking(@RequestHeader(name = "Token", required = false) String token, @PathVariable String orderBy) {
+    public List<OverallRankDTO> getOverallPlayerRanking(@RequestHeader(name = "Token", required = false) String token, @PathVariable String orderBy,
+                                                        @RequestParam(name = "page", defaultValue = "0") int page,
+                                                        @RequestParam(name = "size", defaultValue = "100") int size) {
         userService.checkUserToken(token);
 
-        List<User> users = userService.getAllUsersOrderBy(RankingOrderBy.valueOf(orderBy));
+        RankingOrderBy rankingOrderBy = RankingOrderBy.valueOf(orderBy);
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_RANKING_PAGE_SIZE));
+        List<User> users = userService.getAllUsersOrderBy(rankingOrderBy, pageNumber, pageSize);
 
         List<OverallRankDTO> result = new ArrayList<>();
         for(User userRank : users) {
-            result.add(DTOMapper.INSTANCE.convertEntityToOverallRankDTO(userRank));
+            OverallRankDTO overallRankDTO = DTOMapper.INSTANCE.convertEntityToOverallRankDTO(userRank);
+            if (rankingOrderBy == RankingOrderBy.USERNAME) {
+                overallRankDTO.setRank(pageNumber * pageSize + result.size() + 1);
+            }
+            else {
+                overallRankDTO.setRank(userService.getRank(rankingOrderBy, userRank));
+            }
+            result.add(overallRankDTO);
         }
 
         return result;
     }
 
+    /**
+     * Rank of the requesting user in the overall Game ranking
+     *
+     */
+    @GetMapping("/users/ranking/{orderBy}/me")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public OverallRankDTO getOwnRanking(@RequestHeader(name = "Token", required = false) String token, @PathVariable String orderBy) {
+        User tokenUser = userService.checkUserToken(token);
+        // the user of the token may be cached, the counters are read from the database
+        User user = userService.getUserByID(tokenUser.getId());
+
+        OverallRankDTO overallRankDTO = DTOMapper.INSTANCE.convertEntityToOverallRankDTO(user);
+        overallRankDTO.setRank(userService.getRank(RankingOrderBy.valueOf(orderBy), user));
+        return overallRankDTO;
+    }
+
+    /**
+     * Ranking of the scores of the games finished in the last day (DAILY), 7 days (WEEKLY) or 30 days (MONTHLY),
+     * one page at a time, the best users first. Users without a finished game in the window are not ranked.
+     *
+     */
+    @GetMapping("/users/leaderboard/{window}")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public List<WindowRankDTO> getWindowRanking(@RequestHeader(name = "Token", required = false) String token, @PathVariable String window,
+                                                @RequestParam(name = "page", defaultValue = "0") int page,
+                                                @RequestParam(name = "size", defaultValue = "100") int size) {
+        userService.checkUserToken(token);
+
+        RankingWindow rankingWindow = RankingWindow.valueOf(window);
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_RANKING_PAGE_SIZE));
+        List<WindowedLeaderboardService.WindowRank> ranks = userService.getWindowRanking(rankingWindow, pageNumber, pageSize);
+
+        List<Long> userIds = new ArrayList<>();
+        for (WindowedLeaderboardService.WindowRank windowRank : ranks) {
+            userIds.add(windowRank.getUserId());
+        }
+        Map<Long, User> usersById = userService.getUsersByIds(userIds);
+
+        List<WindowRankDTO> result = new ArrayList<>();
+        for (WindowedLeaderboardService.WindowRank windowRank : ranks) {
+            User user = usersById.get(windowRank.getUserId());
+            if (user != null) {
+                result.add(convertToWindowRankDTO(user, windowRank));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Score and rank of the requesting user in the ranking of a time window, the rank is null without a finished game
+     *
+     */
+    @GetMapping("/users/leaderboard/{window}/me")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public WindowRankDTO getOwnWindowRanking(@RequestHeader(name = "Token", required = false) String token, @PathVariable String window) {
+        User user = userService.checkUserToken(token);
+        return convertToWindowRankDTO(user, userService.getWindowRank(RankingWindow.valueOf(window), user));
+    }
+
+    private WindowRankDTO convertToWindowRankDTO(User user, WindowedLeaderboardService.WindowRank windowRank) {
+        WindowRankDTO windowRankDTO = new WindowRankDTO();
+        windowRankDTO.setId(user.getId());
+        windowRankDTO.setUsername(user.getUsername());
+        if (windowRank != null) {
+            windowRankDTO.setScore(windowRank.getScore());
+            windowRankDTO.setRank(windowRank.getRank());
+        }
+        return windowRankDTO;
+    }
+
     @GetMapping("/users/{userId}/invitations")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
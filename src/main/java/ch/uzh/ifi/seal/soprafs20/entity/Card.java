@@ -23,7 +23,9 @@ public final class Card implements Serializable {
     private Language language;
 
 
+    // the number a guesser picks refers to the position of the word, so the order must not depend on the query
     @OneToMany(mappedBy = "card", fetch = FetchType.EAGER)
+    @OrderBy("id")
     private List<MysteryWord> mysteryWords = new ArrayList<>();
 
     public Card(){
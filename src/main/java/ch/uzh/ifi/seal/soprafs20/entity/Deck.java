@@ -6,8 +6,13 @@ import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * The cards of a deck are drawn once when the deck is constructed and never change afterwards.
+ * The game walks through them with the persisted activeIndex, so the Deck_Cards rows are written only once.
+ */
 @Entity
 @Table(name = "DECK")
 public class Deck implements Serializable
@@ -17,15 +22,17 @@ public class Deck implements Serializable
     @GeneratedValue
     private Long deckId;
 
-    //@ElementCollection
-    @ManyToMany(cascade = {CascadeType.ALL})
+    // the cards belong to the read-only catalog, saving a deck only writes its Deck_Cards rows
+    @ManyToMany
     @JoinTable(name="Deck_Cards",
             joinColumns={@JoinColumn(name="deckId")},
             inverseJoinColumns={@JoinColumn(name="cardId")})
+    @OrderColumn(name = "cardIndex")
     private List<Card> cards = new ArrayList<>();
 
-    @ManyToOne
-    private Card activeCard;
+    // index of the card that is played in the current round, equals cards.size() when all cards are played
+    @Column(nullable = false)
+    private int activeIndex = 0;
 
     public Long getDeckId() {
         return deckId;
@@ -36,7 +43,7 @@ public class Deck implements Serializable
     }
 
     public List<Card> getCards() {
-        return cards;
+        return Collections.unmodifiableList(cards);
     }
 
     public void addCard(Card card) {
@@ -54,14 +61,37 @@ public class Deck implements Serializable
         } else {
             this.cards.clear();
             this.cards.addAll(cards);
+            this.activeIndex = 0;
         }
     }
 
+    /**
+     * @return the card of the current round or null if all cards are played
+     */
     public Card getActiveCard() {
-        return activeCard;
+        return activeIndex < cards.size() ? cards.get(activeIndex) : null;
     }
 
-    public void setActiveCard(Card activeCard) {
-        this.activeCard = activeCard;
+    public int getActiveIndex() {
+        return activeIndex;
+    }
+
+    /**
+     * @return number of cards that are not played yet, including the active card
+     */
+    public int getRemainingCards() {
+        return Math.max(0, cards.size() - activeIndex);
+    }
+
+    /**
+     * Moves the cursor to the next card
+     *
+     * @return true if there is a card left to play
+     */
+    public boolean advance() {
+        if (activeIndex < cards.size()) {
+            activeIndex++;
+        }
+        return getActiveCard() != null;
     }
 }
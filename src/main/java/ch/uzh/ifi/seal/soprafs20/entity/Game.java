@@ -35,6 +35,9 @@ public class Game {
 
 	@Column
     private int comparingGuessCounter = 0;
+
+	@Embedded
+	private RoundState roundState = new RoundState();
 	
 	
 	public Long getGameId() {
@@ -99,6 +102,16 @@ public class Game {
         this.comparingGuessCounter = comparingGuessCounter;
     }
 
+	/**
+	 * @return the state of the current round, Hibernate loads an embedded object with only null columns as null
+	 */
+	public RoundState getRoundState() {
+		if (roundState == null) {
+			roundState = new RoundState();
+		}
+		return roundState;
+	}
+
 	public void deleteClue(Clue clue) {
 		this.clues.remove(clue);		
 	}
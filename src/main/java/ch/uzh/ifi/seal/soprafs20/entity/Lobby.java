@@ -28,13 +28,19 @@ public class Lobby implements Serializable
     @Column(nullable = false)
     private String lobbyName;
 
+    // lower case lobby name, its unique index makes the case-insensitive uniqueness check a single lookup
+    @Column(nullable = false, unique = true)
+    private String normalizedLobbyName;
+
     @OneToOne
     private Deck deck;
 
     @Column(nullable = false)
     private LobbyStatus lobbyStatus;
 
+    // foreign key PLAYER.lobby_id instead of a join table, the lobby of a player is found by its index
     @OneToMany(fetch = FetchType.EAGER, orphanRemoval = true)
+    @JoinColumn(name = "lobby_id")
     @Cascade(value={org.hibernate.annotations.CascadeType.ALL})
     private Set<Player> players = new HashSet<>();
 
@@ -74,6 +80,7 @@ public class Lobby implements Serializable
 
     public void setLobbyName(String lobbyName) {
         this.lobbyName = lobbyName;
+        this.normalizedLobbyName = lobbyName == null ? null : lobbyName.toLowerCase(Locale.ROOT);
     }
 
     public Deck getDeck() {
@@ -1,7 +1,7 @@
 package ch.uzh.ifi.seal.soprafs20.entity;
 
-import ch.uzh.ifi.seal.soprafs20.constant.MysteryWordStatus;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Immutable;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -10,7 +10,12 @@ import java.util.Objects;
 
 import static javax.persistence.GenerationType.IDENTITY;
 
+/**
+ * Mystery word of the card catalog, shared by all lobbies that draw its card.
+ * It is never changed by a game, the state of a round is kept in the RoundState of the Game.
+ */
 @Entity
+@Immutable
 @Table(name = "MYSTERYWORD")
 public class MysteryWord implements Serializable {
 
@@ -26,15 +31,6 @@ public class MysteryWord implements Serializable {
     @Column(nullable = false)
     private String word;
 
-    @Column(nullable = false)
-    private MysteryWordStatus status = MysteryWordStatus.NOT_USED;
-
-    @Column(nullable = true)
-    private Boolean guessedCorrectly;
-
-    @Column(nullable = true)
-    private Date timedrawn;
-
     @Column(nullable = true)
     private Date timeForDues;
 
@@ -68,30 +64,6 @@ public class MysteryWord implements Serializable {
         this.word = word;
     }
 
-    public MysteryWordStatus getStatus() {
-        return status;
-    }
-
-    public void setStatus(MysteryWordStatus status) {
-        this.status = status;
-    }
-
-    public Boolean getGuessedCorrectly() {
-        return guessedCorrectly;
-    }
-
-    public void setGuessedCorrectly(Boolean guessedCorrectly) {
-        this.guessedCorrectly = guessedCorrectly;
-    }
-
-    public Date getTimedrawn() {
-        return timedrawn;
-    }
-
-    public void setTimedrawn(Date timedrawn) {
-        this.timedrawn = timedrawn;
-    }
-
     public Date getTimeForDues() {
         return timeForDues;
     }
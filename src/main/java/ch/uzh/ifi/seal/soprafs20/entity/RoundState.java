@@ -0,0 +1,46 @@
+package ch.uzh.ifi.seal.soprafs20.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * State of the current round of one lobby: which mystery word of the active card was selected and when.
+ * It is kept with the Game of the lobby, so the shared cards and mystery words are never written by a game.
+ */
+@Embeddable
+public class RoundState implements Serializable {
+
+    // number of the selected mystery word on the active card, null while no word is selected
+    @Column(nullable = true)
+    private Integer selectedNumber;
+
+    @Column(nullable = true)
+    private Date timeDrawn;
+
+    public Integer getSelectedNumber() {
+        return selectedNumber;
+    }
+
+    public Date getTimeDrawn() {
+        return timeDrawn;
+    }
+
+    public void select(int number, Date timeDrawn) {
+        this.selectedNumber = number;
+        this.timeDrawn = timeDrawn;
+    }
+
+    public void clear() {
+        this.selectedNumber = null;
+        this.timeDrawn = null;
+    }
+
+    /**
+     * @return true if the given mystery word of the active card is the selected one
+     */
+    public boolean isSelected(MysteryWord mysteryWord) {
+        return selectedNumber != null && mysteryWord != null && selectedNumber == mysteryWord.getNumber();
+    }
+}
@@ -0,0 +1,71 @@
+package ch.uzh.ifi.seal.soprafs20.entity;
+
+import javax.persistence.*;
+
+/**
+ * Score a user achieved on one day (finished games only).
+ * The leaderboards of the time windows are summed up from these buckets, so they never scan the STATS table.
+ */
+@Entity
+@Table(name = "SCORE_BUCKET", uniqueConstraints = @UniqueConstraint(columnNames = {"bucketDay", "userId"}))
+public class ScoreBucket {
+
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, unique = true)
+    private Long id;
+
+    // days since 1970-01-01 in the time zone of the server
+    @Column(nullable = false)
+    private long bucketDay;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long score = 0;
+
+    public ScoreBucket() {
+    }
+
+    public ScoreBucket(long bucketDay, Long userId) {
+        this.bucketDay = bucketDay;
+        this.userId = userId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getBucketDay() {
+        return bucketDay;
+    }
+
+    public void setBucketDay(long bucketDay) {
+        this.bucketDay = bucketDay;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public void setScore(long score) {
+        this.score = score;
+    }
+
+    public void addScore(long score) {
+        this.score += score;
+    }
+}
@@ -6,6 +6,7 @@ import javax.persistence.*;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 
@@ -33,6 +34,10 @@ public class User implements Serializable {
 	@Column(nullable = false, unique = true) 
 	private String username;
 
+	// lower case username, its unique index makes the case-insensitive uniqueness check a single lookup
+	@Column(nullable = false, unique = true)
+	private String normalizedUsername;
+
 	@Column(nullable = false)
     private String password;
 	
@@ -88,6 +93,7 @@ public class User implements Serializable {
 
 	public void setUsername(String username) {
 		this.username = username;
+		this.normalizedUsername = username == null ? null : username.toLowerCase(Locale.ROOT);
 	}
 
 	public String getPassword() {
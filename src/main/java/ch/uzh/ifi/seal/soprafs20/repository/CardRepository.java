@@ -16,4 +16,10 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> findLimit13Words(@Param("language") String language);
 
     List<Card> findByLanguage(Language language);
+
+    /**
+     * Loads all cards together with their mystery words in a single query
+     */
+    @Query("SELECT DISTINCT c FROM Card c LEFT JOIN FETCH c.mysteryWords")
+    List<Card> findAllWithMysteryWords();
 }
@@ -2,9 +2,26 @@ package ch.uzh.ifi.seal.soprafs20.repository;
 
 import ch.uzh.ifi.seal.soprafs20.entity.Deck;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository("deckRepository")
 public interface DeckRepository extends JpaRepository<Deck, Long> {
 
+    /**
+     * Moves the cursor of the deck without touching its cards
+     */
+    @Modifying
+    @Query("UPDATE Deck d SET d.activeIndex = :activeIndex WHERE d.deckId = :deckId")
+    int updateActiveIndex(@Param("deckId") Long deckId, @Param("activeIndex") int activeIndex);
+
+    /**
+     * Decks that no lobby uses and whose first card was never played, e.g. the decks of a deck pool before a restart
+     */
+    @Query("SELECT d FROM Deck d WHERE d.activeIndex = 0 AND NOT EXISTS (SELECT l FROM Lobby l WHERE l.deck = d)")
+    List<Deck> findUnassigned();
 }
@@ -1,9 +1,16 @@
 package ch.uzh.ifi.seal.soprafs20.repository;
 
+import ch.uzh.ifi.seal.soprafs20.constant.GameModeStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
 import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyOverviewGetDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,7 +21,24 @@ public interface LobbyRepository extends JpaRepository<Lobby, Long> {
     Lobby findByLobbyName(String lobbyName);
     Lobby findByLobbyId(Long id);
     Lobby findByCreator(Player creator);
+    boolean existsByNormalizedLobbyName(String normalizedLobbyName);
     @Override
     List<Lobby> findAll(Sort sort);
+
+    /**
+     * Lobbies ordered by name that come after the given normalized lobby name (keyset pagination),
+     * a filter that is null matches every lobby. Only the overview is selected, no players are loaded.
+     */
+    @Query("SELECT new ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyOverviewGetDTO(l.lobbyId, l.lobbyName, l.lobbyStatus, l.gameMode, l.language, " +
+            "(SELECT COUNT(p) FROM Lobby pl JOIN pl.players p WHERE pl = l)) " +
+            "FROM Lobby l " +
+            "WHERE (:after IS NULL OR l.normalizedLobbyName > :after) " +
+            "AND (:lobbyStatus IS NULL OR l.lobbyStatus = :lobbyStatus) " +
+            "AND (:language IS NULL OR l.language = :language) " +
+            "AND (:gameMode IS NULL OR l.gameMode = :gameMode) " +
+            "ORDER BY l.normalizedLobbyName")
+    List<LobbyOverviewGetDTO> findOverviewPage(@Param("after") String after, @Param("lobbyStatus") LobbyStatus lobbyStatus,
+                                               @Param("language") Language language, @Param("gameMode") GameModeStatus gameMode,
+                                               Pageable pageable);
     // also haves delete, and findAll (see JPA Slides from Tutorial, page 25)
 }
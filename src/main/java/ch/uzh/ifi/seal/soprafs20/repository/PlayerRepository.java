@@ -2,12 +2,20 @@ package ch.uzh.ifi.seal.soprafs20.repository;
 
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository("playerRepository")
 public interface PlayerRepository extends JpaRepository<Player, Long> {
 	Player findByUsername(String username);
 	Player findByToken(String token);
 	Player findById(long id);
+	@Query("SELECT l.lobbyId FROM Lobby l JOIN l.players p WHERE p.id = :playerId")
+	Optional<Long> findLobbyIdByPlayerId(@Param("playerId") Long playerId);
+	@Query("SELECT l.lobbyId FROM Lobby l JOIN l.players p WHERE p.username = :username")
+	Optional<Long> findLobbyIdByUsername(@Param("username") String username);
 	// also haves delete, and findAll (see JPA Slides from Tutorial, page 25)
 }
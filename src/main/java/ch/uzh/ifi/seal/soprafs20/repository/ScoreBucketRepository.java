@@ -0,0 +1,33 @@
+package ch.uzh.ifi.seal.soprafs20.repository;
+
+import ch.uzh.ifi.seal.soprafs20.entity.ScoreBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository("scoreBucketRepository")
+public interface ScoreBucketRepository extends JpaRepository<ScoreBucket, Long> {
+
+    List<ScoreBucket> findAllByBucketDayGreaterThanEqual(long bucketDay);
+
+    List<ScoreBucket> findAllByBucketDayAndUserIdIn(long bucketDay, Collection<Long> userIds);
+
+    /**
+     * Removes the buckets that are older than every time window
+     */
+    @Modifying
+    @Query("DELETE FROM ScoreBucket b WHERE b.bucketDay < :bucketDay")
+    int deleteOlderThan(@Param("bucketDay") long bucketDay);
+
+    /**
+     * Removes the buckets of a deleted user
+     */
+    @Modifying
+    @Query("DELETE FROM ScoreBucket b WHERE b.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -12,6 +12,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	User findByUsername(String username);
 	User findByUsernameIgnoreCase(String username);
 	User findByToken(String token);
+	boolean existsByNormalizedUsername(String normalizedUsername);
 
 	List<User> findAll(Sort sort);
 	// also haves delete, and findAll (see JPA Slides from Tutorial, page 25)
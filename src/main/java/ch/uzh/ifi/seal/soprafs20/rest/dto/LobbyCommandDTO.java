@@ -0,0 +1,29 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto;
+
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyCommandType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Command sent by a client over the WebSocket of a lobby.
+ * The payload has the same format as the body of the corresponding REST request.
+ */
+public class LobbyCommandDTO {
+    private LobbyCommandType command;
+    private JsonNode payload;
+
+    public LobbyCommandType getCommand() {
+        return command;
+    }
+
+    public void setCommand(LobbyCommandType command) {
+        this.command = command;
+    }
+
+    public JsonNode getPayload() {
+        return payload;
+    }
+
+    public void setPayload(JsonNode payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,104 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto;
+
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyCommandType;
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Message pushed to the clients over the WebSocket of a lobby.
+ * Only the fields that belong to the type of the event are set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LobbyEventDTO {
+    private LobbyEventType type;
+    private Long lobbyId;
+    private LobbyGetDTO lobby;
+    private Long playerId;
+    private GuessGetDTO game;
+    private List<ClueGetDTO> clues;
+    private List<MysteryWordGetDto> mysteryWords;
+    private LobbyCommandType command;
+    private String message;
+
+    public LobbyEventDTO() {
+    }
+
+    public LobbyEventDTO(LobbyEventType type, Long lobbyId) {
+        this.type = type;
+        this.lobbyId = lobbyId;
+    }
+
+    public LobbyEventType getType() {
+        return type;
+    }
+
+    public void setType(LobbyEventType type) {
+        this.type = type;
+    }
+
+    public Long getLobbyId() {
+        return lobbyId;
+    }
+
+    public void setLobbyId(Long lobbyId) {
+        this.lobbyId = lobbyId;
+    }
+
+    public LobbyGetDTO getLobby() {
+        return lobby;
+    }
+
+    public void setLobby(LobbyGetDTO lobby) {
+        this.lobby = lobby;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public GuessGetDTO getGame() {
+        return game;
+    }
+
+    public void setGame(GuessGetDTO game) {
+        this.game = game;
+    }
+
+    public List<ClueGetDTO> getClues() {
+        return clues;
+    }
+
+    public void setClues(List<ClueGetDTO> clues) {
+        this.clues = clues;
+    }
+
+    public List<MysteryWordGetDto> getMysteryWords() {
+        return mysteryWords;
+    }
+
+    public void setMysteryWords(List<MysteryWordGetDto> mysteryWords) {
+        this.mysteryWords = mysteryWords;
+    }
+
+    public LobbyCommandType getCommand() {
+        return command;
+    }
+
+    public void setCommand(LobbyCommandType command) {
+        this.command = command;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
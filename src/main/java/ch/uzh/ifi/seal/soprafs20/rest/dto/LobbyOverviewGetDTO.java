@@ -0,0 +1,52 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto;
+
+import ch.uzh.ifi.seal.soprafs20.constant.GameModeStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
+
+/**
+ * Entry of the lobby browser, selected directly by the LobbyRepository without loading the players
+ */
+public class LobbyOverviewGetDTO {
+
+    private Long id;
+    private String lobbyName;
+    private LobbyStatus lobbyStatus;
+    private GameModeStatus gameMode;
+    private Language language;
+    private int numberOfPlayers;
+
+    public LobbyOverviewGetDTO(Long id, String lobbyName, LobbyStatus lobbyStatus, GameModeStatus gameMode,
+                               Language language, Long numberOfPlayers) {
+        this.id = id;
+        this.lobbyName = lobbyName;
+        this.lobbyStatus = lobbyStatus;
+        this.gameMode = gameMode;
+        this.language = language;
+        this.numberOfPlayers = numberOfPlayers.intValue();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLobbyName() {
+        return lobbyName;
+    }
+
+    public LobbyStatus getLobbyStatus() {
+        return lobbyStatus;
+    }
+
+    public GameModeStatus getGameMode() {
+        return gameMode;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public int getNumberOfPlayers() {
+        return numberOfPlayers;
+    }
+}
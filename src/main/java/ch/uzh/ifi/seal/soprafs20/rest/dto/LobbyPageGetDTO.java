@@ -0,0 +1,25 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto;
+
+import java.util.List;
+
+/**
+ * One page of the lobby browser, next is the cursor of the following page (null on the last page)
+ */
+public class LobbyPageGetDTO {
+
+    private List<LobbyOverviewGetDTO> lobbies;
+    private String next;
+
+    public LobbyPageGetDTO(List<LobbyOverviewGetDTO> lobbies, String next) {
+        this.lobbies = lobbies;
+        this.next = next;
+    }
+
+    public List<LobbyOverviewGetDTO> getLobbies() {
+        return lobbies;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
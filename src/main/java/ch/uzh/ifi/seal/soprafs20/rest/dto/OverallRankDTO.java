@@ -6,6 +6,7 @@ public class OverallRankDTO {
     private long score;
     private long correctGuesses;
     private long bestClues;
+    private Integer rank;
 
     public long getId() {
         return id;
@@ -46,4 +47,12 @@ public class OverallRankDTO {
     public void setBestClues(long bestClues) {
         this.bestClues = bestClues;
     }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
 }
@@ -117,8 +117,8 @@ public interface DTOMapper {
 
     @Mapping(source = "word", target= "word")
     @Mapping(source = "number", target = "id")
-    @Mapping(source = "status", target = "status")
-    @Mapping(source = "timedrawn", target = "timedrawn")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "timedrawn", ignore = true)
     MysteryWordGetDto convertMysteryWordToMysteryWordGetDTO(MysteryWord mysteryWord);
     
     @Mapping(source = "guess", target = "guess")
@@ -157,6 +157,7 @@ public interface DTOMapper {
     @Mapping(source = "score", target = "score")
     @Mapping(source = "correctGuesses", target = "correctGuesses")
     @Mapping(source = "bestClues", target = "bestClues")
+    @Mapping(target = "rank", ignore = true)
     OverallRankDTO convertEntityToOverallRankDTO(User user);
     
 }
@@ -0,0 +1,22 @@
+package ch.uzh.ifi.seal.soprafs20.security;
+
+import ch.uzh.ifi.seal.soprafs20.service.SessionTokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the SessionTokenFilter for all requests when signed tokens are enabled (token.signed.enabled=true)
+ */
+@Configuration
+@ConditionalOnProperty(name = "token.signed.enabled", havingValue = "true")
+public class SessionTokenConfig {
+
+    @Bean
+    public FilterRegistrationBean<SessionTokenFilter> sessionTokenFilter(SessionTokenService sessionTokenService) {
+        FilterRegistrationBean<SessionTokenFilter> registration = new FilterRegistrationBean<>(new SessionTokenFilter(sessionTokenService));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
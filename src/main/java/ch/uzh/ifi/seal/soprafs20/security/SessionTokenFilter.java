@@ -0,0 +1,55 @@
+package ch.uzh.ifi.seal.soprafs20.security;
+
+import ch.uzh.ifi.seal.soprafs20.service.SessionTokenService;
+import ch.uzh.ifi.seal.soprafs20.service.SessionTokenService.SessionToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Session Token Filter
+ * Rejects every request whose token (header "Token" or, for the WebSocket, query parameter "token")
+ * is not a valid signed token with 401, before any controller or database is involved.
+ * Requests without token (register, login, ...) pass, the controllers decide whether they need one.
+ * The content of a valid token is available as request attribute SESSION_TOKEN, the SessionTokenService
+ * takes it from there instead of verifying the token again.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    public static final String SESSION_TOKEN = SessionTokenService.REQUEST_ATTRIBUTE;
+
+    private static final String TOKEN_HEADER = "Token";
+    private static final String TOKEN_PARAMETER = "token";
+
+    private final SessionTokenService sessionTokenService;
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (token == null) {
+            token = request.getParameter(TOKEN_PARAMETER);
+        }
+        if (token != null && !token.isEmpty()) {
+            SessionToken sessionToken = sessionTokenService.verify(token);
+            if (sessionToken == null) {
+                // the CORS mapping of the application is not applied to responses of a filter
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+                response.sendError(HttpStatus.UNAUTHORIZED.value(), "The token is not valid");
+                return;
+            }
+            request.setAttribute(SESSION_TOKEN, sessionToken);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,67 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.bots.Bot;
+import ch.uzh.ifi.seal.soprafs20.bots.CrazyBot;
+import ch.uzh.ifi.seal.soprafs20.bots.FriendlyBot;
+import ch.uzh.ifi.seal.soprafs20.bots.MaliciousBot;
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
+import ch.uzh.ifi.seal.soprafs20.entity.MysteryWord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bot Clue Service
+ * Computes the clues of the bots on a dedicated pool of threads, so the bots of a lobby answer concurrently
+ * and never block a request or a command of a lobby.
+ */
+@Service
+public class BotClueService {
+
+    private final EnumMap<PlayerType, Bot> bots = new EnumMap<>(PlayerType.class);
+    private final ExecutorService executor;
+
+    @Autowired
+    public BotClueService(FriendlyBot friendlyBot, MaliciousBot maliciousBot, CrazyBot crazyBot,
+                          @Value("${bot.clue.threads:4}") int threads) {
+        // the bots are stateless and shared by all lobbies
+        this.bots.put(PlayerType.FRIENDLYBOT, friendlyBot);
+        this.bots.put(PlayerType.MALICIOUSBOT, maliciousBot);
+        this.bots.put(PlayerType.CRAZYBOT, crazyBot);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "bot-clue-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the computation of a clue on the pool of the bots
+     *
+     * @param botType - the bot that gives the clue
+     * @param mysteryWord - the word to give a clue for
+     * @param language - the language of the lobby
+     * @return the clue, completed as soon as the bot answered
+     */
+    public CompletableFuture<String> computeClue(PlayerType botType, MysteryWord mysteryWord, Language language) {
+        Bot bot = bots.get(botType);
+        if (bot == null) {
+            throw new IllegalArgumentException("There is no bot of type " + botType);
+        }
+        return CompletableFuture.supplyAsync(() -> bot.getClue(mysteryWord, language), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
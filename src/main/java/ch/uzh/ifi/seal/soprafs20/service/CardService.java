@@ -8,18 +8,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Card Service
  * This class is the "worker" and responsible for all functionality related to the Card
  * (e.g., it converts, modifies, deletes, finds). The result will be passed back to the caller.
+ * The cards and their mystery words do not change while games are played, they are loaded once
+ * at startup into a read-only catalog and decks are drawn from it without any database access.
  */
 @Service
 @Transactional
@@ -31,6 +39,11 @@ public class CardService {
 
     private final MysteryWordService mysteryWordService;
 
+    // all cards with their mystery words, loaded once and dropped when a card is saved or deleted
+    private volatile Catalog catalog;
+
+    private final SecureRandom rand = new SecureRandom();
+
     @Autowired
     public CardService(@Qualifier("cardRepository") CardRepository cardRepository, MysteryWordService mysteryWordService) {
         this.cardRepository = cardRepository;
@@ -45,8 +58,12 @@ public class CardService {
      */
     public Card getCardById(Long id)
     {
-        Optional<Card> card = cardRepository.findById(id);
-        return card.orElseThrow(()->new ForbiddenException("Card not found"));
+        Card card = getCatalog().cardsById.get(id);
+        if (card != null) {
+            return card;
+        }
+        Optional<Card> storedCard = cardRepository.findById(id);
+        return storedCard.orElseThrow(()->new ForbiddenException("Card not found"));
     }
 
     /**
@@ -57,6 +74,7 @@ public class CardService {
     public void delete(Card card) {
         if(card != null) {
             cardRepository.delete(card);
+            catalog = null;
         }
     }
 
@@ -68,25 +86,89 @@ public class CardService {
     public void save(Card card) {
         if(card != null) {
             cardRepository.save(card);
+            catalog = null;
         }
     }
 
     /***
      *
-     * Generates cards for one deck
+     * Generates cards for one deck: draws distinct cards of the language at random from the catalog
      *
      * @param language - language of deck
+     * @param numberOfCards - number of cards of the deck, less if the language has fewer cards
      * */
     public List<Card> getCards(Language language, int numberOfCards) {
-        List<Card> cardList = cardRepository.findByLanguage(language);
-        SecureRandom rand = new SecureRandom();
-        int streamSize = cardList.size() > numberOfCards ? numberOfCards : cardList.size();
-        List<Card> wordList = rand.
-                ints(streamSize, 0, cardList.size()).
-                mapToObj(i -> cardList.get(i)).
-                collect(Collectors.toList());
-
-        return wordList;
+        Catalog current = getCatalog();
+        long[] cardIds = current.cardIdsByLanguage.getOrDefault(language, new long[0]);
+        List<Card> cards = new ArrayList<>();
+        // keep the random order of the draw
+        for (Long id : drawIds(cardIds, Math.min(numberOfCards, cardIds.length))) {
+            cards.add(current.cardsById.get(id));
+        }
+        return cards;
+    }
+
+    /**
+     * Loads the catalog when the application is started, so the first game does not wait for it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        getCatalog();
+    }
+
+    private Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    current = new Catalog(cardRepository.findAllWithMysteryWords());
+                    catalog = current;
+                    log.info("Loaded {} cards into the card catalog", current.cardsById.size());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Partial Fisher-Yates shuffle: the first k positions of a virtual copy of the ids are shuffled,
+     * only the swapped positions are stored, so a draw costs O(k) independent of the number of cards
+     */
+    private List<Long> drawIds(long[] ids, int k) {
+        Map<Integer, Long> swapped = new HashMap<>();
+        List<Long> drawn = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            int j = i + rand.nextInt(ids.length - i);
+            Long atJ = swapped.getOrDefault(j, ids[j]);
+            Long atI = swapped.getOrDefault(i, ids[i]);
+            swapped.put(j, atI);
+            drawn.add(atJ);
+        }
+        return drawn;
+    }
+
+    /**
+     * Read-only snapshot of the cards, shared by all games
+     */
+    private static final class Catalog {
+        private final Map<Long, Card> cardsById;
+        private final Map<Language, long[]> cardIdsByLanguage;
+
+        private Catalog(List<Card> cards) {
+            Map<Long, Card> byId = new HashMap<>();
+            Map<Language, List<Long>> idsByLanguage = new EnumMap<>(Language.class);
+            for (Card card : cards) {
+                byId.put(card.getId(), card);
+                idsByLanguage.computeIfAbsent(card.getLanguage(), language -> new ArrayList<>()).add(card.getId());
+            }
+            Map<Language, long[]> idArrays = new EnumMap<>(Language.class);
+            for (Map.Entry<Language, List<Long>> entry : idsByLanguage.entrySet()) {
+                idArrays.put(entry.getKey(), entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray());
+            }
+            this.cardsById = Collections.unmodifiableMap(byId);
+            this.cardIdsByLanguage = Collections.unmodifiableMap(idArrays);
+        }
     }
 
 }
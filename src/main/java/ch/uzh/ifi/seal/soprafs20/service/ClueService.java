@@ -2,10 +2,6 @@
 package ch.uzh.ifi.seal.soprafs20.service;
 
 
-import ch.uzh.ifi.seal.soprafs20.bots.Bot;
-import ch.uzh.ifi.seal.soprafs20.bots.CrazyBot;
-import ch.uzh.ifi.seal.soprafs20.bots.FriendlyBot;
-import ch.uzh.ifi.seal.soprafs20.bots.MaliciousBot;
 import ch.uzh.ifi.seal.soprafs20.constant.*;
 import ch.uzh.ifi.seal.soprafs20.entity.*;
 import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
@@ -16,21 +12,53 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Transactional
 public class ClueService {
     private final Logger log = LoggerFactory.getLogger(ClueService.class);
+
+    // time until a busy lobby is asked again to add the clues of the bots
+    private static final long ATTACH_RETRY_DELAY = 50;
+
     private final ClueRepository clueRepository;
     private final PlayerService playerService;
+    private final LobbyStateService lobbyStateService;
+    private final LobbyNotificationService lobbyNotificationService;
+    private final BotClueService botClueService;
+    private final LobbyCommandExecutor lobbyCommandExecutor;
 //    private final GameService gameService;
 
+    // clues of the bots for the current round that are computed in the background, per lobby
+    private final Map<Long, PendingBotClues> pendingBotClues = new ConcurrentHashMap<>();
+    // adds the computed clues of the bots to their lobby, one thread for all lobbies as it never waits for a lobby
+    private final ScheduledExecutorService attachScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bot-clues");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @Autowired
-    public ClueService(@Qualifier("clueRepository") ClueRepository clueRepository, PlayerService playerService) {
+    public ClueService(@Qualifier("clueRepository") ClueRepository clueRepository, PlayerService playerService, LobbyStateService lobbyStateService, LobbyNotificationService lobbyNotificationService, BotClueService botClueService, LobbyCommandExecutor lobbyCommandExecutor) {
         this.clueRepository = clueRepository;
         this.playerService = playerService;
+        this.lobbyStateService = lobbyStateService;
+        this.lobbyNotificationService = lobbyNotificationService;
+        this.botClueService = botClueService;
+        this.lobbyCommandExecutor = lobbyCommandExecutor;
     }
 
     /*
@@ -55,9 +83,16 @@ public class ClueService {
         newClue.setPlayer(player);
         newClue.setCard(lobby.getDeck().getActiveCard());
         newClue.setFlagCounter(0);
+        // the time is sent by the client and may be missing
+        if (newClue.getTimeForClue() == null) {
+            newClue.setTimeForClue(0L);
+        }
         clueRepository.save(newClue);
         clueRepository.flush();
+        player.setClue(newClue);
         lobby.getGame().addClue(newClue);
+        lobbyStateService.markDirty(lobby);
+        lobbyNotificationService.clueAdded(lobby, newClue);
         return newClue;
     }
 
@@ -76,7 +111,7 @@ public class ClueService {
             }
         }
         for(MysteryWord mysteryWord:mysteryWords) {
-            if (mysteryWord.getStatus().equals(MysteryWordStatus.IN_USE) && hint.equalsIgnoreCase(mysteryWord.getWord())) {
+            if (lobby.getGame().getRoundState().isSelected(mysteryWord) && hint.equalsIgnoreCase(mysteryWord.getWord())) {
                 throw new SopraServiceException("Clue can not be the same as Mysteryword");
             }
         }
@@ -95,7 +130,7 @@ public class ClueService {
         playerService.playerIsInLobby(token, lobby);
         playerService.playerIsClueCreator(token);
         float numPlayersbyTwo = (float)playerService.getHumanPlayersExceptActivePlayer(lobby).size()/2;
-        Clue clue = clueRepository.findClueById(clueId);
+        Clue clue = findClueOfGame(clueId, lobby);
         if(clue == null){
             throw new SopraServiceException("Clue not in Repository");
         }
@@ -104,10 +139,28 @@ public class ClueService {
             clue.setClueStatus(ClueStatus.DISABLED);
             bool = true;
         }
-        clueRepository.save(clue);
+        if (!lobbyStateService.markDirty(lobby)) {
+            clueRepository.save(clue);
+        }
         return bool;
     }
 
+    /*
+     * helper function to find a clue, the clues of a game held in memory are more recent than the clue repository
+     * @param clueId - id of the clue
+     * @param lobby - lobby in which the game takes place
+     */
+    private Clue findClueOfGame(long clueId, Lobby lobby){
+        if(lobbyStateService.isTracked(lobby)) {
+            for (Clue clue : lobby.getGame().getClues()) {
+                if (clue.getId() == clueId) {
+                    return clue;
+                }
+            }
+        }
+        return clueRepository.findClueById(clueId);
+    }
+
     /*
      * get Clues for Comparing or Guessing
      * @param lobby
@@ -152,10 +205,11 @@ public class ClueService {
      * helper function to get all Clues for the players that are annotating clues
      * @param lobby - lobby for which the clues should be gotten
      * @return List<Clue> - list of clues that are annotated
-     * is synchronized as the first time a player wants to get the clues, the clues for the bots are annotated
+     * if the clues of the bots are not added to the round yet, they are added now (waiting for bots that did not answer yet),
+     * callers have to run this as a command of the lobby (LobbyCommandExecutor)
      */
 
-    private synchronized List<Clue> getCluesForComparing(Lobby lobby){
+    private List<Clue> getCluesForComparing(Lobby lobby){
         List<Clue> clues = lobby.getGame().getClues();
         List<Clue> activeClues = new ArrayList<>();
         Set<Player> players = lobby.getPlayers();
@@ -203,52 +257,152 @@ public class ClueService {
     }
 
     /*
-    * helper function that annotates the clues for all players that are bots
-    * @param lobby - lobby in which the bots should annotate clues
+     * starts computing the clues of all bots of the lobby as soon as the mystery word is accepted,
+     * all bots answer concurrently and their clues are added to the round once every bot answered
+     * and the accepting command is committed, so players fetching the clues do not wait for the bots.
+     * Callers have to run this as a command of the lobby
+     * @param lobby - lobby whose players are about to write their clues
      */
-
-    private void createBotClues(Lobby lobby){
+    public void precomputeBotClues(Lobby lobby){
         List<Player> botPlayers = playerService.getBotPlayers(lobby);
-        Language language = lobby.getLanguage();
-        MysteryWord activeMysteryWord = null;
-        List<MysteryWord> mysteryWords = lobby.getDeck().getActiveCard().getMysteryWords();
-        for(MysteryWord mysteryWord:mysteryWords){
-            if(mysteryWord.getStatus().equals(MysteryWordStatus.IN_USE)){
-                activeMysteryWord = mysteryWord;
-                break;
+        if(botPlayers.isEmpty() || lobby.getId() == null){
+            return;
+        }
+        Long lobbyId = lobby.getId();
+        PendingBotClues pending = startBotClues(lobby, botPlayers);
+        pendingBotClues.put(lobbyId, pending);
+        CompletableFuture<Void> accepted = new CompletableFuture<>();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accepted.complete(null);
+                }
+            });
+        }
+        else {
+            accepted.complete(null);
+        }
+        pending.allAnswered().runAfterBoth(accepted, () -> scheduleAttach(lobbyId, pending, 0));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        attachScheduler.shutdownNow();
+    }
+
+    private void scheduleAttach(Long lobbyId, PendingBotClues pending, long delay){
+        try {
+            attachScheduler.schedule(() -> attachBotClues(lobbyId, pending), delay, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e) {
+            // shutting down, the clues stay pending
+            log.debug("Could not schedule adding the clues of the bots to Lobby {}", lobbyId);
+        }
+    }
+
+    /*
+     * helper function that adds the precomputed clues to the running lobby, as a command of the lobby.
+     * The scheduler thread never waits for the lobby: while the lobby is busy, it tries again shortly
+     * @param lobbyId - lobby for which the clues were computed
+     * @param pending - the computed clues
+     */
+    private void attachBotClues(Long lobbyId, PendingBotClues pending){
+        if (pendingBotClues.get(lobbyId) != pending) {
+            // already added by a request for the clues, or a new round started
+            return;
+        }
+        try {
+            boolean executed = lobbyCommandExecutor.tryExecute(lobbyId, () -> {
+                Lobby lobby = lobbyStateService.getLobby(lobbyId);
+                if (lobby == null) {
+                    pendingBotClues.remove(lobbyId, pending);
+                }
+                else if (pendingBotClues.get(lobbyId) == pending && !haveBotPlayersAnnotatedClues(lobby)) {
+                    createBotClues(lobby);
+                }
+            });
+            if (!executed) {
+                scheduleAttach(lobbyId, pending, ATTACH_RETRY_DELAY);
             }
         }
-        Bot friendlyBot = new FriendlyBot(language);
-        Bot maliciousBot = new MaliciousBot(language);
-        Bot crazyBot = new CrazyBot(language);
-        EnumMap<PlayerType, Bot> botEnumMap = new EnumMap<>(PlayerType.class);
-        botEnumMap.put(PlayerType.FRIENDLYBOT, friendlyBot);
-        botEnumMap.put(PlayerType.MALICIOUSBOT, maliciousBot);
-        botEnumMap.put(PlayerType.CRAZYBOT, crazyBot);
+        catch (RuntimeException e) {
+            // the clues stay pending and are added by the next request for the clues
+            log.warn("Could not add the clues of the bots to Lobby {}", lobbyId, e);
+        }
+    }
 
+    /*
+     * helper function that asks every bot for its clue(s) of the selected mystery word
+     * @param lobby - lobby in which the bots should annotate clues
+     * @param botPlayers - the bots of the lobby
+     */
+    private PendingBotClues startBotClues(Lobby lobby, List<Player> botPlayers){
+        Language language = lobby.getLanguage();
+        MysteryWord activeMysteryWord = getSelectedMysteryWord(lobby);
+        PendingBotClues pending = new PendingBotClues(lobby);
         for(Player player:botPlayers){
-            Bot bot = botEnumMap.get(player.getPlayerType());
-            Clue botClue = new Clue();
-            botClue.setHint(bot.getClue(activeMysteryWord));
-            botClue.setPlayer(player);
-            botClue.setClueStatus(ClueStatus.ACTIVE);
-            botClue.setCard(lobby.getDeck().getActiveCard());
-            clueRepository.save(botClue);
-            clueRepository.flush();
-            lobby.getGame().addClue(botClue);
+            List<CompletableFuture<String>> hints = new ArrayList<>();
+            hints.add(botClueService.computeClue(player.getPlayerType(), activeMysteryWord, language));
             if(lobby.getPlayers().size()==3){
-                bot = botEnumMap.get(PlayerType.MALICIOUSBOT);
-                Clue botClue2 = new Clue();
-                botClue2.setHint(bot.getClue(activeMysteryWord));
-                botClue2.setPlayer(player);
-                botClue2.setClueStatus(ClueStatus.ACTIVE);
-                botClue2.setCard(lobby.getDeck().getActiveCard());
-                clueRepository.save(botClue2);
+                hints.add(botClueService.computeClue(PlayerType.MALICIOUSBOT, activeMysteryWord, language));
+            }
+            pending.hintsByPlayerId.put(player.getId(), hints);
+        }
+        return pending;
+    }
+
+    private MysteryWord getSelectedMysteryWord(Lobby lobby){
+        for(MysteryWord mysteryWord:lobby.getDeck().getActiveCard().getMysteryWords()){
+            if(lobby.getGame().getRoundState().isSelected(mysteryWord)){
+                return mysteryWord;
+            }
+        }
+        return null;
+    }
+
+    /*
+    * helper function that annotates the clues for all players that are bots,
+    * with the clues computed since the word was accepted or, if there are none for this round, with new ones
+    * @param lobby - lobby in which the bots should annotate clues
+     */
+
+    private void createBotClues(Lobby lobby){
+        List<Player> botPlayers = playerService.getBotPlayers(lobby);
+        PendingBotClues pending = lobby.getId() == null ? null : pendingBotClues.remove(lobby.getId());
+        if(pending == null || !pending.isRoundOf(lobby)){
+            pending = startBotClues(lobby, botPlayers);
+        }
+        for(Player player:botPlayers){
+            List<CompletableFuture<String>> hints = pending.hintsByPlayerId.get(player.getId());
+            if(hints == null){
+                hints = startBotClues(lobby, Collections.singletonList(player)).hintsByPlayerId.get(player.getId());
+            }
+            for(CompletableFuture<String> hint:hints){
+                Clue botClue = new Clue();
+                botClue.setHint(awaitHint(hint));
+                botClue.setPlayer(player);
+                botClue.setClueStatus(ClueStatus.ACTIVE);
+                botClue.setCard(lobby.getDeck().getActiveCard());
+                clueRepository.save(botClue);
                 clueRepository.flush();
-                lobby.getGame().addClue(botClue2);
+                player.setClue(botClue);
+                lobby.getGame().addClue(botClue);
+                lobbyNotificationService.clueAdded(lobby, botClue);
             }
             player.setStatus(PlayerStatus.REVIEWING_CLUES);
         }
+        lobbyStateService.markDirty(lobby);
+        lobbyNotificationService.lobbyChanged(lobby);
+    }
+
+    private String awaitHint(CompletableFuture<String> hint){
+        try {
+            return hint.join();
+        }
+        catch (CompletionException e) {
+            throw new SopraServiceException("The bot could not annotate a clue");
+        }
     }
 
     /*
@@ -268,6 +422,29 @@ public class ClueService {
 		
 		return clueRepository.findAllByPlayer(playerInLobby);
 	}
-}
 
+    /*
+     * clues of the bots for one round of a lobby: the card and the time the mystery word was selected
+     */
+    private static final class PendingBotClues {
+        private final int cardIndex;
+        private final Date timeDrawn;
+        private final Map<Long, List<CompletableFuture<String>>> hintsByPlayerId = new HashMap<>();
 
+        private PendingBotClues(Lobby lobby) {
+            this.cardIndex = lobby.getDeck().getActiveIndex();
+            this.timeDrawn = lobby.getGame().getRoundState().getTimeDrawn();
+        }
+
+        private boolean isRoundOf(Lobby lobby) {
+            return cardIndex == lobby.getDeck().getActiveIndex()
+                    && Objects.equals(timeDrawn, lobby.getGame().getRoundState().getTimeDrawn());
+        }
+
+        private CompletableFuture<Void> allAnswered() {
+            return CompletableFuture.allOf(hintsByPlayerId.values().stream()
+                    .flatMap(List::stream)
+                    .toArray(CompletableFuture[]::new));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.entity.Deck;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Deck Pool Service
+ * Holds decks that are already saved but not yet used by a lobby, per language and number of cards.
+ * Starting a game claims one of them instead of drawing and saving a new deck within the request.
+ * A scheduled refiller builds new decks (each in its own transaction) whenever a pool falls below
+ * the low water mark. A pool is created as soon as a lobby with its language and number of cards is created,
+ * so its decks are usually ready before the game starts. When a pool is empty, the deck is built directly.
+ * Pools that nothing demanded for the idle timeout, and the least recently demanded pools beyond the
+ * maximum number of pools, are removed by the refiller together with their decks. The saved decks that
+ * no lobby uses are taken back into the pools when the application starts.
+ */
+@Service
+public class DeckPoolService {
+
+    private final Logger log = LoggerFactory.getLogger(DeckPoolService.class);
+
+    private final DeckService deckService;
+    private final int lowWater;
+    private final int highWater;
+    private final long idleTimeout;
+    private final int maxPools;
+    private final LongSupplier clock;
+
+    // the saved and unclaimed decks, their cards are the instances of the card catalog
+    private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DeckPoolService(DeckService deckService,
+                           @Value("${deck.pool.low-water:2}") int lowWater,
+                           @Value("${deck.pool.high-water:4}") int highWater,
+                           @Value("${deck.pool.idle-timeout:3600000}") long idleTimeout,
+                           @Value("${deck.pool.max-pools:20}") int maxPools) {
+        this(deckService, lowWater, highWater, idleTimeout, maxPools, System::currentTimeMillis);
+    }
+
+    DeckPoolService(DeckService deckService, int lowWater, int highWater, long idleTimeout, int maxPools, LongSupplier clock) {
+        this.deckService = deckService;
+        this.lowWater = lowWater;
+        this.highWater = Math.max(lowWater, highWater);
+        this.idleTimeout = idleTimeout;
+        this.maxPools = maxPools;
+        this.clock = clock;
+    }
+
+    /**
+     * Games with this language and number of cards will be started, the refiller keeps decks ready for them
+     */
+    public void demand(Language language, int numberOfCards) {
+        if (language != null && highWater > 0) {
+            pools.computeIfAbsent(new PoolKey(language, numberOfCards), key -> new Pool(clock.getAsLong())).lastDemand = clock.getAsLong();
+        }
+    }
+
+    /**
+     * @return a saved deck of the language with the number of cards, from the pool if one is ready
+     */
+    public Deck claimDeck(Language language, int numberOfCards) {
+        demand(language, numberOfCards);
+        Pool pool = pools.get(new PoolKey(language, numberOfCards));
+        Deck deck = pool == null ? null : pool.decks.poll();
+        if (deck != null) {
+            return deck;
+        }
+        return deckService.constructDeckForLanguage(language, numberOfCards);
+    }
+
+    /**
+     * Takes the saved decks that no lobby uses (the pools of the last run) back into the pools,
+     * decks beyond the high water mark are deleted
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void adoptUnassignedDecks() {
+        if (highWater <= 0) {
+            return;
+        }
+        int adopted = 0;
+        int deleted = 0;
+        try {
+            for (Deck deck : deckService.getUnassignedDecks()) {
+                Pool pool = deck.getCards().isEmpty() ? null
+                        : pools.computeIfAbsent(new PoolKey(deck.getCards().get(0).getLanguage(), deck.getCards().size()), key -> new Pool(clock.getAsLong()));
+                if (pool != null && pool.decks.size() < highWater) {
+                    pool.decks.add(deck);
+                    adopted++;
+                }
+                else {
+                    deckService.deleteDeck(deck);
+                    deleted++;
+                }
+            }
+        }
+        catch (RuntimeException e) {
+            log.warn("Could not take the unused decks back into the deck pools", e);
+        }
+        log.debug("Took {} unused decks back into the deck pools, deleted {}", adopted, deleted);
+    }
+
+    /**
+     * Removes the pools that are not demanded anymore and refills every other pool that fell below
+     * the low water mark up to the high water mark
+     */
+    @Scheduled(fixedDelayString = "${deck.pool.refill-interval:1000}")
+    public synchronized void refill() {
+        evictPools();
+        for (Map.Entry<PoolKey, Pool> pool : pools.entrySet()) {
+            Queue<Deck> decks = pool.getValue().decks;
+            if (decks.size() >= lowWater) {
+                continue;
+            }
+            PoolKey key = pool.getKey();
+            try {
+                while (decks.size() < highWater) {
+                    // constructDeckForLanguage commits the deck before it is offered
+                    Deck deck = deckService.constructDeckForLanguage(key.language, key.numberOfCards);
+                    if (deck.getCards().isEmpty()) {
+                        break;
+                    }
+                    decks.add(deck);
+                }
+            }
+            catch (RuntimeException e) {
+                log.warn("Could not refill the deck pool {} {}", key.language, key.numberOfCards, e);
+            }
+        }
+    }
+
+    int size(Language language, int numberOfCards) {
+        Pool pool = pools.get(new PoolKey(language, numberOfCards));
+        return pool == null ? 0 : pool.decks.size();
+    }
+
+    int poolCount() {
+        return pools.size();
+    }
+
+    /**
+     * Decks are only added while the pools are locked (refill, adoption), so no deck is added to a pool
+     * after it was removed
+     */
+    private void evictPools() {
+        long idleSince = clock.getAsLong() - idleTimeout;
+        // the demands keep changing while the pools are sorted
+        Map<Pool, Long> lastDemands = new IdentityHashMap<>();
+        List<Map.Entry<PoolKey, Pool>> byLastDemand = new ArrayList<>(pools.entrySet());
+        for (Map.Entry<PoolKey, Pool> pool : byLastDemand) {
+            lastDemands.put(pool.getValue(), pool.getValue().lastDemand);
+        }
+        byLastDemand.sort(Comparator.comparingLong(pool -> lastDemands.get(pool.getValue())));
+        int toEvict = byLastDemand.size() - maxPools;
+        for (Map.Entry<PoolKey, Pool> pool : byLastDemand) {
+            if (toEvict <= 0 && lastDemands.get(pool.getValue()) > idleSince) {
+                break;
+            }
+            if (pools.remove(pool.getKey(), pool.getValue())) {
+                toEvict--;
+                deleteDecks(pool.getKey(), pool.getValue());
+            }
+        }
+    }
+
+    private void deleteDecks(PoolKey key, Pool pool) {
+        try {
+            Deck deck;
+            while ((deck = pool.decks.poll()) != null) {
+                deckService.deleteDeck(deck);
+            }
+            log.debug("Removed the deck pool {} {}", key.language, key.numberOfCards);
+        }
+        catch (RuntimeException e) {
+            log.warn("Could not delete the decks of the deck pool {} {}", key.language, key.numberOfCards, e);
+        }
+    }
+
+    private static final class Pool {
+        private final Queue<Deck> decks = new ConcurrentLinkedQueue<>();
+        private volatile long lastDemand;
+
+        private Pool(long lastDemand) {
+            this.lastDemand = lastDemand;
+        }
+    }
+
+    private static final class PoolKey {
+        private final Language language;
+        private final int numberOfCards;
+
+        private PoolKey(Language language, int numberOfCards) {
+            this.language = language;
+            this.numberOfCards = numberOfCards;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PoolKey poolKey = (PoolKey) o;
+            return numberOfCards == poolKey.numberOfCards && language == poolKey.language;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(language, numberOfCards);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,6 +71,39 @@ public class DeckService {
         }
     }
 
+    /**
+     * Moves the deck to its next card, only the cursor of the deck is written
+     *
+     * @param deck - the deck of the running game
+     * @return true if there is a card left to play
+     * */
+    public boolean advance(Deck deck) {
+        boolean cardLeft = deck.advance();
+        if (deck.getDeckId() != null) {
+            deckRepository.updateActiveIndex(deck.getDeckId(), deck.getActiveIndex());
+        }
+        return cardLeft;
+    }
+
+    /**
+     * @return the saved decks that no lobby uses, their cards are the instances of the card catalog
+     */
+    public List<Deck> getUnassignedDecks() {
+        List<Deck> decks = new ArrayList<>();
+        for (Deck storedDeck : deckRepository.findUnassigned()) {
+            List<Card> cards = new ArrayList<>();
+            for (Card card : storedDeck.getCards()) {
+                cards.add(cardService.getCardById(card.getId()));
+            }
+            // a copy, so the cards of the stored deck are not rewritten
+            Deck deck = new Deck();
+            deck.setDeckId(storedDeck.getDeckId());
+            deck.clearAndAddCards(cards);
+            decks.add(deck);
+        }
+        return decks;
+    }
+
     /**
      * Constructs cards and deck for a new game
      *
@@ -1,45 +1,308 @@
 package ch.uzh.ifi.seal.soprafs20.service;
 
+import ch.uzh.ifi.seal.soprafs20.exceptions.NotFoundException;
 import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Definition Service
+ * Definitions of words are looked up at most once: they are kept in a bounded cache in memory and in a local
+ * store on disk (definition.store.dir) that survives restarts. Concurrent lookups of the same word share one
+ * call to the external API. The definitions of the words on the active card are prefetched when a round starts,
+ * so the definition endpoint is served locally in the common case.
+ * Only the definitions of card words are written to the store, so it is bounded by the card catalog no matter
+ * which words the players look up. Words the external API does not know are remembered for some time
+ * (definition.not-found.ttl) instead of asking it again on every lookup.
+ */
 @Service
-@Transactional
 public class DefinitionService {
+    private static final String UPSTREAM = "oxforddictionaries";
+    private static final String NOT_AVAILABLE = "Either the external API is offline or there are no more request for this user.";
+    private static final String NO_DEFINITION = "There is no definition of this word.";
+    private static final String STORE_SUFFIX = ".json";
+
     private final Logger log = LoggerFactory.getLogger(DefinitionService.class);
-    private final RestTemplate restTemplate;
 
-    public DefinitionService(RestTemplateBuilder restTemplateBuilder) {
-        this.restTemplate = restTemplateBuilder.build();
+    private final OutboundHttpService outboundHttpService;
+    private final Path store;
+    private final ExecutorService prefetchExecutor;
+    private final long notFoundTtl;
+    private final LongSupplier clock;
+
+    private final Map<String, String> definitions;
+    // words without a definition and the time until they are not looked up again
+    private final Map<String, Long> notFound;
+    // words of the cards that were played, only their definitions are stored on disk
+    private final Set<String> cardWords = ConcurrentHashMap.newKeySet();
+    // lookups that are running right now, concurrent lookups of the same word wait for them
+    private final Map<String, CompletableFuture<String>> lookups = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheSize - number of definitions kept in memory (definition.cache.size)
+     * @param storeDir - directory of the local store (definition.store.dir), an empty value keeps definitions in memory only
+     * @param prefetchThreads - threads that prefetch definitions (definition.prefetch.threads), 0 disables the prefetch
+     * @param notFoundTtl - time (ms) a word without a definition is not looked up again (definition.not-found.ttl)
+     */
+    @Autowired
+    public DefinitionService(OutboundHttpService outboundHttpService,
+                             @Value("${definition.cache.size:1000}") int cacheSize,
+                             @Value("${definition.store.dir:}") String storeDir,
+                             @Value("${definition.prefetch.threads:2}") int prefetchThreads,
+                             @Value("${definition.not-found.ttl:600000}") long notFoundTtl) {
+        this(outboundHttpService, cacheSize, storeDir, prefetchThreads, notFoundTtl, System::currentTimeMillis);
+    }
+
+    DefinitionService(OutboundHttpService outboundHttpService, int cacheSize, String storeDir, int prefetchThreads,
+                      long notFoundTtl, LongSupplier clock) {
+        this.outboundHttpService = outboundHttpService;
+        this.store = storeDir == null || storeDir.isBlank() ? null : Paths.get(storeDir);
+        this.notFoundTtl = notFoundTtl;
+        this.clock = clock;
+        this.definitions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.notFound = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        if (prefetchThreads > 0) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.prefetchExecutor = Executors.newFixedThreadPool(prefetchThreads, runnable -> {
+                Thread thread = new Thread(runnable, "definition-prefetch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else {
+            this.prefetchExecutor = null;
+        }
     }
 
+    /**
+     * Looks up the definition of a word in memory, in the local store and only then with the external API
+     *
+     * @param word - the word to define
+     * @return the definition as given by the external API
+     * @throws NotFoundException if the external API does not know the word
+     * @throws SopraServiceException if the external API is not available
+     */
     public String getDefinitionOfWord(String word) {
-        return this.getEnglishDefinition(word);
+        String key = word.toLowerCase(Locale.ROOT);
+        String definition = getCachedDefinition(key);
+        if (definition != null) {
+            return definition;
+        }
+        if (isNotFound(key)) {
+            throw new NotFoundException(NO_DEFINITION);
+        }
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> running = lookups.putIfAbsent(key, lookup);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            definition = readStoredDefinition(key);
+            if (definition == null) {
+                definition = getEnglishDefinition(word);
+                if (cardWords.contains(key)) {
+                    storeDefinition(key, definition);
+                }
+            }
+            putCachedDefinition(key, definition);
+            lookup.complete(definition);
+            return definition;
+        }
+        catch (RuntimeException e) {
+            // an unavailable external API is not cached, the next lookup asks it again
+            if (e instanceof NotFoundException) {
+                putNotFound(key);
+            }
+            lookup.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            lookups.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Looks up the definitions of the words of a card in the background, failed lookups are ignored.
+     * The definitions of these words are kept in the local store.
+     *
+     * @param words - the mystery words of the active card
+     */
+    public void prefetch(Collection<String> words) {
+        for (String word : words) {
+            if (word != null && !word.isBlank()) {
+                cardWords.add(word.toLowerCase(Locale.ROOT));
+            }
+        }
+        if (prefetchExecutor == null) {
+            return;
+        }
+        for (String word : new LinkedHashSet<>(words)) {
+            if (word == null || word.isBlank() || getCachedDefinition(word.toLowerCase(Locale.ROOT)) != null) {
+                continue;
+            }
+            try {
+                prefetchExecutor.execute(() -> {
+                    try {
+                        getDefinitionOfWord(word);
+                    }
+                    catch (RuntimeException e) {
+                        log.debug("Could not prefetch the definition of {}: {}", word, e.getMessage());
+                    }
+                });
+            }
+            catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    private String await(CompletableFuture<String> lookup) {
+        try {
+            return lookup.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SopraServiceException(NOT_AVAILABLE);
+        }
+    }
+
+    private synchronized String getCachedDefinition(String key) {
+        return definitions.get(key);
+    }
+
+    private synchronized void putCachedDefinition(String key, String definition) {
+        definitions.put(key, definition);
+    }
+
+    private synchronized boolean isNotFound(String key) {
+        Long expiry = notFound.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry <= clock.getAsLong()) {
+            notFound.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void putNotFound(String key) {
+        notFound.put(key, clock.getAsLong() + notFoundTtl);
+    }
+
+    private Path storePath(String key) {
+        return store.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8) + STORE_SUFFIX);
+    }
+
+    private String readStoredDefinition(String key) {
+        if (store == null) {
+            return null;
+        }
+        Path path = storePath(key);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        }
+        catch (IOException e) {
+            log.warn("Could not read the stored definition {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void storeDefinition(String key, String definition) {
+        if (store == null) {
+            return;
+        }
+        Path temporary = null;
+        try {
+            Files.createDirectories(store);
+            // written to a temporary file first, so a crash never leaves a partial definition in the store
+            temporary = Files.createTempFile(store, "definition", ".tmp");
+            Files.writeString(temporary, definition, StandardCharsets.UTF_8);
+            Files.move(temporary, storePath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            log.warn("Could not store the definition of {}: {}", key, e.getMessage());
+            deleteQuietly(temporary);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e) {
+            log.debug("Could not delete {}: {}", path, e.getMessage());
+        }
     }
 
     private String getEnglishDefinition(String word) {
-        String url = "https://od-api.oxforddictionaries.com/api/v2/entries/en-gb/" + word;
+        URI uri = UriComponentsBuilder.fromHttpUrl("https://od-api.oxforddictionaries.com/api/v2/entries/en-gb/{word}")
+                .buildAndExpand(word).encode().toUri();
 
         // set Headers
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("app_id", "62bbc06c");
-        headers.set("app_key", "aeeb82ba1944920c2d4f8b689330a293");
+        Map<String, String> headers = Map.of(
+                "app_id", "62bbc06c",
+                "app_key", "aeeb82ba1944920c2d4f8b689330a293");
 
-        // build request
-        HttpEntity request = new HttpEntity(headers);
-
-        ResponseEntity<String> response = this.restTemplate.exchange(url, HttpMethod.GET, request, String.class, 1);
+        String definition = outboundHttpService.get(UPSTREAM, uri, headers, () -> null, () -> {
+            throw new NotFoundException(NO_DEFINITION);
+        });
+        if (definition == null) {
+            throw new SopraServiceException(NOT_AVAILABLE);
+        }
+        return definition;
+    }
 
-        if (response.getStatusCode() == HttpStatus.OK) {
-            return response.getBody();
-        } else {
-            throw new SopraServiceException("Either the external API is offline or there are no more request for this user.");
+    @PreDestroy
+    public void shutdown() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
         }
     }
 }
@@ -1,7 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.service;
 
 import ch.uzh.ifi.seal.soprafs20.constant.ClueStatus;
-import ch.uzh.ifi.seal.soprafs20.constant.MysteryWordStatus;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
 import ch.uzh.ifi.seal.soprafs20.entity.Clue;
@@ -10,6 +9,7 @@ import ch.uzh.ifi.seal.soprafs20.entity.GameStats;
 import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
 import ch.uzh.ifi.seal.soprafs20.entity.MysteryWord;
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.RoundState;
 import ch.uzh.ifi.seal.soprafs20.repository.GameRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.StatsRepository;
 
@@ -20,6 +20,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -37,15 +39,17 @@ public class GameService {
 
     private final GameRepository gameRepository;
     private final StatsRepository statsRepository;
-    private final UserService userService;
-    private final ClueService clueService;
+    private final StatsService statsService;
+    private final LobbyStateService lobbyStateService;
+    private final LobbyNotificationService lobbyNotificationService;
 
     @Autowired
-    public GameService(@Qualifier("gameRepository") GameRepository gameRepository, @Qualifier("statsRepository") StatsRepository statsRepository, UserService userService, ClueService clueService) {
+    public GameService(@Qualifier("gameRepository") GameRepository gameRepository, @Qualifier("statsRepository") StatsRepository statsRepository, StatsService statsService, LobbyStateService lobbyStateService, LobbyNotificationService lobbyNotificationService) {
         this.gameRepository = gameRepository;
         this.statsRepository = statsRepository;
-        this.userService = userService;
-        this.clueService = clueService;
+        this.statsService = statsService;
+        this.lobbyStateService = lobbyStateService;
+        this.lobbyNotificationService = lobbyNotificationService;
     }
     
     /**
@@ -58,7 +62,7 @@ public class GameService {
     public void updateLeftCards(Lobby lobby, Game game, boolean success, String guess)
     {
 
-    	game.setLeftCards(lobby.getDeck().getCards().size()-1);
+    	game.setLeftCards(lobby.getDeck().getRemainingCards()-1);
     	
     	if (success)
     	{
@@ -76,7 +80,8 @@ public class GameService {
     
 
     /**
-     * This method will get a specific will compare the guess with the mystery word and update game repository
+     * This method will get a specific will compare the guess with the mystery word and update game repository.
+     * The stats are not updated here: the guess is published to the StatsService, which persists them in batches.
      *
      * @param lobby - the active lobby
      * @param guess - the guess from the player
@@ -89,77 +94,48 @@ public class GameService {
 		boolean success = guess.equalsIgnoreCase(mysteryWord);
 		game.setLastGuessSuccess(success);
 		updateLeftCards(lobby,game,success,guess);
-		updateGuesserStats(success,timeToGuess,guesserId,lobby.getId());
-		updateClueGeneratorStats(lobby);
-		updateTeamPoints(lobby.getId(),game);
-		gameRepository.save(game);
-		gameRepository.flush();
+		// the time is sent by the client and may be missing
+		statsService.publish(new StatsService.GuessEvent(lobby.getId(), guesserId, success, timeToGuess == null ? 0L : timeToGuess,
+				game.getWonCards(), game.getLeftCards() <= 0, getCluesOfRound(lobby)));
+		if (!lobbyStateService.markDirty(lobby))
+		{
+			gameRepository.save(game);
+			gameRepository.flush();
+		}
+		lobbyNotificationService.guessMade(lobby, mysteryWord);
     }
-    
-    public void updateGuesserStats(boolean success, Long timeToGuess, Long playerId, Long lobbyId) 
-    {
-    
-    	GameStats gameStats = statsRepository.findByPlayerIdAndLobbyId(playerId,lobbyId);
-    	gameStats.incGuessCount(1L);
-    	gameStats.addGuessTime(timeToGuess);
-    	if(success)
-    	{
-    		gameStats.incCorrectGuessCount(1L);
-    		userService.updateCorrectGuessCount(playerId, 1L);
-    	}
-    	gameStats.calculateScore();
-    	statsRepository.save(gameStats);
-    	statsRepository.flush();
-	}
-    
 
-    public void updateClueGeneratorStats(Lobby lobby) 
+    /**
+     * Only the clues of the current round are counted, the clues of all earlier rounds were set INACTIVE
+     * when their round ended. The clues of a game are not kept in a defined order, so all of them are checked.
+     *
+     * @return the clues of the human clue creators in the current round
+     */
+    private List<StatsService.GivenClue> getCluesOfRound(Lobby lobby)
     {
-    	Set<Player> playersInLobby = lobby.getPlayers();
-    	for(Player playerInLobby : playersInLobby)
+    	Set<Long> humanClueCreators = new HashSet<>();
+    	for(Player playerInLobby : lobby.getPlayers())
     	{
     		if((playerInLobby.getRole() == PlayerRole.CLUE_CREATOR)&&(playerInLobby.getPlayerType() == PlayerType.HUMAN))
     		{
-    	    	GameStats gameStats = statsRepository.findByPlayerIdAndLobbyId(playerInLobby.getId(),lobby.getId());
-    	    	List<Clue> cluesOfPlayer = clueService.getCluesOfPlayer(playerInLobby);
-    	    	
-    	    	for(Clue clueOfPlayer:cluesOfPlayer)
-    	    	{
-    	    		if(clueOfPlayer.getClueStatus() != ClueStatus.INACTIVE)
-    	    		{
-    	    			gameStats.incGivenClueCount(1L);
-    	    			gameStats.addClueTime(clueOfPlayer.getTimeForClue());
-    	    			if(clueOfPlayer.getClueStatus() == ClueStatus.ACTIVE)
-    	    			{
-            	    		gameStats.incGoodClueCount(1L);
-            	    		userService.updateBestClueCount(playerInLobby.getId(), 1L);	
-    	    			}
-    	    		}
-    	    	} 	    	
-    	    	gameStats.calculateScore();
-    	    	statsRepository.save(gameStats);
+    			humanClueCreators.add(playerInLobby.getId());
     		}
     	}
-    	statsRepository.flush();
-	}
-	
-	public void updateTeamPoints(Long lobbyId, Game game)
-	{
-		List<GameStats> allGameStats = statsRepository.findAllByLobbyId(lobbyId);
-		for (GameStats eachGameStats : allGameStats)
-		{
-			eachGameStats.setTeamPoints((long)game.getWonCards());
-			eachGameStats.calculateScore();
-		}
-		//if there are no more cards left, then update overall stats for each user
-		if(game.getLeftCards() <= 0) {
-		    for(GameStats playerGameStats : allGameStats) {
-                userService.updateScore(playerGameStats.getPlayerId(), playerGameStats.getScore());
-            }
-        }
-    	statsRepository.saveAll(allGameStats);
-    	statsRepository.flush();
-	}
+    	List<StatsService.GivenClue> cluesOfRound = new ArrayList<>();
+    	for(Clue clue : lobby.getGame().getClues())
+    	{
+    		if(clue.getClueStatus() == ClueStatus.INACTIVE)
+    		{
+    			continue;
+    		}
+    		if(clue.getPlayer() != null && humanClueCreators.contains(clue.getPlayer().getId()))
+    		{
+    			cluesOfRound.add(new StatsService.GivenClue(clue.getPlayer().getId(), clue.getTimeForClue(),
+    					clue.getClueStatus() == ClueStatus.ACTIVE));
+    		}
+    	}
+    	return cluesOfRound;
+    }
 
 	public String getGuess(Lobby lobby)
     {
@@ -196,7 +172,7 @@ public class GameService {
     	Game game = new Game();
     	game.setLastGuessSuccess(false);
     	game.setActiveGuess("");
-    	game.setLeftCards(lobby.getDeck().getCards().size());
+    	game.setLeftCards(lobby.getDeck().getRemainingCards());
     	game.setWonCards(0);
     	game.setLostCards(0);
     	gameRepository.save(game);
@@ -229,6 +205,8 @@ public class GameService {
 
 	public List<GameStats> getAllLobbyGameStats (Long lobbyId)
 	{
+		// the guesses that are still queued are persisted first, so the players see the stats of all their guesses
+		statsService.flushStats();
 		return (statsRepository.findAllByLobbyId(lobbyId));
 	}
 
@@ -248,10 +226,11 @@ public class GameService {
 	{
 		try {
 	    	List<MysteryWord> mysteryWords = lobby.getDeck().getActiveCard().getMysteryWords();
+	    	RoundState roundState = lobby.getGame().getRoundState();
 	    	
 	    	for(MysteryWord w : mysteryWords)
 	    	{   		
-	    		if (w.getStatus() == MysteryWordStatus.IN_USE)
+	    		if (roundState.isSelected(w))
 	    		{
 	    			return(w.getWord());		
 	      		}
@@ -0,0 +1,124 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.RankingOrderBy;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Leaderboard Service
+ * Keeps the users ordered by score, correct guesses and best clues in memory (one RankIndex per order),
+ * so a page of the overall ranking and the rank of a user are found in logarithmic time instead of sorting
+ * the USER table on every request. The indexes are loaded from the database once and updated whenever
+ * the counters of a user change.
+ */
+@Service
+public class LeaderboardService {
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final UserRepository userRepository;
+    private final EnumMap<RankingOrderBy, RankIndex> indexes = new EnumMap<>(RankingOrderBy.class);
+    private boolean loaded = false;
+
+    @Autowired
+    public LeaderboardService(@Qualifier("userRepository") UserRepository userRepository) {
+        this.userRepository = userRepository;
+        indexes.put(RankingOrderBy.SCORE, new RankIndex());
+        indexes.put(RankingOrderBy.CORRECT_GUESSES, new RankIndex());
+        indexes.put(RankingOrderBy.BEST_CLUES, new RankIndex());
+    }
+
+    /**
+     * @return true if the ranking of the given order is served from memory (USERNAME is sorted by the database)
+     */
+    public boolean isIndexed(RankingOrderBy orderBy) {
+        return indexes.containsKey(orderBy);
+    }
+
+    /**
+     * Reads all users from the database, users that were updated before are kept as they are
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        List<User> users = userRepository.findAll();
+        for (User user : users) {
+            if (!indexes.get(RankingOrderBy.SCORE).contains(user.getId())) {
+                put(user);
+            }
+        }
+        loaded = true;
+        log.debug("Loaded {} users into the leaderboard", users.size());
+    }
+
+    /**
+     * Moves the user to the positions of its current counters
+     *
+     * @param user - a created or updated user
+     */
+    public synchronized void update(User user) {
+        if (user != null && user.getId() != null) {
+            put(user);
+        }
+    }
+
+    public synchronized void remove(Long userId) {
+        for (RankIndex index : indexes.values()) {
+            index.remove(userId);
+        }
+    }
+
+    /**
+     * @param orderBy - SCORE, CORRECT_GUESSES or BEST_CLUES
+     * @param offset - position of the first user, 0 is the best user
+     * @param limit - maximum number of users
+     * @return the ids of the users on the page, best user first
+     */
+    public synchronized List<Long> getPage(RankingOrderBy orderBy, int offset, int limit) {
+        load();
+        return getIndex(orderBy).getPage(offset, limit);
+    }
+
+    /**
+     * Users with the same value share a rank: the rank is one more than the number of better users
+     *
+     * @return the rank of the user (1 is the best) or null if the user is unknown
+     */
+    public synchronized Integer getRank(RankingOrderBy orderBy, Long userId) {
+        load();
+        RankIndex index = getIndex(orderBy);
+        Long value = index.getValue(userId);
+        return value == null ? null : index.countAbove(value) + 1;
+    }
+
+    public synchronized int size() {
+        load();
+        return indexes.get(RankingOrderBy.SCORE).size();
+    }
+
+    private RankIndex getIndex(RankingOrderBy orderBy) {
+        RankIndex index = indexes.get(orderBy);
+        if (index == null) {
+            throw new IllegalArgumentException("There is no leaderboard ordered by " + orderBy);
+        }
+        return index;
+    }
+
+    private void put(User user) {
+        indexes.get(RankingOrderBy.SCORE).put(user.getId(), user.getScore());
+        indexes.get(RankingOrderBy.CORRECT_GUESSES).put(user.getId(), user.getCorrectGuesses());
+        indexes.get(RankingOrderBy.BEST_CLUES).put(user.getId(), user.getBestClues());
+    }
+}
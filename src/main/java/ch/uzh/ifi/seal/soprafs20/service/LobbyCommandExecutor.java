@@ -0,0 +1,120 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.exceptions.ConflictException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Lobby Command Executor
+ * Every lobby has its own mailbox in which the game commands (join, ready, add clue, flag, guess, next round, ...)
+ * are processed one at a time in the order they arrived. Commands of different lobbies do not wait for each other.
+ * A command is executed on the thread that submitted it, so it keeps using the persistence context of its request.
+ * Submitting a command from within a command of the same lobby executes it directly.
+ */
+@Service
+public class LobbyCommandExecutor {
+
+    private final long timeout;
+
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LobbyCommandExecutor(@Value("${lobby.command.timeout:10000}") long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Executes the command as soon as all earlier commands of the lobby are processed
+     *
+     * @param lobbyId - the lobby the command belongs to
+     * @param command - the command to execute
+     * @return the result of the command
+     * @throws ConflictException - if the lobby is busy for longer than the configured timeout
+     */
+    public <T> T call(Long lobbyId, Supplier<T> command) {
+        Mailbox mailbox = enter(lobbyId);
+        try {
+            if (!mailbox.lock.tryLock(timeout, TimeUnit.MILLISECONDS)) {
+                throw new ConflictException("The lobby is busy. Please try again.");
+            }
+            try {
+                return command.get();
+            }
+            finally {
+                mailbox.lock.unlock();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("The command for the lobby was interrupted.");
+        }
+        finally {
+            leave(lobbyId);
+        }
+    }
+
+    /**
+     * Executes the command as soon as all earlier commands of the lobby are processed
+     *
+     * @param lobbyId - the lobby the command belongs to
+     * @param command - the command to execute
+     */
+    public void execute(Long lobbyId, Runnable command) {
+        call(lobbyId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes the command only if no other command of the lobby is being processed right now
+     *
+     * @return true if the command was executed, false if the lobby was busy
+     */
+    public boolean tryExecute(Long lobbyId, Runnable command) {
+        Mailbox mailbox = enter(lobbyId);
+        try {
+            if (!mailbox.lock.tryLock()) {
+                return false;
+            }
+            try {
+                command.run();
+                return true;
+            }
+            finally {
+                mailbox.lock.unlock();
+            }
+        }
+        finally {
+            leave(lobbyId);
+        }
+    }
+
+    private Mailbox enter(Long lobbyId) {
+        return mailboxes.compute(lobbyId, (id, mailbox) -> {
+            Mailbox entered = mailbox == null ? new Mailbox() : mailbox;
+            entered.users++;
+            return entered;
+        });
+    }
+
+    /**
+     * the mailbox of a lobby is removed as soon as no command uses or waits for it
+     */
+    private void leave(Long lobbyId) {
+        mailboxes.computeIfPresent(lobbyId, (id, mailbox) -> --mailbox.users == 0 ? null : mailbox);
+    }
+
+    private static class Mailbox {
+        // fair, so waiting commands are processed in the order they arrived
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int users = 0;
+    }
+}
@@ -0,0 +1,219 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyEventType;
+import ch.uzh.ifi.seal.soprafs20.entity.Clue;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyEventDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lobby Notification Service
+ * This class keeps track of the WebSocket sessions of every lobby and pushes the changes of a lobby
+ * (player status, added clues, guesses, new rounds) to them. Changes made within a transaction are
+ * pushed after the transaction has been committed. Nothing is serialized for lobbies without sessions,
+ * but every event increases the state version of the lobby (see LobbyVersionService).
+ */
+@Service
+public class LobbyNotificationService {
+
+    private final Logger log = LoggerFactory.getLogger(LobbyNotificationService.class);
+
+    private final ObjectMapper objectMapper;
+    private final LobbyVersionService lobbyVersionService;
+
+    // session -> id of the player it belongs to, by lobby
+    private final Map<Long, Map<WebSocketSession, Long>> sessionsByLobbyId = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LobbyNotificationService(ObjectMapper objectMapper, LobbyVersionService lobbyVersionService) {
+        this.objectMapper = objectMapper;
+        this.lobbyVersionService = lobbyVersionService;
+    }
+
+    /**
+     * Registers a session that receives all events of the lobby, until the player leaves the lobby.
+     * The session must be safe for concurrent sending.
+     */
+    public void subscribe(Long lobbyId, Long playerId, WebSocketSession session) {
+        sessionsByLobbyId.computeIfAbsent(lobbyId, id -> new ConcurrentHashMap<>()).put(session, playerId);
+    }
+
+    public void unsubscribe(Long lobbyId, WebSocketSession session) {
+        sessionsByLobbyId.computeIfPresent(lobbyId, (id, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * The player left the lobby, was kicked out or deleted: after the commit its sessions stop receiving
+     * the events of the lobby and are closed
+     */
+    public void playerRemoved(Long lobbyId, Long playerId) {
+        afterCommit(() -> {
+            Map<WebSocketSession, Long> sessions = sessionsByLobbyId.get(lobbyId);
+            if (sessions == null) {
+                return;
+            }
+            for (Map.Entry<WebSocketSession, Long> subscription : sessions.entrySet()) {
+                if (playerId.equals(subscription.getValue())) {
+                    WebSocketSession session = subscription.getKey();
+                    unsubscribe(lobbyId, session);
+                    close(session);
+                }
+            }
+        });
+    }
+
+    public boolean hasSubscribers(Long lobbyId) {
+        return lobbyId != null && sessionsByLobbyId.containsKey(lobbyId);
+    }
+
+    /**
+     * Players, their status or the status of the lobby changed
+     */
+    public void lobbyChanged(Lobby lobby) {
+        lobbyVersionService.changed(lobby.getId());
+        if (hasSubscribers(lobby.getId())) {
+            publish(lobby.getId(), createLobbyEvent(lobby));
+        }
+    }
+
+    /**
+     * A player added a clue. The clue itself is not sent, the guesser must not see it yet.
+     */
+    public void clueAdded(Lobby lobby, Clue clue) {
+        lobbyVersionService.changed(lobby.getId());
+        if (hasSubscribers(lobby.getId())) {
+            LobbyEventDTO event = new LobbyEventDTO(LobbyEventType.CLUE_ADDED, lobby.getId());
+            event.setPlayerId(clue.getPlayer() == null ? null : clue.getPlayer().getId());
+            publish(lobby.getId(), event);
+        }
+    }
+
+    /**
+     * The guesser made a guess, sends the result like GET /lobbies/{lobbyId}/game
+     */
+    public void guessMade(Lobby lobby, String mysteryWord) {
+        publishGame(lobby, LobbyEventType.GUESS_MADE, mysteryWord);
+    }
+
+    /**
+     * The next card is played
+     */
+    public void nextRound(Lobby lobby) {
+        publishGame(lobby, LobbyEventType.NEXT_ROUND, "");
+    }
+
+    /**
+     * The lobby was ended by its creator
+     */
+    public void lobbyDeleted(Lobby lobby) {
+        lobbyVersionService.remove(lobby.getId());
+        if (hasSubscribers(lobby.getId())) {
+            publish(lobby.getId(), new LobbyEventDTO(LobbyEventType.LOBBY_DELETED, lobby.getId()));
+        }
+    }
+
+    public LobbyEventDTO createLobbyEvent(Lobby lobby) {
+        LobbyEventDTO event = new LobbyEventDTO(LobbyEventType.LOBBY_CHANGED, lobby.getId());
+        event.setLobby(DTOMapper.INSTANCE.convertEntityToLobbyGetDTO(lobby));
+        return event;
+    }
+
+    /**
+     * Sends the event to a single session, e.g. as answer to a command
+     */
+    public void send(WebSocketSession session, LobbyEventDTO event) {
+        try {
+            send(session, new TextMessage(objectMapper.writeValueAsString(event)));
+        }
+        catch (JsonProcessingException e) {
+            log.error("Could not serialize event {}", event.getType(), e);
+        }
+    }
+
+    private void publishGame(Lobby lobby, LobbyEventType type, String mysteryWord) {
+        lobbyVersionService.changed(lobby.getId());
+        Game game = lobby.getGame();
+        if (game != null && hasSubscribers(lobby.getId())) {
+            LobbyEventDTO event = new LobbyEventDTO(type, lobby.getId());
+            event.setGame(DTOMapper.INSTANCE.convertEntityToGuessGETDTO(game.getActiveGuess(), Boolean.TRUE.equals(game.getLastGuessSuccess()),
+                    game.getLeftCards(), game.getWonCards(), game.getLostCards(), mysteryWord));
+            publish(lobby.getId(), event);
+        }
+    }
+
+    private void publish(Long lobbyId, LobbyEventDTO event) {
+        TextMessage message;
+        try {
+            // serialize now, the state may change until the message is sent
+            message = new TextMessage(objectMapper.writeValueAsString(event));
+        }
+        catch (JsonProcessingException e) {
+            log.error("Could not serialize event {} of Lobby {}", event.getType(), lobbyId, e);
+            return;
+        }
+        afterCommit(() -> broadcast(lobbyId, message));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+
+    private void broadcast(Long lobbyId, TextMessage message) {
+        Map<WebSocketSession, Long> sessions = sessionsByLobbyId.get(lobbyId);
+        if (sessions != null) {
+            for (WebSocketSession session : sessions.keySet()) {
+                send(session, message);
+            }
+        }
+    }
+
+    private void close(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("You are not in the lobby anymore"));
+        }
+        catch (IOException | IllegalStateException e) {
+            log.info("Could not close WebSocket session {}", session.getId(), e);
+        }
+    }
+
+    private void send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        }
+        catch (IOException | IllegalStateException e) {
+            log.info("Could not send message to WebSocket session {}", session.getId(), e);
+        }
+    }
+}
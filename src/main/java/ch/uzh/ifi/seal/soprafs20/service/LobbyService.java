@@ -7,10 +7,14 @@ import ch.uzh.ifi.seal.soprafs20.exceptions.ForbiddenException;
 import ch.uzh.ifi.seal.soprafs20.exceptions.NotFoundException;
 import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
 import ch.uzh.ifi.seal.soprafs20.repository.LobbyRepository;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyOverviewGetDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyPageGetDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +28,7 @@ import java.util.stream.Collectors;
 public class LobbyService
 {
     private final Logger log = LoggerFactory.getLogger(LobbyService.class);
+    private static final int MAX_PAGE_SIZE = 100;
     private final LobbyRepository lobbyRepository;
 
     private final PlayerService playerService;
@@ -31,19 +36,29 @@ public class LobbyService
     private final DeckService deckService;
     private final CardService cardService;
     private final GameService gameService;
-    private final MysteryWordService mysteryWordService;
+    private final LobbyStateService lobbyStateService;
+    private final LobbyNotificationService lobbyNotificationService;
+    private final TokenCacheService tokenCacheService;
+    private final DeckPoolService deckPoolService;
+    private final ClueService clueService;
+    private final DefinitionService definitionService;
 
     private Random rand = new Random();
 
     @Autowired
-    public LobbyService(@Qualifier("lobbyRepository") LobbyRepository lobbyRepository, UserService userService, PlayerService playerService, DeckService deckService, CardService cardService, GameService gameService, MysteryWordService mysteryWordService) {
+    public LobbyService(@Qualifier("lobbyRepository") LobbyRepository lobbyRepository, UserService userService, PlayerService playerService, DeckService deckService, CardService cardService, GameService gameService, LobbyStateService lobbyStateService, LobbyNotificationService lobbyNotificationService, TokenCacheService tokenCacheService, DeckPoolService deckPoolService, ClueService clueService, DefinitionService definitionService) {
         this.lobbyRepository = lobbyRepository;
         this.playerService = playerService;
         this.userService = userService;
         this.deckService = deckService;
         this.cardService = cardService;
         this.gameService = gameService;
-        this.mysteryWordService = mysteryWordService;
+        this.lobbyStateService = lobbyStateService;
+        this.lobbyNotificationService = lobbyNotificationService;
+        this.tokenCacheService = tokenCacheService;
+        this.deckPoolService = deckPoolService;
+        this.clueService = clueService;
+        this.definitionService = definitionService;
     }
     /**
      * This method will create a lobby in the lobby repository
@@ -62,8 +77,17 @@ public class LobbyService
         //TODO: function to generate a Deck Object and set it to lobbyInput
 
         // saves the given entity but data is only persisted in the database once flush() is called
-        lobbyInput = lobbyRepository.save(lobbyInput);
-        lobbyRepository.flush();
+        try {
+            lobbyInput = lobbyRepository.save(lobbyInput);
+            lobbyRepository.flush();
+        }
+        catch (DataIntegrityViolationException e) {
+            // the same lobby name was taken concurrently, caught by the unique index
+            throw lobbyNameConflict();
+        }
+
+        // decks for this lobby are prepared in the background until the game starts
+        deckPoolService.demand(lobbyInput.getLanguage(), lobbyInput.getNumberOfCards());
 
         log.debug("Created Information for Lobby: {}", lobbyInput);
         return lobbyInput;
@@ -81,20 +105,53 @@ public class LobbyService
     }
 
     /**
-     * This method will get a specific Lobby by ID from the Lobby Repository
+     * This method will get one page of the lobby browser, ordered by lobby name.
+     * The next page starts after the lobby name returned as cursor, so the cost of a page
+     * does not depend on how many lobbies come before it.
+     *
+     * @param after - cursor of the previous page or null for the first page
+     * @param size - number of lobbies per page (1 - 100)
+     * @return the lobbies of the page that match all given filters (null matches everything)
+     */
+    public LobbyPageGetDTO getLobbyPage(String after, int size, LobbyStatus lobbyStatus, Language language, GameModeStatus gameMode)
+    {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // one more than requested tells whether there is a next page
+        List<LobbyOverviewGetDTO> lobbies = lobbyRepository.findOverviewPage(
+                after == null ? null : after.toLowerCase(Locale.ROOT), lobbyStatus, language, gameMode,
+                PageRequest.of(0, pageSize + 1));
+        String next = null;
+        if (lobbies.size() > pageSize) {
+            lobbies = new ArrayList<>(lobbies.subList(0, pageSize));
+            next = lobbies.get(pageSize - 1).getLobbyName().toLowerCase(Locale.ROOT);
+        }
+        return new LobbyPageGetDTO(lobbies, next);
+    }
+
+    /**
+     * This method will get a specific Lobby by ID.
+     * Running lobbies are served from memory, all others from the Lobby Repository
      *
      * @return The requested Lobby
      * @see Lobby
      */
     public Lobby getLobbyById(Long id)
     {
-        if (lobbyRepository.findByLobbyId(id) != null) {
-            return lobbyRepository.findByLobbyId(id);
+        Lobby lobby = lobbyStateService.getLobby(id);
+        if (lobby == null) {
+            lobby = lobbyRepository.findByLobbyId(id);
+        }
+        if (lobby != null) {
+            return lobby;
         }
         else  { throw new NotFoundException("The requested Lobby does not exist."); }
     }
 
     public boolean isUsernameInLobby(String username, Lobby lobby) {
+        Long lobbyId = playerService.getLobbyIdOfUsername(username);
+        if (lobbyId != null) {
+            return lobbyId.equals(lobby.getId());
+        }
         for (Player player : lobby.getPlayers()) {
             if (username.equals(player.getUsername())) {
                 return true;
@@ -113,6 +170,7 @@ public class LobbyService
                 lobby.addPlayer(playerToAdd);
                 lobby = lobbyRepository.save(lobby);
                 lobbyRepository.flush();
+                lobbyNotificationService.lobbyChanged(lobby);
                 return lobby;
     }
 
@@ -128,7 +186,7 @@ public class LobbyService
     public void checkIfLobbyExists(Lobby lobbyToBeCreated) {
         Lobby lobbyByCreator = lobbyRepository.findByCreator(lobbyToBeCreated.getCreator());
 
-        if (lobbyToBeCreated.getLobbyName().isBlank() || lobbyToBeCreated.getLobbyName().isEmpty()) {
+        if (lobbyToBeCreated.getLobbyName() == null || lobbyToBeCreated.getLobbyName().isBlank()) {
             throw new ConflictException("The Lobby name can't be empty");
         }
         
@@ -138,18 +196,17 @@ public class LobbyService
                     new ConflictException("The creator of the lobby is already host of another lobby." +
                             " Therefore, the lobby could not be created!"));
         }
-        else {
-            List<Lobby> allLobbiesInDB = lobbyRepository.findAll();
-            for (Lobby lobby : allLobbiesInDB) {
-                if (lobby.getLobbyName().toLowerCase().equals(lobbyToBeCreated.getLobbyName().toLowerCase())) {
-                    throw new ResponseStatusException(HttpStatus.CONFLICT,
-                            "Lobby Name Conflict",
-                            new ConflictException("The lobby name provided is not unique. Therefore, the lobby could not be created!"));
-                }
-            }
+        else if (lobbyRepository.existsByNormalizedLobbyName(lobbyToBeCreated.getLobbyName().toLowerCase(Locale.ROOT))) {
+            throw lobbyNameConflict();
         }
     }
 
+    private static ResponseStatusException lobbyNameConflict() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "Lobby Name Conflict",
+                new ConflictException("The lobby name provided is not unique. Therefore, the lobby could not be created!"));
+    }
+
     /**
      *
      * Verify whether the user is lobby creator
@@ -192,10 +249,24 @@ public class LobbyService
      * @return true if the user is in this Lobby
      * */
     public Boolean isUserInLobby(User user, long lobbyId) {
-        Lobby lobby = this.getLobbyById(lobbyId);
-        Player player = playerService.getPlayerById(user.getId());
-        return lobby.getPlayers().contains(player);
-
+        // the membership was already checked for this token (removed from the cache when the player leaves)
+        if (Long.valueOf(lobbyId).equals(tokenCacheService.getLobbyId(user.getToken()))) {
+            return true;
+        }
+        Long lobbyIdOfPlayer = playerService.getLobbyIdOfPlayer(user.getId());
+        boolean isInLobby;
+        if (lobbyIdOfPlayer != null) {
+            isInLobby = lobbyIdOfPlayer == lobbyId;
+        }
+        else {
+            Lobby lobby = this.getLobbyById(lobbyId);
+            Player player = playerService.getPlayerById(user.getId());
+            isInLobby = lobby.getPlayers().contains(player);
+        }
+        if (isInLobby) {
+            tokenCacheService.putLobbyId(user.getToken(), lobbyId);
+        }
+        return isInLobby;
     }
 
     /**
@@ -224,6 +295,8 @@ public class LobbyService
      */
     public void removePlayerFromLobby(Long lobbyId, Long playerId) {
         //todo fix
+        // work on the persisted state while the players of the lobby change
+        lobbyStateService.release(lobbyId);
         Player player = playerService.getPlayerById(playerId);
         Lobby lobby = this.getLobbyById(lobbyId);
         if(lobby.getLobbyStatus()==LobbyStatus.RUNNING)
@@ -287,8 +360,13 @@ public class LobbyService
 	        lobby.leave(player);
 	        lobby = lobbyRepository.save(lobby);
 	        playerService.deletePlayer(player);
-	        this.setNewPlayersStatus(lobby.getPlayers(), PlayerStatus.PLAYER_LEFT, PlayerStatus.PLAYER_LEFT);
+	        // the removed player must not receive the state of the lobby anymore
+	        lobbyNotificationService.playerRemoved(lobbyId, playerId);
+	        this.setNewPlayersStatus(lobby, PlayerStatus.PLAYER_LEFT, PlayerStatus.PLAYER_LEFT);
 	        lobbyRepository.flush();
+	        if (lobby.getLobbyStatus() == LobbyStatus.RUNNING) {
+	            lobbyStateService.track(lobby);
+	        }
 	        log.info("remove User");
         }
     }
@@ -303,6 +381,7 @@ public class LobbyService
      */
     public boolean endLobby(Long lobbyId, User creator ){
         boolean result = false;
+        lobbyStateService.release(lobbyId);
         if(isUserLobbyCreator(lobbyId, creator)) {
             Lobby lobby = lobbyRepository.findByLobbyId(lobbyId);
             Set<Player> playersSet = lobby.getPlayers();
@@ -313,6 +392,7 @@ public class LobbyService
             }
             lobbyRepository.delete(lobby);
             playerService.deletePlayers(playersSet);
+            lobbyNotificationService.lobbyDeleted(lobby);
             result = true;
         }
         return result;
@@ -342,10 +422,13 @@ public class LobbyService
     public boolean startGame(Long lobbyId){
         try {
             Lobby lobbyToBeStarted = lobbyRepository.findByLobbyId(lobbyId);
-            lobbyToBeStarted.setDeck(deckService.constructDeckForLanguage(lobbyToBeStarted.getLanguage(), lobbyToBeStarted.getNumberOfCards()));
+            lobbyToBeStarted.setDeck(deckPoolService.claimDeck(lobbyToBeStarted.getLanguage(), lobbyToBeStarted.getNumberOfCards()));
             lobbyToBeStarted.setGame(gameService.createNewGame(lobbyToBeStarted));
             lobbyToBeStarted.setLobbyStatus(LobbyStatus.RUNNING);
-            this.setNewPlayersStatus(lobbyToBeStarted.getPlayers(),PlayerStatus.PICKING_NUMBER, PlayerStatus.WAITING_FOR_NUMBER);
+            this.setNewPlayersStatus(lobbyToBeStarted, PlayerStatus.PICKING_NUMBER, PlayerStatus.WAITING_FOR_NUMBER);
+            // from now on the state of the running game is held in memory
+            lobbyStateService.track(lobbyToBeStarted);
+            this.prefetchDefinitions(lobbyToBeStarted);
             return true;
         }
         catch (Exception e) {return false;}
@@ -353,10 +436,12 @@ public class LobbyService
 
     /**
      * Sets the status of ALL players according to the input params!
+     * @param lobby lobby whose players change their status
      * @param guesserStatus to what should the status of the player that guesses change? PlayerStatus Enum
      * @param cluesStatus to what should the status of the player that writes clues change? PlayerStatus Enum
      */
-    public void setNewPlayersStatus(Set<Player> players, PlayerStatus guesserStatus, PlayerStatus cluesStatus) {
+    public void setNewPlayersStatus(Lobby lobby, PlayerStatus guesserStatus, PlayerStatus cluesStatus) {
+        Set<Player> players = lobby.getPlayers();
         for (Player player : players) {
             // set Roles of Players
             if (player.getRole() == PlayerRole.GUESSER) {
@@ -366,6 +451,16 @@ public class LobbyService
             }
         }
         playerService.saveAll(players);
+        lobbyNotificationService.lobbyChanged(lobby);
+    }
+
+    /**
+     * Saves the players of the lobby after some of them changed their status and publishes the change
+     * @param lobby lobby whose players changed
+     */
+    public void playersChanged(Lobby lobby) {
+        playerService.saveAll(lobby.getPlayers());
+        lobbyNotificationService.lobbyChanged(lobby);
     }
 
     /**
@@ -415,7 +510,8 @@ public class LobbyService
      * If all other players with already set their status to the new one, update the Guesser to his next status
      */
 
-    public void setNewStatusToPlayer(Set<Player> players, Player thisPlayer, PlayerStatus guesserStatus, PlayerStatus cluesStatus) {
+    public void setNewStatusToPlayer(Lobby lobby, Player thisPlayer, PlayerStatus guesserStatus, PlayerStatus cluesStatus) {
+        Set<Player> players = lobby.getPlayers();
         // change status of individual player (thisPlayer)
         thisPlayer.setStatus(cluesStatus);
 
@@ -440,7 +536,8 @@ public class LobbyService
                 }
             }
         }
-
+        playerService.saveAll(players);
+        lobbyNotificationService.lobbyChanged(lobby);
     }
 
     /**
@@ -461,6 +558,7 @@ public class LobbyService
      */
     public Lobby stopGame(Long lobbyId, Player player) {
         LobbyStatus lobbyStatus = LobbyStatus.RUNNING;
+        lobbyStateService.release(lobbyId);
         Lobby lobby = getLobbyById(lobbyId);
         Set<Player> players = lobby.getPlayers();
         int numberOfPlayers = players.size();
@@ -505,15 +603,8 @@ public class LobbyService
         if(deck == null) {
             throw new SopraServiceException("Lobby has no Deck assigned!");
         }
-        List<Card> cards = deck.getCards();
-
-        if(!cards.isEmpty()) {
-            Card card = cards.get(0);
-            //cards.remove(0);
-            //card.setDrawn(true);
-            deck.setActiveCard(card);
-            deckService.save(deck);
-            //cardService.save(card);
+        Card card = deck.getActiveCard();
+        if(card != null) {
             return card.getMysteryWords();
         } else {
             throw new SopraServiceException("No more cards to play!!");
@@ -529,24 +620,15 @@ public class LobbyService
         if(deck == null) {
             throw new SopraServiceException("Lobby has no Deck assigned!");
         }
-        this.setNewPlayersStatus(lobby.getPlayers(),PlayerStatus.WAITING_TO_ACCEPT_MYSTERY_WORD, PlayerStatus.ACCEPTING_MYSTERY_WORD);
-        Card activeCard = deck.getActiveCard();
-        if(activeCard != null) {
-            for(MysteryWord word : activeCard.getMysteryWords()) {
-                if (word.getNumber() == selectedNumber) {
-                    // set new active Word to IN_USE
-                    word.setStatus(MysteryWordStatus.IN_USE);
-                    word.setTimedrawn(new Date());
-                } else {
-                    // set all other cards to NOT_USED
-                    word.setStatus(MysteryWordStatus.NOT_USED);
-                }
-                // save word to Database
-                mysteryWordService.save(word);
-            }
+        this.setNewPlayersStatus(lobby, PlayerStatus.WAITING_TO_ACCEPT_MYSTERY_WORD, PlayerStatus.ACCEPTING_MYSTERY_WORD);
+        if(deck.getActiveCard() != null) {
+            // the selected word is kept per lobby, the words of the card are shared with other lobbies
+            lobby.getGame().getRoundState().select(selectedNumber, new Date());
+            lobbyStateService.markDirty(lobby);
         }
     }
 
+
     /**
      * Function to accept or decline the mystery word that was chosen by the active player
      */
@@ -567,7 +649,14 @@ public class LobbyService
 
             // if all players are waiting to accept the mystery word, then change status to writing clues and waiting for clues
             if (Boolean.TRUE.equals(this.allPlayerHaveStatus(lobby.getPlayers(), PlayerStatus.WAITING_TO_ACCEPT_MYSTERY_WORD))) {
-                this.setNewPlayersStatus(lobby.getPlayers(), PlayerStatus.WAITING_FOR_CLUES, PlayerStatus.WRITING_CLUES);
+                this.setNewPlayersStatus(lobby, PlayerStatus.WAITING_FOR_CLUES, PlayerStatus.WRITING_CLUES);
+                // the bots start on their clues while the human players are writing theirs
+                if (lobby.getGameMode() == GameModeStatus.BOTS) {
+                    clueService.precomputeBotClues(lobby);
+                }
+            }
+            else {
+                this.playersChanged(lobby);
             }
 
 
@@ -577,18 +666,13 @@ public class LobbyService
             if(deck == null) {
                 throw new SopraServiceException("Lobby has no Deck assigned!");
             }
-            Card activeCard = deck.getActiveCard();
-            if(activeCard != null) {
-                for(MysteryWord word : activeCard.getMysteryWords()) {
-                    if(word.getStatus() == MysteryWordStatus.IN_USE) {
-                        word.setStatus(MysteryWordStatus.NOT_USED);
-                        mysteryWordService.save(word);
-                    }
-                }
+            if(deck.getActiveCard() != null) {
+                lobby.getGame().getRoundState().clear();
+                lobbyStateService.markDirty(lobby);
             }
 
             // change status of ALL players back to choosing a number.
-            this.setNewPlayersStatus(lobby.getPlayers(), PlayerStatus.PICKING_NUMBER, PlayerStatus.WAITING_FOR_NUMBER);
+            this.setNewPlayersStatus(lobby, PlayerStatus.PICKING_NUMBER, PlayerStatus.WAITING_FOR_NUMBER);
         }
     }
 
@@ -607,20 +691,34 @@ public class LobbyService
         return playersWithThatStatus == players.size();
     }
 
+    /**
+     * @param user - the user to look for
+     * @return the id of the lobby the user plays in, or null if the user is not a player of any lobby
+     */
+    public Long getLobbyIdOfUser(User user) {
+        if (!Boolean.TRUE.equals(playerService.doesPlayerWithTokenExist(user.getToken()))) {
+            return null;
+        }
+        Player player = playerService.getPlayerByToken(user.getToken());
+        Long runningLobbyId = lobbyStateService.getLobbyIdOfPlayer(player.getId());
+        return runningLobbyId != null ? runningLobbyId : playerService.getLobbyIdOfPlayer(player.getId());
+    }
+
+    /**
+     * Removes the player of the user from its lobby and deletes the player.
+     * Must run as a command of the player's lobby (see getLobbyIdOfUser).
+     */
     public void removeFromLobbyAndDeletePlayer(User toDeleteUser){
         if (Boolean.TRUE.equals(playerService.doesPlayerWithTokenExist(toDeleteUser.getToken()))) {
             Player player = playerService.getPlayerByToken(toDeleteUser.getToken());
-            Lobby lobbyToRemovePlayer = null;
-            List<Lobby> lobbies= this.getLobbies();
-            for(Lobby lobby:lobbies){
-                Set<Player> players = lobby.getPlayers();
-                if(players.contains(player)){
-                    lobbyToRemovePlayer = lobby;
-                    break;
-                }
+            Long runningLobbyId = lobbyStateService.getLobbyIdOfPlayer(player.getId());
+            if (runningLobbyId != null) {
+                lobbyStateService.release(runningLobbyId);
+                player = playerService.getPlayerByToken(toDeleteUser.getToken());
             }
-            if(lobbyToRemovePlayer != null) {
-                this.removePlayerFromLobby(lobbyToRemovePlayer.getId(), player.getId());
+            Long lobbyIdOfPlayer = playerService.getLobbyIdOfPlayer(player.getId());
+            if(lobbyIdOfPlayer != null) {
+                this.removePlayerFromLobby(lobbyIdOfPlayer, player.getId());
                 playerService.deletePlayer(player);
             }
         }
@@ -629,38 +727,46 @@ public class LobbyService
     public void nextRound(long lobbyId, String token){
         Lobby lobby = this.getLobbyById(lobbyId);
         Game game = lobby.getGame();
-        List<MysteryWord> mysteryWords= lobby.getDeck().getActiveCard().getMysteryWords();
-        for(MysteryWord mysteryWord:mysteryWords){
-            mysteryWord.setStatus(MysteryWordStatus.NOT_USED);
-        }
+        game.getRoundState().clear();
         List<Clue> clues = game.getClues();
         for(Clue clue:clues){
             clue.setClueStatus(ClueStatus.INACTIVE);
         }
-        Deck deck = lobby.getDeck();
-        List<Card> cards = deck.getCards();
-        cards.remove(0);
-        //cardService.delete(cardToRemove);
         game.setComparingGuessCounter(0);
         // check if any cards are left to play
-        Card card;
-        if (cards.isEmpty())
+        if (!deckService.advance(lobby.getDeck()))
             this.endGame(lobby);
         else {
-            card = cards.get(0);
-
-            deck.setActiveCard(card);
-            deckService.save(deck);
             game.setActiveGuess(""); // todo check if needed
             this.setNewRoleOfPlayers(lobby);
-            this.setNewPlayersStatus(lobby.getPlayers(), PlayerStatus.PICKING_NUMBER, PlayerStatus.WAITING_FOR_NUMBER);
+            this.setNewPlayersStatus(lobby, PlayerStatus.PICKING_NUMBER, PlayerStatus.WAITING_FOR_NUMBER);
             Set<Player> allPlayers = lobby.getPlayers();
             for (Player player : allPlayers) {
                 if (!player.getPlayerType().equals(PlayerType.HUMAN)) {
                     player.setStatus(PlayerStatus.WAITING_FOR_NUMBER);
                 }
             }
+            lobbyStateService.markDirty(lobby);
+            lobbyNotificationService.nextRound(lobby);
+            this.prefetchDefinitions(lobby);
+        }
+    }
+
+    /**
+     * Looks up the definitions of all words on the active card in the background,
+     * so the players get them from the local cache during the round
+     * @param lobby - lobby whose round starts
+     */
+    private void prefetchDefinitions(Lobby lobby) {
+        // the dictionary only defines English words
+        if (lobby.getLanguage() != Language.EN || lobby.getDeck() == null || lobby.getDeck().getActiveCard() == null) {
+            return;
+        }
+        List<String> words = new ArrayList<>();
+        for (MysteryWord mysteryWord : lobby.getDeck().getActiveCard().getMysteryWords()) {
+            words.add(mysteryWord.getWord());
         }
+        definitionService.prefetch(words);
     }
 
     /**
@@ -734,9 +840,14 @@ public class LobbyService
             player.setStatus(PlayerStatus.FINISHED);
         }
         lobby.setLobbyStatus(LobbyStatus.STOPPED);
+        lobbyNotificationService.lobbyChanged(lobby);
+        // the game is over, persist its final state
+        lobbyStateService.markDirty(lobby);
+        lobbyStateService.release(lobby.getId());
     }
 
     public void restartGame(long lobbyId, String token){
+    	lobbyStateService.release(lobbyId);
     	try
     	{
 	    	Lobby lobby = lobbyRepository.findByLobbyId(lobbyId);
@@ -0,0 +1,240 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
+import ch.uzh.ifi.seal.soprafs20.entity.Player;
+import ch.uzh.ifi.seal.soprafs20.repository.ClueRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.GameRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.LobbyRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lobby State Service
+ * This class holds the state of all running games in memory. While a game is running, the lobby
+ * (with its players, deck, game and clues) kept here is the authoritative state: game actions only
+ * modify these objects and mark the lobby as dirty. Dirty lobbies are written to the repositories in
+ * the background (write-behind) and whenever a lobby is released, e.g. when the game ends or a player leaves.
+ * Changes of the in-memory state must be made within a command of the LobbyCommandExecutor.
+ */
+@Service
+@Transactional
+public class LobbyStateService {
+
+    private final Logger log = LoggerFactory.getLogger(LobbyStateService.class);
+
+    private final LobbyRepository lobbyRepository;
+    private final GameRepository gameRepository;
+    private final ClueRepository clueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LobbyCommandExecutor lobbyCommandExecutor;
+    private final LobbyVersionService lobbyVersionService;
+
+    private final Map<Long, Lobby> runningLobbies = new ConcurrentHashMap<>();
+    private final Map<Long, Player> playersById = new ConcurrentHashMap<>();
+    private final Map<String, Player> playersByToken = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lobbyIdsByPlayerId = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyLobbies = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public LobbyStateService(@Qualifier("lobbyRepository") LobbyRepository lobbyRepository, @Qualifier("gameRepository") GameRepository gameRepository, @Qualifier("clueRepository") ClueRepository clueRepository, PlatformTransactionManager transactionManager, LobbyCommandExecutor lobbyCommandExecutor, LobbyVersionService lobbyVersionService) {
+        this.lobbyRepository = lobbyRepository;
+        this.gameRepository = gameRepository;
+        this.clueRepository = clueRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lobbyCommandExecutor = lobbyCommandExecutor;
+        this.lobbyVersionService = lobbyVersionService;
+    }
+
+    /**
+     * Keeps the given (running) lobby in memory. All lazy associations that are needed during the game
+     * are loaded now, so the lobby can be used after the current session is closed.
+     *
+     * @param lobby - the lobby whose game has been started
+     */
+    public void track(Lobby lobby) {
+        if (lobby.getDeck() != null) {
+            Hibernate.initialize(lobby.getDeck().getCards());
+        }
+        if (lobby.getGame() != null) {
+            Hibernate.initialize(lobby.getGame().getClues());
+        }
+        for (Player player : lobby.getPlayers()) {
+            Hibernate.initialize(player.getClues());
+        }
+        Lobby previous = runningLobbies.put(lobby.getId(), lobby);
+        if (previous != null) {
+            unindexPlayers(previous);
+        }
+        for (Player player : lobby.getPlayers()) {
+            playersById.put(player.getId(), player);
+            playersByToken.put(player.getToken(), player);
+            lobbyIdsByPlayerId.put(player.getId(), lobby.getId());
+        }
+        log.debug("Tracking state of Lobby {}", lobby.getId());
+    }
+
+    /**
+     * @return the in-memory state of the lobby, or null if the lobby is not running
+     */
+    public Lobby getLobby(Long lobbyId) {
+        return lobbyId == null ? null : runningLobbies.get(lobbyId);
+    }
+
+    /**
+     * @return true if the given lobby object is the in-memory state of a running lobby
+     */
+    public boolean isTracked(Lobby lobby) {
+        return lobby != null && lobby.getId() != null && runningLobbies.get(lobby.getId()) == lobby;
+    }
+
+    /**
+     * @return the in-memory player with the given id, or null if the player is not in a running lobby
+     */
+    public Player getPlayerById(Long playerId) {
+        return playerId == null ? null : playersById.get(playerId);
+    }
+
+    /**
+     * @return the in-memory player with the given token, or null if the player is not in a running lobby
+     */
+    public Player getPlayerByToken(String token) {
+        return token == null ? null : playersByToken.get(token);
+    }
+
+    /**
+     * Gives the in-memory player a new token, it is persisted by the next write-behind run
+     *
+     * @return true if the player is in a running lobby, false if the caller has to change the token itself
+     */
+    public boolean updateToken(Long playerId, String token) {
+        Player player = getPlayerById(playerId);
+        if (player == null) {
+            return false;
+        }
+        playersByToken.remove(player.getToken(), player);
+        player.setToken(token);
+        playersByToken.put(token, player);
+        markDirty(getLobby(getLobbyIdOfPlayer(playerId)));
+        return true;
+    }
+
+    /**
+     * @return the id of the running lobby the player is part of, or null if there is none
+     */
+    public Long getLobbyIdOfPlayer(Long playerId) {
+        return playerId == null ? null : lobbyIdsByPlayerId.get(playerId);
+    }
+
+    /**
+     * Marks the in-memory state of the lobby as modified, so it is persisted by the next write-behind run.
+     *
+     * @param lobby - the modified lobby
+     * @return true if the lobby is held in memory, false if the caller has to persist the changes itself
+     */
+    public boolean markDirty(Lobby lobby) {
+        if (!isTracked(lobby)) {
+            return false;
+        }
+        dirtyLobbies.add(lobby.getId());
+        lobbyVersionService.changed(lobby.getId());
+        return true;
+    }
+
+    /**
+     * Marks the lobby of the given players as modified.
+     *
+     * @param players - the modified players
+     * @return true if the players are held in memory, false if the caller has to persist the changes itself
+     */
+    public boolean markDirty(Collection<Player> players) {
+        for (Player player : players) {
+            if (player.getId() != null && playersById.get(player.getId()) == player) {
+                return markDirty(getLobby(getLobbyIdOfPlayer(player.getId())));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes pending changes of the lobby and removes it from memory. Must be called before the lobby
+     * is changed structurally (players leave, game is stopped or deleted); afterwards the repositories
+     * hold the authoritative state again.
+     *
+     * @param lobbyId - the lobby to release
+     */
+    public void release(Long lobbyId) {
+        if (getLobby(lobbyId) == null) {
+            return;
+        }
+        lobbyCommandExecutor.execute(lobbyId, () -> {
+            Lobby lobby = runningLobbies.remove(lobbyId);
+            if (lobby != null) {
+                unindexPlayers(lobby);
+                if (dirtyLobbies.remove(lobbyId)) {
+                    write(lobby);
+                }
+                log.debug("Released state of Lobby {}", lobbyId);
+            }
+        });
+    }
+
+    /**
+     * Write-behind: persists all lobbies that were modified since the last run,
+     * each lobby in its own transaction. Lobbies that are processing a command
+     * right now are skipped and written in the next run, so are lobbies whose
+     * write failed.
+     */
+    @Scheduled(fixedDelayString = "${lobby.state.flush-interval:500}")
+    public void flushDirtyLobbies() {
+        for (Long lobbyId : new ArrayList<>(dirtyLobbies)) {
+            lobbyCommandExecutor.tryExecute(lobbyId, () -> {
+                Lobby lobby = runningLobbies.get(lobbyId);
+                if (dirtyLobbies.remove(lobbyId) && lobby != null) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> write(lobby));
+                    }
+                    catch (RuntimeException e) {
+                        log.error("Could not persist state of Lobby {}", lobbyId, e);
+                        // retried by the next run or by release()
+                        dirtyLobbies.add(lobbyId);
+                    }
+                }
+            });
+        }
+    }
+
+    private void write(Lobby lobby) {
+        Game game = lobby.getGame();
+        if (game != null) {
+            clueRepository.saveAll(game.getClues());
+            gameRepository.save(game);
+        }
+        // players are cascaded
+        lobbyRepository.save(lobby);
+    }
+
+    private void unindexPlayers(Lobby lobby) {
+        for (Player player : lobby.getPlayers()) {
+            playersById.remove(player.getId(), player);
+            playersByToken.remove(player.getToken(), player);
+            lobbyIdsByPlayerId.remove(player.getId(), lobby.getId());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lobby Version Service
+ * Every lobby carries a state version that is increased with each change of the lobby
+ * (every event of the LobbyNotificationService and every change of a running lobby).
+ * The read endpoints of the LobbyController use it as ETag. Per version the service remembers which readers
+ * (resource and token) already received it, so a poll of an unchanged lobby is answered with 304 Not Modified
+ * without checking the token or loading the lobby again.
+ */
+@Service
+public class LobbyVersionService {
+
+    // ETags of an earlier run of the server must never match
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Map<Long, LobbyVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * @return the ETag of the current state of the lobby
+     */
+    public String getETag(Long lobbyId) {
+        LobbyVersion version = versions.get(lobbyId);
+        return version == null ? createETag(lobbyId, 0) : version.eTag;
+    }
+
+    /**
+     * @return true if the reader already received the state with this ETag and it is still the current one
+     */
+    public boolean wasServed(Long lobbyId, String eTag, String reader) {
+        LobbyVersion version = versions.get(lobbyId);
+        return version != null && version.eTag.equals(eTag) && version.readers.contains(reader);
+    }
+
+    /**
+     * Remembers that the reader (after checking its access rights) received the state with this ETag
+     */
+    public void served(Long lobbyId, String eTag, String reader) {
+        LobbyVersion version = versions.computeIfAbsent(lobbyId, id -> new LobbyVersion(0, createETag(id, 0)));
+        // the lobby changed in the meantime, the reader has to come back anyway
+        if (version.eTag.equals(eTag)) {
+            version.readers.add(reader);
+        }
+    }
+
+    /**
+     * The lobby changed. Within a transaction the version is increased after the commit,
+     * so a reader never gets the new ETag together with the old state.
+     */
+    public void changed(Long lobbyId) {
+        if (lobbyId != null) {
+            afterCommit(() -> versions.compute(lobbyId, (id, version) -> {
+                long number = version == null ? 1 : version.number + 1;
+                return new LobbyVersion(number, createETag(id, number));
+            }));
+        }
+    }
+
+    /**
+     * The lobby was deleted
+     */
+    public void remove(Long lobbyId) {
+        if (lobbyId != null) {
+            afterCommit(() -> versions.remove(lobbyId));
+        }
+    }
+
+    private String createETag(Long lobbyId, long number) {
+        return lobbyId + "-" + epoch + "-" + number;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+
+    private static final class LobbyVersion {
+        private final long number;
+        private final String eTag;
+        private final Set<String> readers = ConcurrentHashMap.newKeySet();
+
+        private LobbyVersion(long number, String eTag) {
+            this.number = number;
+            this.eTag = eTag;
+        }
+    }
+}
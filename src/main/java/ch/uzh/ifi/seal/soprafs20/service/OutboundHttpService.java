@@ -0,0 +1,317 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Outbound Http Service
+ * The one client for calls to external APIs. All calls share one HttpClient (and its pool of connections),
+ * run on a bounded pool of threads (bulkhead) and are given up after a deadline, so a slow API never holds
+ * a request thread for longer than the deadline. Every external API (upstream) has a circuit breaker:
+ * after a number of failures (no answer in time, a server error, 429 or 403) in a row the upstream is not called anymore for some time and the fallback
+ * of the caller is returned right away. Counters of the calls are available through getMetrics() and are logged
+ * periodically (outbound.metrics.log-interval) while external APIs are called.
+ */
+@Service
+public class OutboundHttpService {
+
+    private final Logger log = LoggerFactory.getLogger(OutboundHttpService.class);
+
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor bulkhead;
+    private final long deadline;
+    private final int failureThreshold;
+    private final long openDuration;
+    private final LongSupplier clock;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    // calls, rejected and short-circuited calls when the metrics were logged the last time
+    private long loggedAttempts = 0;
+
+    @Autowired
+    public OutboundHttpService(@Value("${outbound.connect-timeout:2000}") long connectTimeout,
+                               @Value("${outbound.deadline:3000}") long deadline,
+                               @Value("${outbound.bulkhead.size:8}") int bulkheadSize,
+                               @Value("${outbound.bulkhead.queue:16}") int bulkheadQueue,
+                               @Value("${outbound.circuit.failure-threshold:5}") int failureThreshold,
+                               @Value("${outbound.circuit.open-duration:30000}") long openDuration) {
+        this(connectTimeout, deadline, bulkheadSize, bulkheadQueue, failureThreshold, openDuration, System::currentTimeMillis);
+    }
+
+    OutboundHttpService(long connectTimeout, long deadline, int bulkheadSize, int bulkheadQueue,
+                        int failureThreshold, long openDuration, LongSupplier clock) {
+        this.deadline = deadline;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.bulkhead = new ThreadPoolExecutor(Math.max(1, bulkheadSize), Math.max(1, bulkheadSize),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, bulkheadQueue)), runnable -> {
+                    Thread thread = new Thread(runnable, "outbound-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.bulkhead.allowCoreThreadTimeOut(true);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * GET request to an external API
+     *
+     * @param upstream - name of the external API, every upstream has its own circuit breaker
+     * @param uri - the address to get
+     * @param headers - headers of the request
+     * @param fallback - answer if the upstream is unhealthy, busy, too slow or does not answer with 200
+     * @return the body of the response or the fallback
+     */
+    public String get(String upstream, URI uri, Map<String, String> headers, Supplier<String> fallback) {
+        return get(upstream, uri, headers, fallback, fallback);
+    }
+
+    /**
+     * GET request to an external API that tells apart a missing answer from an unhealthy upstream
+     *
+     * @param upstream - name of the external API, every upstream has its own circuit breaker
+     * @param uri - the address to get
+     * @param headers - headers of the request
+     * @param fallback - answer if the upstream is unhealthy, busy or too slow
+     * @param notFound - answer if the healthy upstream has no answer (404 or an empty 2xx response)
+     * @return the body of the response, the notFound answer or the fallback
+     */
+    public String get(String upstream, URI uri, Map<String, String> headers, Supplier<String> fallback, Supplier<String> notFound) {
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(upstream, name -> new CircuitBreaker());
+        if (!circuitBreaker.allowCall()) {
+            shortCircuited.incrementAndGet();
+            return fallback.get();
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofMillis(deadline)).GET();
+        headers.forEach(request::header);
+
+        Future<HttpResponse<String>> call;
+        try {
+            call = bulkhead.submit(() -> httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            circuitBreaker.release();
+            return fallback.get();
+        }
+        calls.incrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+            HttpResponse<String> response = call.get(deadline, TimeUnit.MILLISECONDS);
+            int status = response.statusCode();
+            if (status == 200) {
+                circuitBreaker.success();
+                return response.body();
+            }
+            if ((status >= 200 && status < 300) || status == 404) {
+                // the upstream is healthy, it just has no answer for this request (e.g. the word is not known)
+                circuitBreaker.success();
+                return notFound.get();
+            }
+            // errors, throttling (429) and an exhausted quota (403) answer every further request the same way
+            failed(upstream, circuitBreaker, "status " + status);
+            return fallback.get();
+        }
+        catch (TimeoutException e) {
+            call.cancel(true);
+            timeouts.incrementAndGet();
+            failed(upstream, circuitBreaker, String.valueOf(e));
+            return fallback.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpTimeoutException) {
+                timeouts.incrementAndGet();
+            }
+            failed(upstream, circuitBreaker, String.valueOf(e.getCause()));
+            return fallback.get();
+        }
+        catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            circuitBreaker.release();
+            return fallback.get();
+        }
+        finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void failed(String upstream, CircuitBreaker circuitBreaker, String cause) {
+        failures.incrementAndGet();
+        if (circuitBreaker.failure()) {
+            log.warn("Circuit of {} opened for {} ms after {} failed calls, last failure: {}",
+                    upstream, openDuration, failureThreshold, cause);
+        }
+    }
+
+    /**
+     * @return a snapshot of the counters of all calls since the start
+     */
+    public Metrics getMetrics() {
+        int openCircuits = 0;
+        for (CircuitBreaker circuitBreaker : circuitBreakers.values()) {
+            if (circuitBreaker.isOpen()) {
+                openCircuits++;
+            }
+        }
+        return new Metrics(inFlight.get(), calls.get(), failures.get(), timeouts.get(), rejected.get(),
+                shortCircuited.get(), openCircuits);
+    }
+
+    /**
+     * Logs the counters if external APIs were called since the last time, idle periods are not logged
+     */
+    @Scheduled(fixedDelayString = "${outbound.metrics.log-interval:60000}")
+    public void logMetrics() {
+        Metrics metrics = getMetrics();
+        long attempts = metrics.getCalls() + metrics.getRejected() + metrics.getShortCircuited();
+        if (attempts == loggedAttempts) {
+            return;
+        }
+        loggedAttempts = attempts;
+        log.info("Outbound calls: {}", metrics);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkhead.shutdownNow();
+    }
+
+    /**
+     * Closed: calls pass. Open: calls are short-circuited until the open duration passed.
+     * Half open: a single trial call passes, its outcome closes or opens the circuit again.
+     */
+    private final class CircuitBreaker {
+        private int consecutiveFailures = 0;
+        private long openUntil = 0;
+        private boolean trialCall = false;
+
+        private synchronized boolean allowCall() {
+            if (consecutiveFailures < failureThreshold) {
+                return true;
+            }
+            if (clock.getAsLong() < openUntil || trialCall) {
+                return false;
+            }
+            trialCall = true;
+            return true;
+        }
+
+        private synchronized void success() {
+            consecutiveFailures = 0;
+            trialCall = false;
+        }
+
+        /**
+         * @return true if the circuit was opened by this failure
+         */
+        private synchronized boolean failure() {
+            boolean wasOpen = consecutiveFailures >= failureThreshold;
+            consecutiveFailures++;
+            trialCall = false;
+            if (consecutiveFailures >= failureThreshold) {
+                openUntil = clock.getAsLong() + openDuration;
+                return !wasOpen;
+            }
+            return false;
+        }
+
+        /**
+         * the allowed call was not made
+         */
+        private synchronized void release() {
+            trialCall = false;
+        }
+
+        private synchronized boolean isOpen() {
+            return consecutiveFailures >= failureThreshold && clock.getAsLong() < openUntil;
+        }
+    }
+
+    /**
+     * Counters of the outbound calls
+     */
+    public static final class Metrics {
+        private final int inFlight;
+        private final long calls;
+        private final long failures;
+        private final long timeouts;
+        private final long rejected;
+        private final long shortCircuited;
+        private final int openCircuits;
+
+        Metrics(int inFlight, long calls, long failures, long timeouts, long rejected, long shortCircuited, int openCircuits) {
+            this.inFlight = inFlight;
+            this.calls = calls;
+            this.failures = failures;
+            this.timeouts = timeouts;
+            this.rejected = rejected;
+            this.shortCircuited = shortCircuited;
+            this.openCircuits = openCircuits;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getShortCircuited() {
+            return shortCircuited;
+        }
+
+        public int getOpenCircuits() {
+            return openCircuits;
+        }
+
+        @Override
+        public String toString() {
+            return "inFlight=" + inFlight + ", calls=" + calls + ", failures=" + failures + ", timeouts=" + timeouts
+                    + ", rejected=" + rejected + ", shortCircuited=" + shortCircuited + ", openCircuits=" + openCircuits;
+        }
+    }
+}
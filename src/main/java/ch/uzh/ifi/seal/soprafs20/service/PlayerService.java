@@ -16,11 +16,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import java.util.Optional;
 
@@ -36,10 +40,22 @@ public class PlayerService {
     private final Logger log = LoggerFactory.getLogger(PlayerService.class);
 
     private final PlayerRepository playerRepository;
+    private final LobbyStateService lobbyStateService;
+    private final TokenCacheService tokenCacheService;
+    private final SessionTokenService sessionTokenService;
+
+    // lobby of a player by its id and by its username, mirrors the foreign key PLAYER.lobby_id.
+    // A player never changes its lobby, it is deleted when it leaves, so entries are only removed on deletion.
+    private final Map<Long, Long> lobbyIdsByPlayerId = new ConcurrentHashMap<>();
+    private final Map<String, Long> lobbyIdsByUsername = new ConcurrentHashMap<>();
 
     @Autowired
-    public PlayerService(@Qualifier("playerRepository") PlayerRepository playerRepository) {
+    public PlayerService(@Qualifier("playerRepository") PlayerRepository playerRepository, LobbyStateService lobbyStateService, TokenCacheService tokenCacheService,
+                         SessionTokenService sessionTokenService) {
         this.playerRepository = playerRepository;
+        this.lobbyStateService = lobbyStateService;
+        this.tokenCacheService = tokenCacheService;
+        this.sessionTokenService = sessionTokenService;
     }
 
     /**
@@ -64,12 +80,17 @@ public class PlayerService {
      */
     public Player getPlayerById(Long id)
     {
+        // players of running games are held in memory
+        Player runningPlayer = lobbyStateService.getPlayerById(id);
+        if (runningPlayer != null) {
+            return runningPlayer;
+        }
         Optional<Player> player = playerRepository.findById(id);
         return player.orElseThrow(()->new ForbiddenException("Player not found"));
     }
 
     public Boolean checkPlayerToken(String token) {
-        Player playerByToken = playerRepository.findByToken(token);
+        Player playerByToken = findPlayerByToken(token);
         return playerByToken == null;
     }
 
@@ -93,7 +114,7 @@ public class PlayerService {
      * */
     public Boolean isAllowedToStart(String token) {
         boolean bool = false;
-        Player playerByToken = playerRepository.findByToken(token);
+        Player playerByToken = findPlayerByToken(token);
         if (playerByToken != null) {
             PlayerRole role = playerByToken.getRole();
             bool = (role == PlayerRole.GUESSER);
@@ -108,6 +129,9 @@ public class PlayerService {
      * */
     public void deletePlayer(Player player) {
         if(player != null) {
+            // the player left or was kicked out, the cached lobby of the token is no longer valid
+            tokenCacheService.evictUser(player.getId());
+            unindexLobby(player);
             List<Clue> clues = player.getClues();
             for(Clue clue:clues){
                 clue.setPlayer(null);
@@ -123,25 +147,67 @@ public class PlayerService {
      * */
     public void deletePlayers(Set<Player> playersSet) {
         if(playersSet != null) {
+            for (Player player : playersSet) {
+                tokenCacheService.evictUser(player.getId());
+                unindexLobby(player);
+            }
             playerRepository.deleteAll(playersSet);
         }
     }
 
     public Player getPlayerByToken(String token)
     {
-        Optional<Player> player = Optional.ofNullable(playerRepository.findByToken(token));
+        Optional<Player> player = Optional.ofNullable(findPlayerByToken(token));
         return player.orElseThrow(()->new ForbiddenException("Player not found"));
     }
 
     public Boolean doesPlayerWithTokenExist(String token) {
-        return playerRepository.findByToken(token) != null;
+        return findPlayerByToken(token) != null;
+    }
+
+    /**
+     * Looks up the player in the running games first and only then in the Player repository,
+     * by the player id of a signed token or else by the token
+     *
+     * @param token - token of the player
+     * @return the Player or null if there is no player with this token
+     */
+    private Player findPlayerByToken(String token) {
+        Player runningPlayer = lobbyStateService.getPlayerByToken(token);
+        if (runningPlayer != null) {
+            return runningPlayer;
+        }
+        SessionTokenService.SessionToken sessionToken = sessionTokenService.verify(token);
+        if (sessionToken != null) {
+            return playerRepository.findById(sessionToken.getPlayerId())
+                    .filter(player -> token.equals(player.getToken()))
+                    .orElse(null);
+        }
+        return playerRepository.findByToken(token);
+    }
+
+    /**
+     * The session token of the user was replaced (logout, expired signed token),
+     * the player of the user takes the new token so the user keeps access to its lobby
+     *
+     * @param userId - id of the user, which is also the id of its player
+     * @param token - the new token of the user
+     */
+    public void updateToken(Long userId, String token) {
+        if (lobbyStateService.updateToken(userId, token)) {
+            return;
+        }
+        playerRepository.findById(userId).ifPresent(player -> player.setToken(token));
     }
 
     /**
      * Save all players
+     * Players of a running game are persisted by the LobbyStateService (write-behind)
      * */
     public void saveAll(Set<Player> playerSet) {
-        playerRepository.saveAll(playerSet);
+        if (!lobbyStateService.markDirty(playerSet)) {
+            playerRepository.saveAll(playerSet);
+        }
     }
     
     private String botTypeToName(PlayerType botType)
@@ -256,7 +322,9 @@ public class PlayerService {
      */
     public boolean playerIsInLobby(String token, Lobby lobby){
         Player player = this.getPlayerByToken(token);
-        if (!lobby.getPlayers().contains(player)){
+        Long lobbyId = getLobbyIdOfPlayer(player.getId());
+        boolean isInLobby = lobbyId != null ? lobbyId.equals(lobby.getId()) : lobby.getPlayers().contains(player);
+        if (!isInLobby){
             throw new UnauthorizedException("Player is not in Lobby");
         } else{
             return true;
@@ -264,6 +332,61 @@ public class PlayerService {
 
     }
 
+    /**
+     * @param playerId - id of the player
+     * @return the id of the lobby the player is part of, or null if the player is in no (saved) lobby
+     */
+    public Long getLobbyIdOfPlayer(Long playerId) {
+        if (playerId == null) {
+            return null;
+        }
+        Long lobbyId = lobbyIdsByPlayerId.get(playerId);
+        if (lobbyId == null) {
+            lobbyId = playerRepository.findLobbyIdByPlayerId(playerId).orElse(null);
+            if (lobbyId != null) {
+                lobbyIdsByPlayerId.put(playerId, lobbyId);
+            }
+        }
+        return lobbyId;
+    }
 
+    /**
+     * @param username - username of the player
+     * @return the id of the lobby the player with this username is part of, or null if there is none
+     */
+    public Long getLobbyIdOfUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        Long lobbyId = lobbyIdsByUsername.get(username);
+        if (lobbyId == null) {
+            lobbyId = playerRepository.findLobbyIdByUsername(username).orElse(null);
+            if (lobbyId != null) {
+                lobbyIdsByUsername.put(username, lobbyId);
+            }
+        }
+        return lobbyId;
+    }
 
+    /**
+     * Removes the player from the lobby index, again after the commit
+     * so a lookup running concurrently to the deletion cannot keep the old lobby
+     */
+    private void unindexLobby(Player player) {
+        Runnable unindex = () -> {
+            lobbyIdsByPlayerId.remove(player.getId());
+            if (player.getUsername() != null) {
+                lobbyIdsByUsername.remove(player.getUsername());
+            }
+        };
+        unindex.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unindex.run();
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Rank Index
+ * Order statistic tree (a treap whose nodes know the size of their subtree) of users, ordered by a value:
+ * the highest value first, users with the same value by their id. Setting the value of a user and
+ * finding the rank of a value take O(log n), a page of k users O(log n + k).
+ * Not thread-safe, the services that own an index synchronize all access.
+ */
+final class RankIndex {
+
+    private final Map<Long, Long> values = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Inserts the user or moves it to its new value
+     */
+    void put(long userId, long value) {
+        Long oldValue = values.put(userId, value);
+        if (oldValue != null) {
+            if (oldValue == value) {
+                return;
+            }
+            root = delete(root, oldValue, userId);
+        }
+        Node[] parts = split(root, value, userId);
+        root = merge(merge(parts[0], new Node(userId, value, random.nextInt())), parts[1]);
+    }
+
+    void remove(long userId) {
+        Long oldValue = values.remove(userId);
+        if (oldValue != null) {
+            root = delete(root, oldValue, userId);
+        }
+    }
+
+    void clear() {
+        values.clear();
+        root = null;
+    }
+
+    boolean contains(long userId) {
+        return values.containsKey(userId);
+    }
+
+    /**
+     * @return the value of the user or null if the user is not indexed
+     */
+    Long getValue(long userId) {
+        return values.get(userId);
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * @return number of users with a higher value than the given one
+     */
+    int countAbove(long value) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.value > value) {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+            else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param offset - position of the first user, 0 is the user with the highest value
+     * @param limit - maximum number of users
+     * @return the ids of the users at the positions offset to offset + limit - 1
+     */
+    List<Long> getPage(int offset, int limit) {
+        List<Long> userIds = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        collect(root, offset, offset + limit, 0, userIds);
+        return userIds;
+    }
+
+    private void collect(Node node, int from, int to, int firstIndex, List<Long> userIds) {
+        if (node == null || firstIndex >= to || firstIndex + node.size <= from) {
+            return;
+        }
+        collect(node.left, from, to, firstIndex, userIds);
+        int index = firstIndex + size(node.left);
+        if (index >= from && index < to) {
+            userIds.add(node.userId);
+        }
+        collect(node.right, from, to, index + 1, userIds);
+    }
+
+    /**
+     * @return true if the node comes before the position of the given value and user
+     */
+    private static boolean isBefore(Node node, long value, long userId) {
+        return node.value > value || (node.value == value && node.userId < userId);
+    }
+
+    /**
+     * @return the nodes before the given position and the nodes at or after it
+     */
+    private static Node[] split(Node node, long value, long userId) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (isBefore(node, value, userId)) {
+            Node[] parts = split(node.right, value, userId);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+        }
+        Node[] parts = split(node.left, value, userId);
+        node.left = parts[1];
+        node.update();
+        return new Node[] {parts[0], node};
+    }
+
+    /**
+     * @param left - all nodes of left come before the nodes of right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node delete(Node node, long value, long userId) {
+        if (node == null) {
+            return null;
+        }
+        if (node.userId == userId && node.value == value) {
+            return merge(node.left, node.right);
+        }
+        if (isBefore(node, value, userId)) {
+            node.right = delete(node.right, value, userId);
+        }
+        else {
+            node.left = delete(node.left, value, userId);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final long userId;
+        private final long value;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long userId, long value, int priority) {
+            this.userId = userId;
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Session Token Service
+ * Optional token mode (token.signed.enabled=true) in which the token of a user is signed with HMAC-SHA256 and
+ * carries the id of the user, the id of its player, the expiry and a random nonce: userId.playerId.expiry.nonce.signature
+ * A token can therefore be verified without any database access and by every instance that knows the secret.
+ * Logged out and deleted users are kept in a small revocation set until their token expires; the revocation set
+ * only exists on the instance that handled the logout, the other instances reject the token because the
+ * user got a new token in the database (see UserService.logoutUser), at the latest once their cached entry of
+ * the token expired (token.cache.ttl).
+ * A token that the SessionTokenFilter verified is stored as request attribute REQUEST_ATTRIBUTE and not verified
+ * again during the same request.
+ * When the mode is disabled, tokens are random UUIDs and verify always returns null.
+ */
+@Service
+public class SessionTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = ".";
+    private static final int NONCE_BYTES = 8;
+
+    public static final String REQUEST_ATTRIBUTE = SessionToken.class.getName();
+
+    private final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+
+    private final boolean enabled;
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final SecureRandom random = new SecureRandom();
+
+    // revoked token -> its expiry, the entry is not needed anymore once the token expired
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SessionTokenService(@Value("${token.signed.enabled:false}") boolean enabled,
+                               @Value("${token.signed.secret:}") String secret,
+                               @Value("${token.signed.ttl:604800000}") long timeToLive) {
+        this(enabled, secret, timeToLive, System::currentTimeMillis);
+    }
+
+    SessionTokenService(boolean enabled, String secret, long timeToLive, LongSupplier clock) {
+        this.enabled = enabled;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::createMac);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param userId - the user the token is issued for, the player of a user has the same id
+     * @return a new signed token that is valid for the configured time to live
+     */
+    public String issue(Long userId) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        String payload = userId + SEPARATOR + userId + SEPARATOR + (clock.getAsLong() + timeToLive)
+                + SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(nonce);
+        return payload + SEPARATOR + sign(payload);
+    }
+
+    /**
+     * Checks the signature, the expiry and the revocation set, without any database access
+     *
+     * @return the content of the token or null if the mode is disabled or the token is not valid (anymore)
+     */
+    public SessionToken verify(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        SessionToken verifiedToken = getVerifiedToken(token);
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+        SessionToken sessionToken = parse(token);
+        if (sessionToken == null || sessionToken.getExpiry() <= clock.getAsLong() || revokedTokens.containsKey(token)) {
+            return null;
+        }
+        return sessionToken;
+    }
+
+    /**
+     * The token must not be accepted anymore (logout, deletion of the user)
+     */
+    public void revoke(String token) {
+        SessionToken sessionToken = verify(token);
+        if (sessionToken == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        revokedTokens.values().removeIf(expiry -> expiry <= now);
+        revokedTokens.put(token, sessionToken.getExpiry());
+    }
+
+    /**
+     * @return the token verified by the SessionTokenFilter for the current request, or null if there is none
+     */
+    private SessionToken getVerifiedToken(String token) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Object verifiedToken = requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (verifiedToken instanceof SessionToken && token.equals(((SessionToken) verifiedToken).getToken())
+                && !revokedTokens.containsKey(token)) {
+            return (SessionToken) verifiedToken;
+        }
+        return null;
+    }
+
+    int revokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    private SessionToken parse(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 5) {
+            return null;
+        }
+        String payload = token.substring(0, token.lastIndexOf(SEPARATOR));
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, parts[4].getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        try {
+            return new SessionToken(token, Long.valueOf(parts[0]), Long.valueOf(parts[1]), Long.parseLong(parts[2]));
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String sign(String payload) {
+        byte[] signature = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private byte[] secretBytes(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (enabled) {
+            log.warn("No token.signed.secret configured, the tokens are only valid on this instance until it restarts");
+        }
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    /**
+     * Content of a verified token
+     */
+    public static final class SessionToken {
+        private final String token;
+        private final Long userId;
+        private final Long playerId;
+        private final long expiry;
+
+        SessionToken(String token, Long userId, Long playerId, long expiry) {
+            this.token = token;
+            this.userId = userId;
+            this.playerId = playerId;
+            this.expiry = expiry;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Long getPlayerId() {
+            return playerId;
+        }
+
+        public long getExpiry() {
+            return expiry;
+        }
+    }
+}
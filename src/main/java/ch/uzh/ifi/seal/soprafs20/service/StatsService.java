@@ -0,0 +1,361 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.GameStats;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.repository.StatsRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Stats Service
+ * Guesses are published as events to an in-process queue instead of updating the stats while the guess
+ * is answered. The queue is drained periodically (stats.flush-interval): the events are coalesced per lobby
+ * and per user, so the stats of a lobby and every user are read and written once per batch, in one transaction.
+ * The stats are eventually consistent, they lag behind the games by at most one flush interval.
+ * A batch that failed because the database was unavailable is kept and persisted together with the next batch.
+ * If a batch fails for another reason, every lobby is persisted on its own and the guesses of a lobby that
+ * still fails are dropped, so they can not hold back the stats of the other lobbies.
+ * The final scores of a game are also added to the daily, weekly and monthly leaderboards.
+ */
+@Service
+public class StatsService {
+
+    private final Logger log = LoggerFactory.getLogger(StatsService.class);
+
+    private final StatsRepository statsRepository;
+    private final UserRepository userRepository;
+    private final LeaderboardService leaderboardService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<GuessEvent> events;
+    private final int capacity;
+    // guesses of failed batches in the order they were made, only accessed by flushStats
+    private final List<GuessEvent> failedEvents = new ArrayList<>();
+
+    @Autowired
+    public StatsService(@Qualifier("statsRepository") StatsRepository statsRepository, @Qualifier("userRepository") UserRepository userRepository,
+                        LeaderboardService leaderboardService, WindowedLeaderboardService windowedLeaderboardService,
+                        PlatformTransactionManager transactionManager, @Value("${stats.queue.capacity:10000}") int capacity) {
+        this.statsRepository = statsRepository;
+        this.userRepository = userRepository;
+        this.leaderboardService = leaderboardService;
+        this.windowedLeaderboardService = windowedLeaderboardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // a failed batch never rolls back the transaction of a request that flushed it
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = Math.max(1, capacity);
+        this.events = new LinkedBlockingQueue<>(this.capacity);
+    }
+
+    /**
+     * Queues a guess, its stats are persisted with the next batch
+     *
+     * @param event - the guess and the clues of its round
+     */
+    public void publish(GuessEvent event) {
+        while (!events.offer(event)) {
+            // the consumer fell behind, the publisher persists a batch itself instead of dropping stats
+            flushStats();
+        }
+    }
+
+    /**
+     * @return number of guesses whose stats are not persisted yet
+     */
+    public synchronized int getPendingEvents() {
+        return events.size() + failedEvents.size();
+    }
+
+    /**
+     * Persists all queued guesses in one transaction
+     */
+    @Scheduled(fixedDelayString = "${stats.flush-interval:500}")
+    public synchronized void flushStats() {
+        List<GuessEvent> batch = new ArrayList<>(failedEvents);
+        failedEvents.clear();
+        events.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        long day = windowedLeaderboardService.today();
+        try {
+            persistAndPublish(batch, day);
+        }
+        catch (RuntimeException e) {
+            if (isTransient(e)) {
+                retryLater(batch, e);
+                return;
+            }
+            // a guess that can never be persisted must not hold back the stats of the other lobbies
+            log.warn("Could not persist the stats of {} guesses, persisting every lobby on its own", batch.size(), e);
+            persistPerLobby(batch, day);
+        }
+    }
+
+    private void persistPerLobby(List<GuessEvent> batch, long day) {
+        for (List<GuessEvent> lobbyEvents : groupByLobby(batch).values()) {
+            try {
+                persistAndPublish(lobbyEvents, day);
+            }
+            catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    retryLater(lobbyEvents, e);
+                }
+                else {
+                    log.error("Dropped the stats of {} guesses of lobby {}, they can not be persisted",
+                            lobbyEvents.size(), lobbyEvents.get(0).getLobbyId(), e);
+                }
+            }
+        }
+    }
+
+    private void persistAndPublish(List<GuessEvent> batch, long day) {
+        PersistedStats persisted = transactionTemplate.execute(status -> persist(batch, day));
+        // the leaderboards only show committed counters
+        if (persisted != null) {
+            persisted.users.forEach(leaderboardService::update);
+            windowedLeaderboardService.addScores(day, persisted.scores);
+        }
+    }
+
+    /**
+     * Keeps guesses to be persisted with the next batch; while the database stays unavailable the oldest guesses
+     * are dropped beyond the capacity of the queue, so the memory stays bounded
+     */
+    private void retryLater(List<GuessEvent> batch, RuntimeException e) {
+        int pending = failedEvents.size() + batch.size();
+        int dropped = Math.max(0, pending - capacity);
+        failedEvents.addAll(batch);
+        failedEvents.subList(0, dropped).clear();
+        if (dropped > 0) {
+            log.error("Could not persist the stats of {} guesses, dropped the stats of the {} oldest", pending, dropped, e);
+        }
+        else {
+            log.warn("Could not persist the stats of {} guesses, retrying with the next batch", batch.size(), e);
+        }
+    }
+
+    /**
+     * @return true if persisting the same guesses again can succeed later, e.g. once the database is reachable
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private static Map<Long, List<GuessEvent>> groupByLobby(List<GuessEvent> batch) {
+        // the guesses of a lobby are applied in the order they were made
+        Map<Long, List<GuessEvent>> eventsByLobbyId = new LinkedHashMap<>();
+        for (GuessEvent event : batch) {
+            eventsByLobbyId.computeIfAbsent(event.getLobbyId(), id -> new ArrayList<>()).add(event);
+        }
+        return eventsByLobbyId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushStats();
+    }
+
+    /**
+     * @param day - the day the scores of finished games are counted for
+     * @return the users whose counters changed and the scores of finished games
+     */
+    private PersistedStats persist(List<GuessEvent> batch, long day) {
+        Map<Long, List<GuessEvent>> eventsByLobbyId = groupByLobby(batch);
+        Map<Long, UserStatsDelta> userDeltas = new HashMap<>();
+        List<GameStats> changedStats = new ArrayList<>();
+        for (Map.Entry<Long, List<GuessEvent>> lobbyEvents : eventsByLobbyId.entrySet()) {
+            Map<Long, GameStats> statsByPlayerId = new HashMap<>();
+            for (GameStats gameStats : statsRepository.findAllByLobbyId(lobbyEvents.getKey())) {
+                statsByPlayerId.put(gameStats.getPlayerId(), gameStats);
+            }
+            for (GuessEvent event : lobbyEvents.getValue()) {
+                apply(event, statsByPlayerId, userDeltas);
+            }
+            changedStats.addAll(statsByPlayerId.values());
+        }
+        statsRepository.saveAll(changedStats);
+
+        List<User> users = new ArrayList<>();
+        Map<Long, Long> scores = new HashMap<>();
+        if (!userDeltas.isEmpty()) {
+            users = userRepository.findAllById(userDeltas.keySet());
+            // only users that still exist get scores, players without a user (e.g. deleted meanwhile) are skipped
+            for (User user : users) {
+                UserStatsDelta delta = userDeltas.get(user.getId());
+                delta.applyTo(user);
+                if (delta.score != 0) {
+                    scores.put(user.getId(), delta.score);
+                }
+            }
+            userRepository.saveAll(users);
+            windowedLeaderboardService.saveScores(day, scores);
+        }
+        log.debug("Persisted the stats of {} guesses in {} lobbies", batch.size(), eventsByLobbyId.size());
+        return new PersistedStats(users, scores);
+    }
+
+    private void apply(GuessEvent event, Map<Long, GameStats> statsByPlayerId, Map<Long, UserStatsDelta> userDeltas) {
+        GameStats guesserStats = statsByPlayerId.get(event.getGuesserId());
+        if (guesserStats != null) {
+            guesserStats.incGuessCount(1L);
+            guesserStats.addGuessTime(event.getTimeToGuess());
+            if (event.isSuccess()) {
+                guesserStats.incCorrectGuessCount(1L);
+                userDeltas.computeIfAbsent(event.getGuesserId(), id -> new UserStatsDelta()).correctGuesses++;
+            }
+        }
+        for (GivenClue clue : event.getClues()) {
+            GameStats clueStats = statsByPlayerId.get(clue.getPlayerId());
+            if (clueStats == null) {
+                // the player left the lobby
+                continue;
+            }
+            clueStats.incGivenClueCount(1L);
+            clueStats.addClueTime(clue.getTimeForClue());
+            if (clue.isGood()) {
+                clueStats.incGoodClueCount(1L);
+                userDeltas.computeIfAbsent(clue.getPlayerId(), id -> new UserStatsDelta()).bestClues++;
+            }
+        }
+        for (GameStats gameStats : statsByPlayerId.values()) {
+            gameStats.setTeamPoints(event.getTeamPoints());
+            gameStats.calculateScore();
+        }
+        // if there are no more cards left, the scores of the game are added to the overall stats of the users
+        if (event.isGameOver()) {
+            for (GameStats gameStats : statsByPlayerId.values()) {
+                userDeltas.computeIfAbsent(gameStats.getPlayerId(), id -> new UserStatsDelta()).score += gameStats.getScore();
+            }
+        }
+    }
+
+    private static final class PersistedStats {
+        private final List<User> users;
+        private final Map<Long, Long> scores;
+
+        private PersistedStats(List<User> users, Map<Long, Long> scores) {
+            this.users = users;
+            this.scores = scores;
+        }
+    }
+
+    private static final class UserStatsDelta {
+        private long score;
+        private long correctGuesses;
+        private long bestClues;
+
+        private void applyTo(User user) {
+            user.addScore(score);
+            user.incrementCorrectGuessCount(correctGuesses);
+            user.incBestCluesCount(bestClues);
+        }
+    }
+
+    /**
+     * A guess of a lobby, with everything the stats need to know about its round
+     */
+    public static final class GuessEvent {
+        private final Long lobbyId;
+        private final Long guesserId;
+        private final boolean success;
+        private final Long timeToGuess;
+        private final long teamPoints;
+        private final boolean gameOver;
+        private final List<GivenClue> clues;
+
+        /**
+         * @param teamPoints - cards won by the team so far
+         * @param gameOver - true if no cards are left to play
+         * @param clues - the clues of the human clue creators of this round
+         */
+        public GuessEvent(Long lobbyId, Long guesserId, boolean success, Long timeToGuess, long teamPoints,
+                          boolean gameOver, List<GivenClue> clues) {
+            this.lobbyId = lobbyId;
+            this.guesserId = guesserId;
+            this.success = success;
+            this.timeToGuess = timeToGuess;
+            this.teamPoints = teamPoints;
+            this.gameOver = gameOver;
+            this.clues = Collections.unmodifiableList(new ArrayList<>(clues));
+        }
+
+        public Long getLobbyId() {
+            return lobbyId;
+        }
+
+        public Long getGuesserId() {
+            return guesserId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public Long getTimeToGuess() {
+            return timeToGuess;
+        }
+
+        public long getTeamPoints() {
+            return teamPoints;
+        }
+
+        public boolean isGameOver() {
+            return gameOver;
+        }
+
+        public List<GivenClue> getClues() {
+            return clues;
+        }
+    }
+
+    /**
+     * A clue of a round: who gave it, how long it took and whether it was a good (not disabled) clue
+     */
+    public static final class GivenClue {
+        private final Long playerId;
+        private final Long timeForClue;
+        private final boolean good;
+
+        public GivenClue(Long playerId, Long timeForClue, boolean good) {
+            this.playerId = playerId;
+            this.timeForClue = timeForClue;
+            this.good = good;
+        }
+
+        public Long getPlayerId() {
+            return playerId;
+        }
+
+        public Long getTimeForClue() {
+            return timeForClue;
+        }
+
+        public boolean isGood() {
+            return good;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Token Cache Service
+ * Bounded cache that maps the token of a user to the authenticated User and the lobby the user plays in,
+ * so authenticating a request with a known token needs no database access. When the cache is full the
+ * least recently used token is evicted. Entries are removed when the user logs out, is changed or deleted
+ * and when the player leaves a lobby or is kicked out (the player is deleted).
+ * Such a change on another instance is not seen here, so an entry is only trusted for a short time to live
+ * (token.cache.ttl); afterwards the token is checked against the database again.
+ * The cached User is a read-only snapshot, code that changes a user loads it from the UserRepository.
+ * The player of a user has the id of the user, so the cached User also identifies the player. The Player itself
+ * is not cached: it changes during the game (status, role, clues) and is served from the LobbyStateService while
+ * its lobby is running.
+ */
+@Service
+public class TokenCacheService {
+
+    private final Map<String, Principal> principalsByToken;
+    private final Map<Long, String> tokensByUserId = new HashMap<>();
+    private final long ttl;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TokenCacheService(@Value("${token.cache.size:10000}") int maxSize, @Value("${token.cache.ttl:10000}") long ttl) {
+        this(maxSize, ttl, System::currentTimeMillis);
+    }
+
+    TokenCacheService(int maxSize, long ttl, LongSupplier clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.principalsByToken = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Principal> eldest) {
+                if (size() > maxSize) {
+                    tokensByUserId.remove(eldest.getValue().user.getId());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the user with this token or null if the token is not cached
+     */
+    public synchronized User getUser(String token) {
+        Principal principal = getPrincipal(token);
+        return principal == null ? null : principal.user;
+    }
+
+    public synchronized void putUser(User user) {
+        if (user.getId() == null || user.getToken() == null) {
+            return;
+        }
+        String previousToken = tokensByUserId.put(user.getId(), user.getToken());
+        if (previousToken != null && !previousToken.equals(user.getToken())) {
+            principalsByToken.remove(previousToken);
+        }
+        principalsByToken.put(user.getToken(), new Principal(user, clock.getAsLong() + ttl));
+    }
+
+    /**
+     * @return the id of the lobby the user with this token plays in or null if unknown
+     */
+    public synchronized Long getLobbyId(String token) {
+        Principal principal = getPrincipal(token);
+        return principal == null ? null : principal.lobbyId;
+    }
+
+    /**
+     * Remembers the lobby of an authenticated user, must be called only after checking that the player is in the lobby
+     */
+    public synchronized void putLobbyId(String token, Long lobbyId) {
+        Principal principal = getPrincipal(token);
+        if (principal != null) {
+            principal.lobbyId = lobbyId;
+        }
+    }
+
+    public synchronized void evictToken(String token) {
+        Principal principal = principalsByToken.remove(token);
+        if (principal != null) {
+            tokensByUserId.remove(principal.user.getId());
+        }
+    }
+
+    public synchronized void evictUser(Long userId) {
+        String token = tokensByUserId.remove(userId);
+        if (token != null) {
+            principalsByToken.remove(token);
+        }
+    }
+
+    private Principal getPrincipal(String token) {
+        Principal principal = principalsByToken.get(token);
+        if (principal != null && principal.expiry <= clock.getAsLong()) {
+            evictToken(token);
+            return null;
+        }
+        return principal;
+    }
+
+    public synchronized int size() {
+        return principalsByToken.size();
+    }
+
+    private static final class Principal {
+        private final User user;
+        private final long expiry;
+        private Long lobbyId;
+
+        private Principal(User user, long expiry) {
+            this.user = user;
+            this.expiry = expiry;
+        }
+    }
+}
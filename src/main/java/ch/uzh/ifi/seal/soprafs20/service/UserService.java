@@ -1,6 +1,7 @@
 package ch.uzh.ifi.seal.soprafs20.service;
 
 import ch.uzh.ifi.seal.soprafs20.constant.RankingOrderBy;
+import ch.uzh.ifi.seal.soprafs20.constant.RankingWindow;
 import ch.uzh.ifi.seal.soprafs20.constant.UserStatus;
 import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
@@ -11,11 +12,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.springframework.data.domain.Sort.by;
@@ -31,11 +40,25 @@ public class UserService {
 
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
+    private static final String USERNAME_NOT_UNIQUE = "The username provided is not unique. Therefore, the user could not be created!";
+
     private final UserRepository userRepository;
+    private final TokenCacheService tokenCacheService;
+    private final SessionTokenService sessionTokenService;
+    private final PlayerService playerService;
+    private final LeaderboardService leaderboardService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
 
     @Autowired
-    public UserService(@Qualifier("userRepository") UserRepository userRepository) {
+    public UserService(@Qualifier("userRepository") UserRepository userRepository, TokenCacheService tokenCacheService,
+                       SessionTokenService sessionTokenService, PlayerService playerService,
+                       LeaderboardService leaderboardService, WindowedLeaderboardService windowedLeaderboardService) {
         this.userRepository = userRepository;
+        this.tokenCacheService = tokenCacheService;
+        this.sessionTokenService = sessionTokenService;
+        this.playerService = playerService;
+        this.leaderboardService = leaderboardService;
+        this.windowedLeaderboardService = windowedLeaderboardService;
     }
 
     /**
@@ -58,8 +81,21 @@ public class UserService {
         checkIfUserExists(newUser);
 
         // saves the given entity but data is only persisted in the database once flush() is called
-        newUser = userRepository.save(newUser);
-        userRepository.flush();
+        try {
+            newUser = userRepository.save(newUser);
+            if (sessionTokenService.isEnabled()) {
+                // the signed token contains the id, which is only known after saving
+                newUser.setToken(sessionTokenService.issue(newUser.getId()));
+            }
+            userRepository.flush();
+        }
+        catch (DataIntegrityViolationException e) {
+            // the same username was registered concurrently, caught by the unique index
+            throw new ConflictException(USERNAME_NOT_UNIQUE);
+        }
+        // the leaderboard only shows committed users
+        User createdUser = newUser;
+        afterCommit(() -> leaderboardService.update(createdUser));
 
         log.debug("Created Information for User: {}", newUser);
         return newUser;
@@ -91,18 +127,27 @@ public class UserService {
 
         if (!userByToken.getUsername().equals(user.getUsername())) {
             // username different
+            evictUser(userByToken.getId());
 
             // new username should not be empty or only contain white space!
             if (user.getUsername().isEmpty() || user.getUsername().isBlank()){
                 throw new ConflictException("Username should not be empty.");
             }
 
-            // Try to change, if already in use throw exception
-            if (null == userRepository.findByUsername(user.getUsername())) {
+            // Try to change, if already in use (ignoring case) throw exception
+            boolean onlyCaseChanged = userByToken.getUsername().equalsIgnoreCase(user.getUsername());
+            if (onlyCaseChanged || !userRepository.existsByNormalizedUsername(user.getUsername().toLowerCase(Locale.ROOT))) {
                 userByToken.setUsername(user.getUsername());
             } else {
                 throw new ConflictException("Username already in use!");
             }
+            try {
+                userRepository.flush();
+            }
+            catch (DataIntegrityViolationException e) {
+                // the same username was taken concurrently, caught by the unique index
+                throw new ConflictException("Username already in use!");
+            }
         }
 
         // Change Birthday if edited
@@ -128,6 +173,15 @@ public class UserService {
             throw new ConflictException("Token does not belong to any user");
         }
         userByToken.setStatus(UserStatus.OFFLINE);
+        evictToken(userByToken.getToken());
+        sessionTokenService.revoke(userByToken.getToken());
+        if (sessionTokenService.isEnabled()) {
+            // the revocation is only known to this instance, every other instance rejects the old token because
+            // it no longer matches the token of the user, at the latest when its cached entry expires (token.cache.ttl);
+            // the new token is handed out by the next login
+            userByToken.setToken(sessionTokenService.issue(userByToken.getId()));
+            playerService.updateToken(userByToken.getId(), userByToken.getToken());
+        }
 
         return userByToken;
     }
@@ -148,6 +202,12 @@ public class UserService {
         // check if password is correct
         if (user.getPassword().equals(userByUsername.getPassword())) {
             userByUsername.setStatus(UserStatus.ONLINE);
+            if (sessionTokenService.isEnabled() && sessionTokenService.verify(userByUsername.getToken()) == null) {
+                // the signed token expired
+                evictToken(userByUsername.getToken());
+                userByUsername.setToken(sessionTokenService.issue(userByUsername.getId()));
+                playerService.updateToken(userByUsername.getId(), userByUsername.getToken());
+            }
             return userByUsername;
         } else {
             // throw exception if password wrong
@@ -194,11 +254,48 @@ public class UserService {
     }
 
     public void deleteUser(User user){
+        Long userId = user.getId();
+        evictUser(userId);
+        sessionTokenService.revoke(user.getToken());
         userRepository.delete(user);
         userRepository.flush();
+        windowedLeaderboardService.deleteScores(userId);
+        // a rolled back deletion keeps the user in the rankings
+        afterCommit(() -> {
+            leaderboardService.remove(userId);
+            windowedLeaderboardService.remove(userId);
+        });
         //todo: check if flush needed
     }
 
+    /**
+     * Evicts the cached user, again after the commit so a request that read the old row concurrently
+     * cannot keep it in the cache
+     */
+    private void evictUser(Long userId) {
+        tokenCacheService.evictUser(userId);
+        afterCommit(() -> tokenCacheService.evictUser(userId));
+    }
+
+    private void evictToken(String token) {
+        tokenCacheService.evictToken(token);
+        afterCommit(() -> tokenCacheService.evictToken(token));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+
     /**
      * This is a helper method that will check the uniqueness criteria of the username
      * defined in the User entity. The method will do nothing if the input is unique and throw an error otherwise.
@@ -208,16 +305,31 @@ public class UserService {
      * @see User
      */
     private void checkIfUserExists(User userToBeCreated) {
-        List<User> allUsersInDB = userRepository.findAll();
-        for(User user: allUsersInDB) {
-            if (user.getUsername().toLowerCase().equals(userToBeCreated.getUsername().toLowerCase())) {
-                throw new ConflictException("The username provided is not unique. Therefore, the user could not be created!");
-            }
+        if (userRepository.existsByNormalizedUsername(userToBeCreated.getUsername().toLowerCase(Locale.ROOT))) {
+            throw new ConflictException(USERNAME_NOT_UNIQUE);
         }
     }
 
+    /**
+     * Authenticates a request. Known tokens are answered from the TokenCacheService without database access,
+     * the returned User must therefore only be used to identify the user.
+     * With signed tokens, a token that is not valid is rejected without database access
+     * and an unknown valid token is looked up by the id of the user it carries.
+     *
+     * @param token - token of the request
+     * @return the User with this token
+     * @throws UnauthorizedException - 401 when no user has this token
+     */
     public User checkUserToken(String token) {
-        User userByToken = userRepository.findByToken(token);
+        SessionTokenService.SessionToken sessionToken = sessionTokenService.verify(token);
+        if (sessionTokenService.isEnabled() && sessionToken == null) {
+            throw new UnauthorizedException("You are not allowed to access this page");
+        }
+        User cachedUser = tokenCacheService.getUser(token);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+        User userByToken = findUserByToken(token, sessionToken);
         if (userByToken == null) {
             throw new UnauthorizedException("You are not allowed to access this page");
         }
@@ -225,47 +337,87 @@ public class UserService {
             // set User to online if he was offline before
             userByToken.setStatus(UserStatus.ONLINE);
         }
+        tokenCacheService.putUser(userByToken);
         return userByToken;
     }
 
-    public List<User> getAllUsersOrderBy(RankingOrderBy orderBy) {
-        Sort sort = by(Sort.Direction.ASC, orderBy.name().toLowerCase());
-        return userRepository.findAll(sort);
+    /**
+     * With signed tokens the user is looked up by its id, the token must still be the current token of the user
+     * (it is replaced on logout)
+     */
+    private User findUserByToken(String token, SessionTokenService.SessionToken sessionToken) {
+        if (sessionToken == null) {
+            return userRepository.findByToken(token);
+        }
+        return userRepository.findById(sessionToken.getUserId())
+                .filter(user -> token.equals(user.getToken()))
+                .orElse(null);
     }
 
     /**
-     * This method will add the achieved InGame Points of a Player to the Points balance of a User
-     *
-     * @param userId  the user to be updated with the correct score
-     * @param score - the score to be updated which he earned at the time of the function call
+     * One page of the overall ranking. Score, correct guesses and best clues are served from the
+     * in-memory leaderboard (best user first), only the alphabetical order is sorted by the database.
      *
+     * @param orderBy - order of the ranking
+     * @param page - number of the page, starting at 0
+     * @param size - number of users per page
+     * @return the users of the page
      */
-    public void updateScore(long userId, long score){
-        User user = userRepository.findById(userId).orElse(null);
-        assert user != null;
-        user.addScore(score);
+    public List<User> getAllUsersOrderBy(RankingOrderBy orderBy, int page, int size) {
+        if (!leaderboardService.isIndexed(orderBy)) {
+            return userRepository.findAll(PageRequest.of(page, size, by(Sort.Direction.ASC, "username"))).getContent();
+        }
+        List<Long> userIds = leaderboardService.getPage(orderBy, page * size, size);
+        Map<Long, User> usersById = getUsersByIds(userIds);
+        List<User> users = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            User user = usersById.get(userId);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
     }
 
     /**
-     * adds the current guesses to the user's total guess count
-     *
+     * @return the rank of the user in the ranking of the given order (1 is the best), users with the same value share a rank
      */
-    public void updateCorrectGuessCount(long userId, long guessesCount){
-        User user = userRepository.findById(userId).orElse(null);
-        assert user!= null;
-        user.incrementCorrectGuessCount(guessesCount);
+    public Integer getRank(RankingOrderBy orderBy, User user) {
+        if (!leaderboardService.isIndexed(orderBy)) {
+            throw new SopraServiceException("Users are not ranked by " + orderBy);
+        }
+        return leaderboardService.getRank(orderBy, user.getId());
     }
 
     /**
-     * updates the best clue count
+     * One page of the ranking of the scores of the last day, week or month, best user first
      *
-     * @param userId - the user best clue count to be updated
-     * @param bestClueCount - the best clue count
-     * */
-    public void updateBestClueCount(long userId, long bestClueCount) {
-        User user = userRepository.findById(userId).orElse(null);
-        assert user != null;
-        user.incBestCluesCount(bestClueCount);
+     * @param window - time window of the ranking
+     * @param page - number of the page, starting at 0
+     * @param size - number of users per page
+     * @return score and rank of the users of the page
+     */
+    public List<WindowedLeaderboardService.WindowRank> getWindowRanking(RankingWindow window, int page, int size) {
+        return windowedLeaderboardService.getPage(window, page * size, size);
+    }
+
+    /**
+     * @return score and rank of the user in the time window, or null if the user has not finished a game in it
+     */
+    public WindowedLeaderboardService.WindowRank getWindowRank(RankingWindow window, User user) {
+        return windowedLeaderboardService.getRank(window, user.getId());
+    }
+
+    /**
+     * @param userIds - ids of the users to find
+     * @return the found users by their id, unknown ids are left out
+     */
+    public Map<Long, User> getUsersByIds(List<Long> userIds) {
+        Map<Long, User> usersById = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            usersById.put(user.getId(), user);
+        }
+        return usersById;
     }
 
     /**
@@ -0,0 +1,298 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.RankingWindow;
+import ch.uzh.ifi.seal.soprafs20.entity.ScoreBucket;
+import ch.uzh.ifi.seal.soprafs20.repository.ScoreBucketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Windowed Leaderboard Service
+ * Leaderboards of the scores of the last day, week and month. The score of every finished game is added to the
+ * bucket of the user and the day (SCORE_BUCKET), and to one RankIndex per time window. When a day passes, the
+ * scores of the bucket that dropped out of a window are subtracted from its index, so a window rolls over
+ * without reading any history. The top page of every window is kept ready and served without any lookup.
+ */
+@Service
+public class WindowedLeaderboardService {
+
+    // size of the top page that is kept ready, the largest page of the ranking endpoints
+    static final int TOP_PAGE_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(WindowedLeaderboardService.class);
+
+    private final ScoreBucketRepository scoreBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int maxDays;
+
+    // the scores of the days of the longest window: day -> user id -> score
+    private final Map<Long, Map<Long, Long>> scoresByDay = new HashMap<>();
+    private final EnumMap<RankingWindow, RankIndex> indexes = new EnumMap<>(RankingWindow.class);
+    private final EnumMap<RankingWindow, List<WindowRank>> topPages = new EnumMap<>(RankingWindow.class);
+    private long currentDay;
+    private boolean loaded = false;
+
+    @Autowired
+    public WindowedLeaderboardService(@Qualifier("scoreBucketRepository") ScoreBucketRepository scoreBucketRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this(scoreBucketRepository, transactionManager, Clock.systemDefaultZone());
+    }
+
+    WindowedLeaderboardService(ScoreBucketRepository scoreBucketRepository, PlatformTransactionManager transactionManager, Clock clock) {
+        this.scoreBucketRepository = scoreBucketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        int longestWindow = 1;
+        for (RankingWindow window : RankingWindow.values()) {
+            indexes.put(window, new RankIndex());
+            longestWindow = Math.max(longestWindow, window.getDays());
+        }
+        this.maxDays = longestWindow;
+        this.currentDay = today();
+    }
+
+    /**
+     * @return the current day (days since 1970-01-01) in the time zone of the server
+     */
+    public long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Reads the buckets of the longest window from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        currentDay = today();
+        List<ScoreBucket> buckets = scoreBucketRepository.findAllByBucketDayGreaterThanEqual(currentDay - maxDays + 1);
+        for (ScoreBucket bucket : buckets) {
+            add(bucket.getBucketDay(), bucket.getUserId(), bucket.getScore());
+        }
+        loaded = true;
+        log.debug("Loaded {} score buckets into the leaderboards", buckets.size());
+    }
+
+    /**
+     * Adds scores to the buckets of the given day in the database, joins the transaction of the caller
+     *
+     * @param day - the day of the scores
+     * @param scoresByUserId - score of every user
+     */
+    public void saveScores(long day, Map<Long, Long> scoresByUserId) {
+        if (scoresByUserId.isEmpty()) {
+            return;
+        }
+        Map<Long, ScoreBucket> bucketsByUserId = new HashMap<>();
+        for (ScoreBucket bucket : scoreBucketRepository.findAllByBucketDayAndUserIdIn(day, scoresByUserId.keySet())) {
+            bucketsByUserId.put(bucket.getUserId(), bucket);
+        }
+        for (Map.Entry<Long, Long> score : scoresByUserId.entrySet()) {
+            bucketsByUserId.computeIfAbsent(score.getKey(), userId -> new ScoreBucket(day, userId)).addScore(score.getValue());
+        }
+        scoreBucketRepository.saveAll(bucketsByUserId.values());
+    }
+
+    /**
+     * Adds committed scores to the leaderboards
+     *
+     * @param day - the day of the scores
+     * @param scoresByUserId - score of every user
+     */
+    public synchronized void addScores(long day, Map<Long, Long> scoresByUserId) {
+        if (!loaded) {
+            // the committed scores are read with all others
+            load();
+            return;
+        }
+        roll();
+        for (Map.Entry<Long, Long> score : scoresByUserId.entrySet()) {
+            add(day, score.getKey(), score.getValue());
+        }
+    }
+
+    /**
+     * Deletes the buckets of the user, joins the transaction of the caller.
+     * The leaderboards are not locked while the buckets are deleted.
+     */
+    public void deleteScores(Long userId) {
+        scoreBucketRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Removes the user from every leaderboard, after the buckets of the user were deleted and committed
+     */
+    public synchronized void remove(Long userId) {
+        for (Map<Long, Long> scores : scoresByDay.values()) {
+            scores.remove(userId);
+        }
+        for (RankingWindow window : RankingWindow.values()) {
+            RankIndex index = indexes.get(window);
+            if (index.getValue(userId) != null) {
+                index.remove(userId);
+                topPages.remove(window);
+            }
+        }
+    }
+
+    /**
+     * Moves the windows to the current day and removes the buckets that dropped out of every window
+     */
+    @Scheduled(cron = "${leaderboard.window.rollover-cron:0 0 0 * * *}")
+    public void rollOver() {
+        long oldestDay;
+        synchronized (this) {
+            roll();
+            oldestDay = currentDay - maxDays + 1;
+        }
+        try {
+            Integer deleted = transactionTemplate.execute(status -> scoreBucketRepository.deleteOlderThan(oldestDay));
+            log.debug("Leaderboards rolled over to day {}, removed {} old score buckets", oldestDay + maxDays - 1, deleted);
+        }
+        catch (RuntimeException e) {
+            log.error("Could not remove the old score buckets", e);
+        }
+    }
+
+    /**
+     * @param window - the time window
+     * @param offset - position of the first user, 0 is the best user
+     * @param limit - maximum number of users
+     * @return the users of the page, best user first
+     */
+    public synchronized List<WindowRank> getPage(RankingWindow window, int offset, int limit) {
+        load();
+        roll();
+        if (offset + limit <= TOP_PAGE_SIZE) {
+            List<WindowRank> topPage = topPages.computeIfAbsent(window, w -> rank(w, 0, TOP_PAGE_SIZE));
+            return new ArrayList<>(topPage.subList(Math.min(offset, topPage.size()), Math.min(offset + limit, topPage.size())));
+        }
+        return rank(window, offset, limit);
+    }
+
+    /**
+     * @return the rank of the user in the window, or null if the user has no score in the window
+     */
+    public synchronized WindowRank getRank(RankingWindow window, Long userId) {
+        load();
+        roll();
+        RankIndex index = indexes.get(window);
+        Long score = index.getValue(userId);
+        return score == null ? null : new WindowRank(userId, score, index.countAbove(score) + 1);
+    }
+
+    private List<WindowRank> rank(RankingWindow window, int offset, int limit) {
+        RankIndex index = indexes.get(window);
+        List<WindowRank> ranks = new ArrayList<>();
+        long previousScore = Long.MIN_VALUE;
+        int previousRank = 0;
+        for (Long userId : index.getPage(offset, limit)) {
+            long score = index.getValue(userId);
+            // users with the same score share a rank
+            int rank = score == previousScore ? previousRank : index.countAbove(score) + 1;
+            ranks.add(new WindowRank(userId, score, rank));
+            previousScore = score;
+            previousRank = rank;
+        }
+        return Collections.unmodifiableList(ranks);
+    }
+
+    private void add(long day, Long userId, long score) {
+        if (score == 0 || day <= currentDay - maxDays || day > currentDay) {
+            return;
+        }
+        scoresByDay.computeIfAbsent(day, d -> new HashMap<>()).merge(userId, score, Long::sum);
+        for (RankingWindow window : RankingWindow.values()) {
+            if (day > currentDay - window.getDays()) {
+                change(window, userId, score);
+            }
+        }
+    }
+
+    private void roll() {
+        long today = today();
+        if (today <= currentDay) {
+            return;
+        }
+        if (today - currentDay >= maxDays) {
+            // every bucket dropped out of every window
+            scoresByDay.clear();
+            for (RankIndex index : indexes.values()) {
+                index.clear();
+            }
+            topPages.clear();
+            currentDay = today;
+            return;
+        }
+        while (currentDay < today) {
+            currentDay++;
+            for (RankingWindow window : RankingWindow.values()) {
+                Map<Long, Long> expired = scoresByDay.get(currentDay - window.getDays());
+                if (expired != null) {
+                    expired.forEach((userId, score) -> change(window, userId, -score));
+                }
+            }
+            scoresByDay.remove(currentDay - maxDays);
+        }
+    }
+
+    private void change(RankingWindow window, Long userId, long score) {
+        RankIndex index = indexes.get(window);
+        Long oldScore = index.getValue(userId);
+        long newScore = (oldScore == null ? 0 : oldScore) + score;
+        if (newScore == 0) {
+            index.remove(userId);
+        }
+        else {
+            index.put(userId, newScore);
+        }
+        topPages.remove(window);
+    }
+
+    /**
+     * Score and rank of a user in a time window
+     */
+    public static final class WindowRank {
+        private final Long userId;
+        private final long score;
+        private final int rank;
+
+        public WindowRank(Long userId, long score, int rank) {
+            this.userId = userId;
+            this.score = score;
+            this.rank = rank;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ch.uzh.ifi.seal.soprafs20.websocket;
+
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyEventType;
+import ch.uzh.ifi.seal.soprafs20.controller.LobbyController;
+import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.exceptions.BadRequestException;
+import ch.uzh.ifi.seal.soprafs20.exceptions.ForbiddenException;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.CluePostDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.GuessPostDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyCommandDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyEventDTO;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyCommandExecutor;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyNotificationService;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyService;
+import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Lobby WebSocket Handler
+ * A player connects to ws://host/lobbies/{lobbyId}/ws?token={token} and receives all changes of the lobby
+ * (see LobbyNotificationService). Over the same connection the player can send game commands
+ * ({"command": "...", "payload": ...}); they are executed exactly like the corresponding REST requests
+ * and answered with an ACCEPTED, CLUES, MYSTERY_WORDS, LOBBY_CHANGED or ERROR message.
+ */
+@Component
+public class LobbyWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String LOBBY_ID = "lobbyId";
+    private static final String TOKEN = "token";
+    private static final String OUTBOUND = "outbound";
+
+    private static final int SEND_TIME_LIMIT = 5000;
+    private static final int BUFFER_SIZE_LIMIT = 512 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(LobbyWebSocketHandler.class);
+
+    private final LobbyController lobbyController;
+    private final LobbyService lobbyService;
+    private final UserService userService;
+    private final LobbyNotificationService lobbyNotificationService;
+    private final LobbyCommandExecutor lobbyCommandExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LobbyWebSocketHandler(LobbyController lobbyController, LobbyService lobbyService, UserService userService,
+                                 LobbyNotificationService lobbyNotificationService, LobbyCommandExecutor lobbyCommandExecutor,
+                                 PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.lobbyController = lobbyController;
+        this.lobbyService = lobbyService;
+        this.userService = userService;
+        this.lobbyNotificationService = lobbyNotificationService;
+        this.lobbyCommandExecutor = lobbyCommandExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        Long lobbyId;
+        String token;
+        LobbyEventDTO currentState;
+        User user;
+        try {
+            lobbyId = getLobbyId(session);
+            token = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst(TOKEN);
+            user = userService.checkUserToken(token);
+            // only players of the lobby may listen to it
+            currentState = transactionTemplate.execute(status -> {
+                Lobby lobby = lobbyService.getLobbyById(lobbyId);
+                if (!lobbyService.isUsernameInLobby(user.getUsername(), lobby)) {
+                    throw new ForbiddenException("You are not in the requested Lobby. Therefore access is Forbidden.");
+                }
+                return lobbyNotificationService.createLobbyEvent(lobby);
+            });
+        }
+        catch (RuntimeException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(getMessage(e)));
+            return;
+        }
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT, BUFFER_SIZE_LIMIT);
+        session.getAttributes().put(LOBBY_ID, lobbyId);
+        session.getAttributes().put(TOKEN, token);
+        session.getAttributes().put(OUTBOUND, outbound);
+        // the player of a user has the id of the user
+        lobbyNotificationService.subscribe(lobbyId, user.getId(), outbound);
+        lobbyNotificationService.send(outbound, currentState);
+        log.debug("WebSocket session {} subscribed to Lobby {}", session.getId(), lobbyId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        WebSocketSession outbound = (WebSocketSession) session.getAttributes().get(OUTBOUND);
+        Long lobbyId = (Long) session.getAttributes().get(LOBBY_ID);
+        String token = (String) session.getAttributes().get(TOKEN);
+        LobbyCommandDTO command = null;
+        LobbyEventDTO answer;
+        try {
+            command = objectMapper.readValue(message.getPayload(), LobbyCommandDTO.class);
+            LobbyCommandDTO lobbyCommand = command;
+            // the transaction is committed before the next command of the lobby is processed
+            answer = lobbyCommandExecutor.call(lobbyId,
+                    () -> transactionTemplate.execute(status -> execute(lobbyCommand, lobbyId, token)));
+        }
+        catch (JsonProcessingException e) {
+            answer = createErrorEvent(lobbyId, "Invalid command: " + e.getOriginalMessage());
+        }
+        catch (RuntimeException e) {
+            answer = createErrorEvent(lobbyId, getMessage(e));
+        }
+        if (command != null) {
+            answer.setCommand(command.getCommand());
+        }
+        lobbyNotificationService.send(outbound, answer);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object outbound = session.getAttributes().get(OUTBOUND);
+        if (outbound != null) {
+            lobbyNotificationService.unsubscribe((Long) session.getAttributes().get(LOBBY_ID), (WebSocketSession) outbound);
+        }
+    }
+
+    private LobbyEventDTO execute(LobbyCommandDTO command, Long lobbyId, String token) {
+        if (command.getCommand() == null) {
+            throw new BadRequestException("No command given");
+        }
+        LobbyEventDTO answer = new LobbyEventDTO(LobbyEventType.ACCEPTED, lobbyId);
+        switch (command.getCommand()) {
+            case READY:
+                lobbyController.readyLobbyById(lobbyId, token);
+                break;
+            case START:
+                lobbyController.startLobbyById(lobbyId, token);
+                break;
+            case GET_CARD:
+                answer.setType(LobbyEventType.MYSTERY_WORDS);
+                answer.setMysteryWords(lobbyController.getMysteryWords(lobbyId, token));
+                break;
+            case NUMBER:
+                checkResponse(lobbyController.updateSelectedMysteryWord(lobbyId, payload(command, Integer.class), token));
+                break;
+            case ACCEPT_WORD:
+                checkResponse(lobbyController.acceptMysteryWord(lobbyId, token));
+                break;
+            case DECLINE_WORD:
+                checkResponse(lobbyController.declineMysteryWord(lobbyId, token));
+                break;
+            case ADD_CLUE:
+                lobbyController.addClue(lobbyId, token, payload(command, CluePostDTO.class));
+                break;
+            case GET_CLUES:
+                answer.setType(LobbyEventType.CLUES);
+                answer.setClues(lobbyController.getClues(lobbyId, token));
+                break;
+            case FLAG_CLUES:
+                List<Long> ids = objectMapper.convertValue(payload(command, JsonNode.class), new TypeReference<List<Long>>() {});
+                lobbyController.flagMultipleClue(lobbyId, token, ids);
+                break;
+            case GUESS:
+                checkResponse(lobbyController.guessMysteryWord(token, lobbyId, payload(command, GuessPostDTO.class)));
+                break;
+            case NEXT_ROUND:
+                checkResponse(lobbyController.nextRound(token, lobbyId));
+                break;
+            case STOP:
+                answer.setType(LobbyEventType.LOBBY_CHANGED);
+                answer.setLobby(lobbyController.stopLobbyById2(lobbyId, token));
+                break;
+            default:
+                throw new BadRequestException("Unknown command " + command.getCommand());
+        }
+        return answer;
+    }
+
+    private <T> T payload(LobbyCommandDTO command, Class<T> type) {
+        if (command.getPayload() == null || command.getPayload().isNull()) {
+            throw new BadRequestException("The command " + command.getCommand() + " needs a payload");
+        }
+        try {
+            return objectMapper.treeToValue(command.getPayload(), type);
+        }
+        catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid payload: " + e.getOriginalMessage());
+        }
+    }
+
+    private static void checkResponse(ResponseEntity<?> response) {
+        if (response.getStatusCode().isError()) {
+            throw new BadRequestException(String.valueOf(response.getBody()));
+        }
+    }
+
+    private static LobbyEventDTO createErrorEvent(Long lobbyId, String message) {
+        LobbyEventDTO error = new LobbyEventDTO(LobbyEventType.ERROR, lobbyId);
+        error.setMessage(message);
+        return error;
+    }
+
+    private static String getMessage(RuntimeException e) {
+        if (e instanceof ResponseStatusException) {
+            return ((ResponseStatusException) e).getReason();
+        }
+        return e.getMessage();
+    }
+
+    /**
+     * @return the lobby id of the path /lobbies/{lobbyId}/ws
+     */
+    private static Long getLobbyId(WebSocketSession session) {
+        String[] segments = session.getUri().getPath().split("/");
+        try {
+            return Long.valueOf(segments[segments.length - 2]);
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid lobby id");
+        }
+    }
+}
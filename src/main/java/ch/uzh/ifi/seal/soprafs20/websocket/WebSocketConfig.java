@@ -0,0 +1,27 @@
+package ch.uzh.ifi.seal.soprafs20.websocket;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registers the WebSocket endpoint of the lobbies: ws://host/lobbies/{lobbyId}/ws?token={token}
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final LobbyWebSocketHandler lobbyWebSocketHandler;
+
+    @Autowired
+    public WebSocketConfig(LobbyWebSocketHandler lobbyWebSocketHandler) {
+        this.lobbyWebSocketHandler = lobbyWebSocketHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(lobbyWebSocketHandler, "/lobbies/*/ws").setAllowedOrigins("*");
+    }
+}
@@ -0,0 +1,24 @@
+package ch.uzh.ifi.seal.soprafs20.bots;
+
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BotLexiconTest {
+
+    private final BotLexicon botLexicon = new BotLexicon();
+
+    @Test
+    public void lexiconLoadedFromClasspath() {
+        Assertions.assertEquals("Prison", botLexicon.getSynonym(Language.EN, "Alcatraz"));
+        Assertions.assertEquals("Freedom", botLexicon.getAntonym(Language.EN, "Alcatraz"));
+        Assertions.assertEquals("Gef\u00e4ngnis", botLexicon.getSynonym(Language.DE, "Alcatraz"));
+        Assertions.assertEquals("Freiheit", botLexicon.getAntonym(Language.DE, "Alcatraz"));
+    }
+
+    @Test
+    public void relationsAreSymmetric() {
+        Assertions.assertEquals("Alcatraz", botLexicon.getSynonym(Language.EN, "Prison"));
+        Assertions.assertNull(botLexicon.getAntonym(Language.EN, "unknown"));
+    }
+}
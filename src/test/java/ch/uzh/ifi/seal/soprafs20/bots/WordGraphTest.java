@@ -0,0 +1,44 @@
+package ch.uzh.ifi.seal.soprafs20.bots;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class WordGraphTest {
+
+    private WordGraph read(String lines) throws IOException {
+        return WordGraph.read(new BufferedReader(new StringReader(lines)));
+    }
+
+    @Test
+    public void read_relationsInBothDirections() throws IOException {
+        WordGraph graph = read("# word,synonyms,related,antonyms\n"
+                + "Sun,Star,Day|Light,Moon\n"
+                + "Star,Sun|Planet,,\n"
+                + "\n"
+                + "Moon,,Night,sun\n");
+
+        Assertions.assertEquals(7, graph.size());
+        Assertions.assertEquals(Arrays.asList("Sun", "Planet"), graph.get("star", WordGraph.Relation.SYNONYM));
+        Assertions.assertEquals(Collections.singletonList("Star"), graph.get("Sun", WordGraph.Relation.SYNONYM));
+        Assertions.assertEquals(Arrays.asList("Day", "Light"), graph.get("SUN", WordGraph.Relation.RELATED));
+        Assertions.assertEquals("Sun", graph.first("Light", WordGraph.Relation.RELATED));
+        Assertions.assertEquals(Collections.singletonList("Sun"), graph.get("Moon", WordGraph.Relation.ANTONYM));
+        Assertions.assertEquals("Moon", graph.first("Sun", WordGraph.Relation.ANTONYM));
+    }
+
+    @Test
+    public void unknownWord_noRelations() throws IOException {
+        WordGraph graph = read("Sun,Star,,\n");
+
+        Assertions.assertNull(graph.first("Moon", WordGraph.Relation.SYNONYM));
+        Assertions.assertNull(graph.first("Sun", WordGraph.Relation.ANTONYM));
+        Assertions.assertNull(graph.first(null, WordGraph.Relation.SYNONYM));
+        Assertions.assertTrue(graph.get("Moon", WordGraph.Relation.RELATED).isEmpty());
+    }
+}
@@ -4,11 +4,16 @@ import ch.uzh.ifi.seal.soprafs20.constant.*;
 import ch.uzh.ifi.seal.soprafs20.entity.*;
 import ch.uzh.ifi.seal.soprafs20.exceptions.*;
 import static java.lang.Math.toIntExact;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyOverviewGetDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyPageGetDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyPostDTO;
 //import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyPutDTO;
 import ch.uzh.ifi.seal.soprafs20.service.ClueService;
+import ch.uzh.ifi.seal.soprafs20.service.DefinitionService;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyCommandExecutor;
 import ch.uzh.ifi.seal.soprafs20.service.LobbyService;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyVersionService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -19,6 +24,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -41,6 +47,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * This tests if the LobbyController works.
  */
 @WebMvcTest(LobbyController.class)
+@Import({LobbyCommandExecutor.class, LobbyVersionService.class})
 class LobbyControllerTest {
 
     @Autowired
@@ -56,6 +63,11 @@ class LobbyControllerTest {
     private ClueService clueService;
     @MockBean
     private GameService gameService;
+    @MockBean
+    private DefinitionService definitionService;
+
+    @Autowired
+    private LobbyVersionService lobbyVersionService;
 
     /**
      * Tests post /lobbies
@@ -200,6 +212,29 @@ class LobbyControllerTest {
         ;
     }
 
+    @Test
+    void getLobbyPage_filtersPassed_pageReturned() throws Exception {
+        LobbyOverviewGetDTO overview = new LobbyOverviewGetDTO(1L, "testName", LobbyStatus.WAITING,
+                GameModeStatus.BOTS, Language.EN, 3L);
+        given(lobbyService.getLobbyPage("abc", 10, LobbyStatus.WAITING, Language.EN, null))
+                .willReturn(new LobbyPageGetDTO(Collections.singletonList(overview), "testname"));
+
+        MockHttpServletRequestBuilder getRequest = get("/lobbies/browser")
+                .param("after", "abc")
+                .param("size", "10")
+                .param("lobbyStatus", "WAITING")
+                .param("language", "EN");
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lobbies[0].id", is(1)))
+                .andExpect(jsonPath("$.lobbies[0].lobbyName", is("testName")))
+                .andExpect(jsonPath("$.lobbies[0].numberOfPlayers", is(3)))
+                .andExpect(jsonPath("$.lobbies[0].language", is("EN")))
+                .andExpect(jsonPath("$.lobbies[0].players").doesNotExist())
+                .andExpect(jsonPath("$.next", is("testname")));
+    }
+
     /**
      * Tests getting lobbies/{lobbyId}
      * Valid Input, returns the Lobby data
@@ -247,6 +282,55 @@ class LobbyControllerTest {
                 ;
     }
 
+    /**
+     * Tests getting lobbies/{lobbyId} with If-None-Match
+     * The Lobby did not change, returns 304 without checking the token or loading the lobby again
+     */
+    @Test
+    void getSpecificLobby_notChanged_notModifiedReturned() throws Exception {
+        Lobby lobby = createWaitingLobby(2L);
+        given(lobbyService.isUsernameInLobby(Mockito.anyString(), Mockito.any())).willReturn(true);
+        given(lobbyService.getLobbyById(Mockito.anyLong())).willReturn(lobby);
+
+        String eTag = mockMvc.perform(get("/lobbies/2").header("Token", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/lobbies/2").header("Token", "1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(userService, Mockito.times(1)).checkUserToken(Mockito.any());
+        Mockito.verify(lobbyService, Mockito.times(1)).getLobbyById(Mockito.anyLong());
+    }
+
+    /**
+     * Tests getting lobbies/{lobbyId} with If-None-Match
+     * The Lobby changed or another user sends the ETag, returns the Lobby again
+     */
+    @Test
+    void getSpecificLobby_changedOrOtherToken_lobbyReturned() throws Exception {
+        Lobby lobby = createWaitingLobby(3L);
+        given(lobbyService.isUsernameInLobby(Mockito.anyString(), Mockito.any())).willReturn(true);
+        given(lobbyService.getLobbyById(Mockito.anyLong())).willReturn(lobby);
+
+        String eTag = mockMvc.perform(get("/lobbies/3").header("Token", "1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // another user has to pass the access check
+        given(lobbyService.isUsernameInLobby(Mockito.anyString(), Mockito.any())).willReturn(false);
+        mockMvc.perform(get("/lobbies/3").header("Token", "2").header("If-None-Match", eTag))
+                .andExpect(status().isForbidden());
+
+        lobbyVersionService.changed(3L);
+        given(lobbyService.isUsernameInLobby(Mockito.anyString(), Mockito.any())).willReturn(true);
+        mockMvc.perform(get("/lobbies/3").header("Token", "1").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(3)))
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
     /**
      * Tests joining lobbies/{lobbyId}/join
      * Valid Input, adds the User that sends the request to the Lobby
@@ -329,6 +413,27 @@ class LobbyControllerTest {
                 .andDo(print());
     }
 
+    /**
+     * Helper Method to create a waiting Lobby whose Player is returned by the token check
+     */
+    private Lobby createWaitingLobby(long lobbyId) {
+        User testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testName");
+        testUser.setToken("1");
+        Player testPlayer = new Player(testUser);
+        testPlayer.setRole(PlayerRole.GUESSER);
+        Lobby lobby = new Lobby();
+        lobby.setId(lobbyId);
+        lobby.addPlayer(testPlayer);
+        lobby.setGameMode(GameModeStatus.HUMANS);
+        lobby.setLobbyStatus(LobbyStatus.WAITING);
+        lobby.setCreator(testPlayer);
+        lobby.setLanguage(Language.EN);
+        given(userService.checkUserToken(Mockito.any())).willReturn(testUser);
+        return lobby;
+    }
+
     /**
      * Helper Method to convert lobbyPostDTO into a JSON string such that the input can be processed
      * Input will look like this: {"name": "Test Lobby", "lobbyName": "testName"}
@@ -453,7 +558,7 @@ class LobbyControllerTest {
         String word = "Star";
 
         given(userService.checkUserToken(Mockito.anyString())).willReturn(testUser);
-        doNothing().when(lobbyService).nextRound(Mockito.anyLong(), Mockito.anyString());
+        given(definitionService.getDefinitionOfWord(word)).willReturn("{\"id\":\"star\"}");
 
 
         // make get Request to Lobby with id
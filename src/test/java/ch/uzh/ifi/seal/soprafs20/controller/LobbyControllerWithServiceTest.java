@@ -2,6 +2,7 @@ package ch.uzh.ifi.seal.soprafs20.controller;
 
 import ch.uzh.ifi.seal.soprafs20.constant.GameModeStatus;
 import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.MysteryWordStatus;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
 import ch.uzh.ifi.seal.soprafs20.constant.UserStatus;
 import ch.uzh.ifi.seal.soprafs20.entity.*;
@@ -14,6 +15,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -21,6 +23,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.util.Assert;
 
+import java.util.Date;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.is;
@@ -33,6 +36,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(LobbyController.class)
+@Import({LobbyCommandExecutor.class, LobbyVersionService.class})
 class LobbyControllerWithServiceTest {
 
 
@@ -72,17 +76,33 @@ class LobbyControllerWithServiceTest {
     private MysteryWordRepository mysteryWordRepository;
     @MockBean
     private ClueService clueService;
+    @MockBean
+    private LobbyStateService lobbyStateService;
+    @MockBean
+    private LobbyNotificationService lobbyNotificationService;
+    @MockBean
+    private TokenCacheService tokenCacheService;
+    @MockBean
+    private SessionTokenService sessionTokenService;
+    @MockBean
+    private DefinitionService definitionService;
+    @MockBean
+    private StatsService statsService;
+    @MockBean
+    private LeaderboardService leaderboardService;
+    @MockBean
+    private WindowedLeaderboardService windowedLeaderboardService;
 
     @BeforeEach
     public void setup() {
-        playerService = new PlayerService(playerRepository);
-        userService = new UserService(userRepository);
+        playerService = new PlayerService(playerRepository, lobbyStateService, tokenCacheService, sessionTokenService);
+        userService = new UserService(userRepository, tokenCacheService, sessionTokenService, playerService, leaderboardService, windowedLeaderboardService);
         mysteryWordService = new MysteryWordService(mysteryWordRepository);
         deckService = new DeckService(deckRepository, cardService);
         cardService = new CardService(cardRepository, mysteryWordService);
-        gameService = new GameService(gameRepository,statsRepository, userService, clueService);
-        lobbyService = new LobbyService(lobbyRepository, userService, playerService, deckService, cardService, gameService, mysteryWordService);
-        LobbyController lc = new LobbyController(userService, lobbyService, playerService, clueService, gameService);
+        gameService = new GameService(gameRepository,statsRepository, statsService, lobbyStateService, lobbyNotificationService);
+        lobbyService = new LobbyService(lobbyRepository, userService, playerService, deckService, cardService, gameService, lobbyStateService, lobbyNotificationService, tokenCacheService, new DeckPoolService(deckService, 0, 0, 0, 0), clueService, definitionService);
+        LobbyController lc = new LobbyController(userService, lobbyService, playerService, clueService, gameService, new LobbyCommandExecutor(10000), new LobbyVersionService(), definitionService);
         mockMvc = MockMvcBuilders.standaloneSetup(lc).build();
     }
 
@@ -215,6 +235,10 @@ class LobbyControllerWithServiceTest {
         testPlayer2.setRole(PlayerRole.CLUE_CREATOR);
         lobby.addPlayer(testPlayer2);
         lobby.setDeck(prepareDeck());
+        // the first word is selected in this lobby
+        Game game = new Game();
+        game.getRoundState().select(lobby.getDeck().getActiveCard().getMysteryWords().get(0).getNumber(), new Date());
+        lobby.setGame(game);
 
         createRepositoryMock(lobby, testUser, testPlayer, testUser2, testPlayer2);
 
@@ -231,10 +255,10 @@ class LobbyControllerWithServiceTest {
                 result.andExpect(status().isOk())
                         .andExpect(jsonPath("$.[0].id", is(mysteryWord.getId().intValue())))
                         .andExpect(jsonPath("$.[0].word", is(mysteryWord.getWord())))
-                        .andExpect(jsonPath("$.[0].status", is(mysteryWord.getStatus().toString())))
+                        .andExpect(jsonPath("$.[0].status", is(MysteryWordStatus.IN_USE.toString())))
                         .andExpect(jsonPath("$.[1].id", is(mysteryWord2.getId().intValue())))
                         .andExpect(jsonPath("$.[1].word", is(mysteryWord2.getWord())))
-                        .andExpect(jsonPath("$.[1].status", is(mysteryWord2.getStatus().toString())))
+                        .andExpect(jsonPath("$.[1].status", is(MysteryWordStatus.NOT_USED.toString())))
                 .andDo(print());
 
         /*.andExpect(jsonPath("$.id", is(lobby.getDeck().getActiveCard().getMysteryWords().getId().intValue())))
@@ -3,6 +3,8 @@ package ch.uzh.ifi.seal.soprafs20.controller;
 import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
+import ch.uzh.ifi.seal.soprafs20.constant.RankingOrderBy;
+import ch.uzh.ifi.seal.soprafs20.constant.RankingWindow;
 import ch.uzh.ifi.seal.soprafs20.constant.UserStatus;
 import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
@@ -10,11 +12,14 @@ import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.exceptions.NotFoundException;
 import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
 import ch.uzh.ifi.seal.soprafs20.exceptions.UnauthorizedException;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.UserDeleteDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.UserPostDTO;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
+import ch.uzh.ifi.seal.soprafs20.service.LobbyCommandExecutor;
 import ch.uzh.ifi.seal.soprafs20.service.LobbyService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import ch.uzh.ifi.seal.soprafs20.service.WindowedLeaderboardService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -23,18 +28,21 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -47,6 +55,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * This tests if the UserController works.
  */
 @WebMvcTest(UserController.class)
+@Import(LobbyCommandExecutor.class)
 class UserControllerTest {
 
     @Autowired
@@ -873,6 +882,159 @@ class UserControllerTest {
     }
 
 
+    /**
+     * Tests getting a page of the ranking ordered by score
+     * Valid Input, returns the users of the page with their rank
+     */
+    @Test
+    void getRanking_validInput_pageWithRanks() throws Exception {
+        // given
+        User first = new User();
+        first.setId(1L);
+        first.setUsername("first");
+        first.setScore(300L);
+        User second = new User();
+        second.setId(2L);
+        second.setUsername("second");
+        second.setScore(100L);
+
+        given(userService.checkUserToken(Mockito.anyString())).willReturn(first);
+        given(userService.getAllUsersOrderBy(RankingOrderBy.SCORE, 1, 2)).willReturn(List.of(first, second));
+        given(userService.getRank(RankingOrderBy.SCORE, first)).willReturn(3);
+        given(userService.getRank(RankingOrderBy.SCORE, second)).willReturn(4);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/ranking/SCORE?page=1&size=2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Token", "1");
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].username", is("first")))
+                .andExpect(jsonPath("$[0].rank", is(3)))
+                .andExpect(jsonPath("$[1].score", is(100)))
+                .andExpect(jsonPath("$[1].rank", is(4)));
+    }
+
+    /**
+     * Tests getting the rank of the requesting user
+     * Valid Input, returns the user with its rank
+     */
+    @Test
+    void getOwnRanking_validInput_rankReturned() throws Exception {
+        // given
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("me");
+        user.setBestClues(7L);
+
+        given(userService.checkUserToken(Mockito.anyString())).willReturn(user);
+        given(userService.getUserByID(1L)).willReturn(user);
+        given(userService.getRank(RankingOrderBy.BEST_CLUES, user)).willReturn(12);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/ranking/BEST_CLUES/me")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Token", "1");
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("me")))
+                .andExpect(jsonPath("$.bestClues", is(7)))
+                .andExpect(jsonPath("$.rank", is(12)));
+    }
+
+    /**
+     * Tests deleting a user that is still a player of a lobby
+     * Valid Input, the player is removed from its lobby before the user is deleted
+     */
+    @Test
+    void deleteUser_playerOfLobby_removedFromLobby() throws Exception {
+        // given
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("me");
+        user.setToken("1");
+        UserDeleteDTO userDeleteDTO = new UserDeleteDTO();
+        userDeleteDTO.setPassword("pw");
+
+        given(userService.checkUserToken(Mockito.anyString())).willReturn(user);
+        given(userService.authenticateDeletion(Mockito.eq(1L), Mockito.eq("1"), Mockito.any())).willReturn(user);
+        given(lobbyService.getLobbyIdOfUser(user)).willReturn(10L);
+
+        // when
+        MockHttpServletRequestBuilder deleteRequest = delete("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(userDeleteDTO))
+                .header("Token", "1");
+
+        // then
+        mockMvc.perform(deleteRequest).andExpect(status().isNoContent());
+        Mockito.verify(lobbyService, Mockito.times(1)).removeFromLobbyAndDeletePlayer(user);
+        Mockito.verify(userService, Mockito.times(1)).deleteUser(user);
+    }
+
+    /**
+     * Tests getting a page of the weekly leaderboard
+     * Valid Input, returns the users of the page with their weekly score and rank
+     */
+    @Test
+    void getWindowRanking_validInput_pageWithScores() throws Exception {
+        // given
+        User first = new User();
+        first.setId(1L);
+        first.setUsername("first");
+        User second = new User();
+        second.setId(2L);
+        second.setUsername("second");
+
+        given(userService.checkUserToken(Mockito.anyString())).willReturn(first);
+        given(userService.getWindowRanking(RankingWindow.WEEKLY, 0, 100)).willReturn(List.of(
+                new WindowedLeaderboardService.WindowRank(2L, 50L, 1),
+                new WindowedLeaderboardService.WindowRank(1L, 20L, 2)));
+        given(userService.getUsersByIds(List.of(2L, 1L))).willReturn(Map.of(1L, first, 2L, second));
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/leaderboard/WEEKLY")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Token", "1");
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].username", is("second")))
+                .andExpect(jsonPath("$[0].score", is(50)))
+                .andExpect(jsonPath("$[1].id", is(1)))
+                .andExpect(jsonPath("$[1].rank", is(2)));
+    }
+
+    /**
+     * Tests getting the daily rank of a user without a finished game today
+     * Valid Input, returns the user without a rank
+     */
+    @Test
+    void getOwnWindowRanking_noGameInWindow_noRank() throws Exception {
+        // given
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("me");
+
+        given(userService.checkUserToken(Mockito.anyString())).willReturn(user);
+        given(userService.getWindowRank(RankingWindow.DAILY, user)).willReturn(null);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/users/leaderboard/DAILY/me")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Token", "1");
+
+        // then
+        mockMvc.perform(getRequest).andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("me")))
+                .andExpect(jsonPath("$.score", is(0)))
+                .andExpect(jsonPath("$.rank", nullValue()));
+    }
+
     /**
      * Helper Method to convert userPostDTO into a JSON string such that the input can be processed
      * Input will look like this: {"name": "Test User", "username": "testUsername"}
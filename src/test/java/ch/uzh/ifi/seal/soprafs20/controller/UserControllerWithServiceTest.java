@@ -21,6 +21,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -41,6 +42,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(UserController.class)
+@Import(LobbyCommandExecutor.class)
 class UserControllerWithServiceTest {
 
     @Autowired
@@ -62,6 +64,22 @@ class UserControllerWithServiceTest {
     private ClueService clueService;
     @MockBean
     private MysteryWordService mysteryWordService;
+    @MockBean
+    private LobbyStateService lobbyStateService;
+    @MockBean
+    private LobbyNotificationService lobbyNotificationService;
+    @MockBean
+    private TokenCacheService tokenCacheService;
+    @MockBean
+    private SessionTokenService sessionTokenService;
+    @MockBean
+    private DefinitionService definitionService;
+    @MockBean
+    private StatsService statsService;
+    @MockBean
+    private LeaderboardService leaderboardService;
+    @MockBean
+    private WindowedLeaderboardService windowedLeaderboardService;
 
 
     @MockBean
@@ -80,12 +98,11 @@ class UserControllerWithServiceTest {
 
     @BeforeEach
     public void setup() {
-        userService = new UserService(userRepository);
-        mysteryWordService = new MysteryWordService(mysteryWordRepository);
-        lobbyService = new LobbyService(lobbyRepository, userService, playerService, deckService, cardService, gameService, mysteryWordService);
-        playerService = new PlayerService(playerRepository);
-        gameService = new GameService(gameRepository,statsRepository, userService, clueService);
-        UserController uc = new UserController(userService, lobbyService, playerService, gameService);
+        userService = new UserService(userRepository, tokenCacheService, sessionTokenService, playerService, leaderboardService, windowedLeaderboardService);
+        lobbyService = new LobbyService(lobbyRepository, userService, playerService, deckService, cardService, gameService, lobbyStateService, lobbyNotificationService, tokenCacheService, new DeckPoolService(deckService, 0, 0, 0, 0), clueService, definitionService);
+        playerService = new PlayerService(playerRepository, lobbyStateService, tokenCacheService, sessionTokenService);
+        gameService = new GameService(gameRepository,statsRepository, statsService, lobbyStateService, lobbyNotificationService);
+        UserController uc = new UserController(userService, lobbyService, playerService, gameService, new LobbyCommandExecutor(10000));
         mockMvc = MockMvcBuilders.standaloneSetup(uc).build();
     }
 
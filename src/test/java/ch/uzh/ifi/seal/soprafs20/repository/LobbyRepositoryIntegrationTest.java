@@ -4,11 +4,16 @@ import ch.uzh.ifi.seal.soprafs20.constant.*;
 import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
 import ch.uzh.ifi.seal.soprafs20.entity.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.LobbyOverviewGetDTO;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.PersistenceException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +27,10 @@ class LobbyRepositoryIntegrationTest {
     @Autowired
     private LobbyRepository lobbyRepository;
 
+    @Qualifier("playerRepository")
+    @Autowired
+    private PlayerRepository playerRepository;
+
 
     /**
      * Tests the find ByUsername Method.
@@ -63,6 +72,31 @@ class LobbyRepositoryIntegrationTest {
         assertNull(found);
     }
 
+    /**
+     * Tests the existsByNormalizedLobbyName Method.
+     * Lobby names are compared ignoring case
+     */
+    @Test
+    void existsByNormalizedLobbyName_ignoresCase() {
+        entityManager.persist(createLobby("Testcase_Lobby"));
+        entityManager.flush();
+
+        assertTrue(lobbyRepository.existsByNormalizedLobbyName("testcase_lobby"));
+        assertFalse(lobbyRepository.existsByNormalizedLobbyName("testcase_lobby2"));
+    }
+
+    /**
+     * Two Lobbies whose names only differ in case are rejected by the unique index
+     */
+    @Test
+    void persist_sameLobbyNameOtherCase_rejected() {
+        entityManager.persist(createLobby("Testcase_Lobby"));
+        entityManager.flush();
+
+        entityManager.persist(createLobby("TESTCASE_lobby"));
+        assertThrows(PersistenceException.class, () -> entityManager.flush());
+    }
+
     /**
      * Tests find Lobby By Token method
      * Should find correct lobby
@@ -139,6 +173,62 @@ class LobbyRepositoryIntegrationTest {
         assertNull(found);
     }
 
+    /**
+     * The lobby of a player is found over the foreign key of the player
+     */
+    @Test
+    void findLobbyIdOfPlayer_success() {
+        Player player = new Player(createUser("testUser", "1"));
+        player.setRole(PlayerRole.GUESSER);
+        Player otherPlayer = new Player(createUser("testUser2", "2"));
+        otherPlayer.setRole(PlayerRole.GUESSER);
+        entityManager.persist(otherPlayer);
+        Lobby lobby = createLobby("Testcase_Lobby");
+        lobby.addPlayer(player);
+        entityManager.persist(lobby);
+        entityManager.flush();
+
+        assertEquals(lobby.getId(), playerRepository.findLobbyIdByPlayerId(player.getId()).orElseThrow());
+        assertEquals(lobby.getId(), playerRepository.findLobbyIdByUsername("testUser").orElseThrow());
+        assertTrue(playerRepository.findLobbyIdByPlayerId(otherPlayer.getId()).isEmpty());
+        assertTrue(playerRepository.findLobbyIdByUsername("testUser2").isEmpty());
+    }
+
+    /**
+     * The overview is ordered by name, continues after the cursor and applies the filters
+     */
+    @Test
+    void findOverviewPage_keysetAndFilters() {
+        Lobby lobbyA = createLobby("a_Lobby");
+        Player player = new Player(createUser("testUser", "1"));
+        player.setRole(PlayerRole.GUESSER);
+        lobbyA.addPlayer(player);
+        entityManager.persist(lobbyA);
+        Lobby lobbyB = createLobby("B_Lobby");
+        lobbyB.setLanguage(Language.EN);
+        entityManager.persist(lobbyB);
+        Lobby lobbyC = createLobby("c_Lobby");
+        lobbyC.setLobbyStatus(LobbyStatus.RUNNING);
+        entityManager.persist(lobbyC);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LobbyOverviewGetDTO> firstPage = lobbyRepository.findOverviewPage(null, null, null, null, PageRequest.of(0, 2));
+        assertEquals(2, firstPage.size());
+        assertEquals("a_Lobby", firstPage.get(0).getLobbyName());
+        assertEquals(1, firstPage.get(0).getNumberOfPlayers());
+        assertEquals("B_Lobby", firstPage.get(1).getLobbyName());
+        assertEquals(0, firstPage.get(1).getNumberOfPlayers());
+
+        List<LobbyOverviewGetDTO> secondPage = lobbyRepository.findOverviewPage("b_lobby", null, null, null, PageRequest.of(0, 2));
+        assertEquals(1, secondPage.size());
+        assertEquals("c_Lobby", secondPage.get(0).getLobbyName());
+
+        List<LobbyOverviewGetDTO> filtered = lobbyRepository.findOverviewPage(null, LobbyStatus.WAITING, Language.DE, GameModeStatus.HUMANS, PageRequest.of(0, 10));
+        assertEquals(1, filtered.size());
+        assertEquals(lobbyA.getId(), filtered.get(0).getId());
+    }
+
     private User createUser(String userName, String token) {
         User user = new User();
         user.setId(Long.valueOf(token));
@@ -145,4 +145,23 @@ class UserRepositoryIntegrationTest {
         // then
         assertNull(found);
     }
+
+    /**
+     * Tests the existsByNormalizedUsername Method.
+     * Usernames are compared ignoring case
+     */
+    @Test
+    void existsByNormalizedUsername_ignoresCase() {
+        User user = new User();
+        user.setUsername("Firstname@Lastname");
+        user.setPassword("pw");
+        user.setStatus(UserStatus.OFFLINE);
+        user.setToken("1");
+
+        entityManager.persist(user);
+        entityManager.flush();
+
+        assertTrue(userRepository.existsByNormalizedUsername("firstname@lastname"));
+        assertFalse(userRepository.existsByNormalizedUsername("firstname"));
+    }
 }
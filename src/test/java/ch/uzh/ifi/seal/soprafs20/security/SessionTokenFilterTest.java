@@ -0,0 +1,61 @@
+package ch.uzh.ifi.seal.soprafs20.security;
+
+import ch.uzh.ifi.seal.soprafs20.service.SessionTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokenFilterTest {
+
+    private SessionTokenService sessionTokenService;
+    private SessionTokenFilter sessionTokenFilter;
+    private MockHttpServletResponse response;
+    private MockFilterChain filterChain;
+
+    @BeforeEach
+    public void setup() {
+        sessionTokenService = new SessionTokenService(true, "secret", 60_000);
+        sessionTokenFilter = new SessionTokenFilter(sessionTokenService);
+        response = new MockHttpServletResponse();
+        filterChain = new MockFilterChain();
+    }
+
+    @Test
+    void validToken_passesWithSessionToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lobbies");
+        request.addHeader("Token", sessionTokenService.issue(3L));
+
+        sessionTokenFilter.doFilter(request, response, filterChain);
+
+        assertSame(request, filterChain.getRequest());
+        SessionTokenService.SessionToken sessionToken = (SessionTokenService.SessionToken) request.getAttribute(SessionTokenFilter.SESSION_TOKEN);
+        assertEquals(3L, sessionToken.getPlayerId());
+    }
+
+    @Test
+    void invalidOrRevokedToken_unauthorized() throws Exception {
+        String token = sessionTokenService.issue(3L);
+        sessionTokenService.revoke(token);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lobbies/1/ws");
+        request.addParameter("token", token);
+
+        sessionTokenFilter.doFilter(request, response, filterChain);
+
+        assertNull(filterChain.getRequest());
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    }
+
+    @Test
+    void noToken_passes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users");
+
+        sessionTokenFilter.doFilter(request, response, filterChain);
+
+        assertSame(request, filterChain.getRequest());
+    }
+}
@@ -0,0 +1,67 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.bots.CrazyBot;
+import ch.uzh.ifi.seal.soprafs20.bots.FriendlyBot;
+import ch.uzh.ifi.seal.soprafs20.bots.MaliciousBot;
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
+import ch.uzh.ifi.seal.soprafs20.entity.MysteryWord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BotClueServiceTest {
+
+    @Mock
+    private FriendlyBot friendlyBot;
+    @Mock
+    private MaliciousBot maliciousBot;
+    @Mock
+    private CrazyBot crazyBot;
+
+    private BotClueService botClueService;
+    private MysteryWord mysteryWord;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.when(friendlyBot.getClue(Mockito.any(), Mockito.any())).thenReturn("Prison");
+        Mockito.when(maliciousBot.getClue(Mockito.any(), Mockito.any())).thenReturn("Freedom");
+        Mockito.when(crazyBot.getClue(Mockito.any(), Mockito.any())).thenReturn("Zebra", "Tulip");
+        botClueService = new BotClueService(friendlyBot, maliciousBot, crazyBot, 2);
+        mysteryWord = new MysteryWord();
+        mysteryWord.setWord("Alcatraz");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        botClueService.shutdown();
+    }
+
+    @Test
+    void computeClue_eachBot_answersWithItsClue() {
+        assertEquals("Prison", botClueService.computeClue(PlayerType.FRIENDLYBOT, mysteryWord, Language.EN).join());
+        assertEquals("Freedom", botClueService.computeClue(PlayerType.MALICIOUSBOT, mysteryWord, Language.EN).join());
+
+        Mockito.verify(friendlyBot, Mockito.times(1)).getClue(mysteryWord, Language.EN);
+        Mockito.verify(maliciousBot, Mockito.times(1)).getClue(mysteryWord, Language.EN);
+    }
+
+    @Test
+    void computeClue_crazyBot_newClueEveryTime() {
+        assertEquals("Zebra", botClueService.computeClue(PlayerType.CRAZYBOT, mysteryWord, Language.EN).join());
+        assertEquals("Tulip", botClueService.computeClue(PlayerType.CRAZYBOT, mysteryWord, Language.EN).join());
+    }
+
+    @Test
+    void computeClue_noBot_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> botClueService.computeClue(PlayerType.HUMAN, mysteryWord, Language.EN));
+    }
+}
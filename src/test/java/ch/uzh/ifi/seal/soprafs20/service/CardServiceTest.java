@@ -9,10 +9,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doNothing;
@@ -98,12 +102,12 @@ class CardServiceTest {
     void getCards_validInputs_success() {
 
         List<Card> cardList = new ArrayList<>();
-        cardList.add(card);
+        cardList.add(getCard(1L));
         cardList.add(getCard(3L));
         //TODO Revert after demo
         //cardList.add(getCard(4L));
         //cardList.add(getCard(5L));
-        Mockito.when(cardRepository.findByLanguage(Language.EN)).thenReturn(cardList);
+        Mockito.when(cardRepository.findAllWithMysteryWords()).thenReturn(cardList);
 
         // when -> any object is being save in the cardRepository -> return the dummy testUser
         List<Card> cardLocalList = cardService.getCards(Language.EN,3);
@@ -111,6 +115,36 @@ class CardServiceTest {
         assertEquals(cardList.size(), cardLocalList.size());
     }
 
+    /**
+     * Draws distinct cards from the catalog, the catalog is loaded once and reloaded after a card is saved
+     */
+    @Test
+    void getCards_largeCatalog_loadedOnce() {
+        List<Card> cards = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            cards.add(getCard(id));
+        }
+        card.setId(100_001L);
+        cards.add(card);
+        Mockito.when(cardRepository.findAllWithMysteryWords()).thenReturn(cards);
+
+        List<Card> first = cardService.getCards(Language.EN, 13);
+        List<Card> second = cardService.getCards(Language.EN, 13);
+        List<Card> german = cardService.getCards(Language.DE, 13);
+
+        assertEquals(13, first.size());
+        assertEquals(13, new HashSet<>(first).size());
+        assertEquals(13, new HashSet<>(second).size());
+        assertEquals(Collections.singletonList(card), german);
+        assertSame(card, cardService.getCardById(100_001L));
+        Mockito.verify(cardRepository, Mockito.times(1)).findAllWithMysteryWords();
+        Mockito.verify(cardRepository, Mockito.never()).findById(Mockito.any());
+
+        cardService.save(getCard(100_002L));
+        cardService.getCards(Language.EN, 13);
+        Mockito.verify(cardRepository, Mockito.times(2)).findAllWithMysteryWords();
+    }
+
     private Card getCard(long l) {
         Card newCard = Card.getInstance();
         newCard.setId(l);
@@ -1,6 +1,5 @@
 package ch.uzh.ifi.seal.soprafs20.service;
 
-import ch.uzh.ifi.seal.soprafs20.bots.FriendlyBot;
 import ch.uzh.ifi.seal.soprafs20.constant.*;
 import ch.uzh.ifi.seal.soprafs20.entity.*;
 import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
@@ -11,7 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -25,9 +26,15 @@ class ClueServiceTest {
     private PlayerService playerService;
     @Mock
     private GameService gameService;
+    @Mock
+    private LobbyStateService lobbyStateService;
+    @Mock
+    private LobbyNotificationService lobbyNotificationService;
 
     @Mock
-    private FriendlyBot friendlyBot = new FriendlyBot(Language.EN);
+    private BotClueService botClueService;
+    @Mock
+    private LobbyCommandExecutor lobbyCommandExecutor;
 
     @InjectMocks
     private ClueService clueService;
@@ -78,14 +85,14 @@ class ClueServiceTest {
         player4.setStatus(PlayerStatus.WAITING_FOR_CLUES);
         mysteryWord = new MysteryWord();
         mysteryWord.setWord("test");
-        mysteryWord.setStatus(MysteryWordStatus.IN_USE);
         card = new Card();
         List<MysteryWord> mysterywords = new ArrayList();
         mysterywords.add(mysteryWord);
         card.setMysteryWords(mysterywords);
         deck = new Deck();
-        deck.setActiveCard(card);
+        deck.addCard(card);
         game = new Game();
+        game.getRoundState().select(mysteryWord.getNumber(), new Date());
         lobby = new Lobby();
         lobby.addPlayer(player1);
         lobby.addPlayer(player2);
@@ -93,7 +100,6 @@ class ClueServiceTest {
         lobby.addPlayer(player4);
         lobby.setDeck(deck);
         lobby.setGame(game);
-        Mockito.doThrow(new RuntimeException()).when(gameService).updateClueGeneratorStats(Mockito.any());
 
     }
 
@@ -111,6 +117,16 @@ class ClueServiceTest {
        Assertions.assertNotNull(savedClue.getFlagCounter());
    }
 
+   @Test
+    void addClueNoTimeForClue(){
+       Mockito.when(playerService.getPlayerByToken(Mockito.any())).thenReturn(player1);
+       Clue clue = new Clue();
+       clue.setHint("hint");
+       when(clueRepository.save(clue)).thenReturn(clue);
+       Clue savedClue = clueService.addClue(clue, lobby, player1.getToken());
+       Assertions.assertEquals(0L, savedClue.getTimeForClue());
+   }
+
    @Test
     void addClueEmptySpace(){
        Mockito.when(playerService.getPlayerByToken(Mockito.any())).thenReturn(player1);
@@ -296,7 +312,7 @@ class ClueServiceTest {
 
    @Test
    void botAnnotateCluesValid(){
-        Mockito.when(friendlyBot.getClue(Mockito.any())).thenReturn("BotClue");
+        Mockito.when(botClueService.computeClue(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture("BotClue"));
         player3.setPlayerType(PlayerType.FRIENDLYBOT);
         List players = new ArrayList();
         players.add(player3);
@@ -315,4 +331,89 @@ class ClueServiceTest {
        List<Clue> clues = clueService.getClues(lobby, player1.getToken());
        Assertions.assertTrue(clues.size() == 3);
    }
+
+   /**
+    * The clues of the bots are computed when the word is accepted and added to the round once all bots answered
+    */
+   @Test
+   void precomputeBotClues_attachedWhenReady(){
+       CompletableFuture<String> hint = new CompletableFuture<>();
+       Mockito.when(botClueService.computeClue(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(hint);
+       player3.setPlayerType(PlayerType.FRIENDLYBOT);
+       List<Player> players = new ArrayList<>();
+       players.add(player3);
+       Mockito.when(playerService.getBotPlayers(Mockito.any())).thenReturn(players);
+       lobby.setId(1L);
+       Mockito.when(lobbyStateService.getLobby(1L)).thenReturn(lobby);
+       Mockito.doAnswer(invocation -> {
+           invocation.getArgument(1, Runnable.class).run();
+           return true;
+       }).when(lobbyCommandExecutor).tryExecute(Mockito.eq(1L), Mockito.any());
+
+       clueService.precomputeBotClues(lobby);
+       assertEquals(0, game.getClues().size());
+
+       hint.complete("BotClue");
+       verify(lobbyNotificationService, timeout(1000)).lobbyChanged(lobby);
+       assertEquals(1, game.getClues().size());
+       assertEquals("BotClue", game.getClues().get(0).getHint());
+       assertEquals(PlayerStatus.REVIEWING_CLUES, player3.getStatus());
+
+       // fetching the clues afterwards does not ask the bots again
+       player1.setStatus(PlayerStatus.REVIEWING_CLUES);
+       player2.setStatus(PlayerStatus.REVIEWING_CLUES);
+       when(playerService.getPlayerByToken(Mockito.anyString())).thenReturn(player1);
+       clueService.getClues(lobby, player1.getToken());
+       verify(botClueService, times(1)).computeClue(Mockito.any(), Mockito.any(), Mockito.any());
+   }
+
+   /**
+    * If the lobby is still busy (e.g. with the accepting command) when the bots answered, adding the clues is retried
+    */
+   @Test
+   void precomputeBotClues_lobbyBusyOnce_attachedWhenFree(){
+       Mockito.when(botClueService.computeClue(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture("BotClue"));
+       player3.setPlayerType(PlayerType.FRIENDLYBOT);
+       List<Player> players = new ArrayList<>();
+       players.add(player3);
+       Mockito.when(playerService.getBotPlayers(Mockito.any())).thenReturn(players);
+       lobby.setId(1L);
+       Mockito.when(lobbyStateService.getLobby(1L)).thenReturn(lobby);
+       Mockito.doReturn(false).doAnswer(invocation -> {
+           invocation.getArgument(1, Runnable.class).run();
+           return true;
+       }).when(lobbyCommandExecutor).tryExecute(Mockito.eq(1L), Mockito.any());
+
+       clueService.precomputeBotClues(lobby);
+
+       verify(lobbyNotificationService, timeout(1000)).lobbyChanged(lobby);
+       verify(lobbyCommandExecutor, times(2)).tryExecute(Mockito.eq(1L), Mockito.any());
+       assertEquals(1, game.getClues().size());
+       assertEquals(PlayerStatus.REVIEWING_CLUES, player3.getStatus());
+   }
+
+   /**
+    * If the lobby is busy when the bots answered, the next request for the clues adds them right away
+    */
+   @Test
+   void precomputeBotClues_lobbyBusy_attachedByNextRequest(){
+       Mockito.when(botClueService.computeClue(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture("BotClue"));
+       player3.setPlayerType(PlayerType.FRIENDLYBOT);
+       List<Player> players = new ArrayList<>();
+       players.add(player3);
+       Mockito.when(playerService.getBotPlayers(Mockito.any())).thenReturn(players);
+       lobby.setId(1L);
+       Mockito.when(lobbyCommandExecutor.tryExecute(Mockito.eq(1L), Mockito.any())).thenReturn(false);
+
+       clueService.precomputeBotClues(lobby);
+       assertEquals(0, game.getClues().size());
+       verify(lobbyCommandExecutor, Mockito.never()).execute(Mockito.any(), Mockito.any());
+
+       player1.setStatus(PlayerStatus.REVIEWING_CLUES);
+       player2.setStatus(PlayerStatus.REVIEWING_CLUES);
+       when(playerService.getPlayerByToken(Mockito.anyString())).thenReturn(player1);
+       clueService.getClues(lobby, player1.getToken());
+       assertEquals(1, game.getClues().size());
+       verify(botClueService, times(1)).computeClue(Mockito.any(), Mockito.any(), Mockito.any());
+   }
 }
@@ -0,0 +1,146 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.entity.Card;
+import ch.uzh.ifi.seal.soprafs20.entity.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckPoolServiceTest {
+
+    private DeckService deckService;
+    private DeckPoolService deckPoolService;
+    private long nextDeckId;
+    private long now;
+
+    @BeforeEach
+    public void setup() {
+        deckService = Mockito.mock(DeckService.class);
+        now = 0;
+        deckPoolService = new DeckPoolService(deckService, 2, 4, 1000, 2, () -> now);
+        nextDeckId = 1;
+        Mockito.when(deckService.constructDeckForLanguage(Mockito.any(), Mockito.anyInt())).thenAnswer(invocation -> createDeck(nextDeckId++));
+    }
+
+    @Test
+    void claimDeck_poolFilled_deckTakenFromPool() {
+        deckPoolService.demand(Language.EN, 13);
+        deckPoolService.refill();
+        assertEquals(4, deckPoolService.size(Language.EN, 13));
+
+        Deck deck = deckPoolService.claimDeck(Language.EN, 13);
+
+        assertEquals(1L, deck.getDeckId());
+        assertEquals(3, deckPoolService.size(Language.EN, 13));
+        Mockito.verify(deckService, Mockito.times(4)).constructDeckForLanguage(Language.EN, 13);
+        Mockito.verify(deckService, Mockito.never()).getDeckById(Mockito.anyLong());
+    }
+
+    @Test
+    void claimDeck_poolEmpty_deckConstructed() {
+        Deck deck = deckPoolService.claimDeck(Language.DE, 7);
+
+        assertEquals(1L, deck.getDeckId());
+        assertEquals(0, deckPoolService.size(Language.DE, 7));
+    }
+
+    @Test
+    void refill_onlyBelowLowWater() {
+        deckPoolService.demand(Language.EN, 13);
+        deckPoolService.refill();
+        deckPoolService.claimDeck(Language.EN, 13);
+        deckPoolService.refill();
+        assertEquals(3, deckPoolService.size(Language.EN, 13));
+
+        deckPoolService.claimDeck(Language.EN, 13);
+        deckPoolService.claimDeck(Language.EN, 13);
+        deckPoolService.refill();
+        assertEquals(4, deckPoolService.size(Language.EN, 13));
+    }
+
+    @Test
+    void refill_noCards_stops() {
+        Mockito.when(deckService.constructDeckForLanguage(Mockito.any(), Mockito.anyInt())).thenReturn(new Deck());
+        deckPoolService.demand(Language.EN, 13);
+
+        deckPoolService.refill();
+
+        assertEquals(0, deckPoolService.size(Language.EN, 13));
+    }
+
+    @Test
+    void adoptUnassignedDecks_decksOfLastRun_pooledUpToHighWater() {
+        List<Deck> unassigned = List.of(createDeck(11L, Language.EN, 2), createDeck(12L, Language.EN, 2),
+                createDeck(13L, Language.EN, 2), createDeck(14L, Language.EN, 2), createDeck(15L, Language.EN, 2),
+                createDeck(16L, Language.DE, 2));
+        Mockito.when(deckService.getUnassignedDecks()).thenReturn(unassigned);
+
+        deckPoolService.adoptUnassignedDecks();
+
+        assertEquals(4, deckPoolService.size(Language.EN, 2));
+        assertEquals(1, deckPoolService.size(Language.DE, 2));
+        Mockito.verify(deckService, Mockito.times(1)).deleteDeck(unassigned.get(4));
+        assertEquals(11L, deckPoolService.claimDeck(Language.EN, 2).getDeckId());
+    }
+
+    @Test
+    void refill_poolIdle_removedWithDecks() {
+        deckPoolService.demand(Language.EN, 13);
+        deckPoolService.refill();
+        now = 600;
+        deckPoolService.demand(Language.DE, 13);
+
+        now = 1200;
+        deckPoolService.refill();
+
+        assertEquals(1, deckPoolService.poolCount());
+        assertEquals(0, deckPoolService.size(Language.EN, 13));
+        assertEquals(4, deckPoolService.size(Language.DE, 13));
+        Mockito.verify(deckService, Mockito.times(4)).deleteDeck(Mockito.any());
+    }
+
+    @Test
+    void refill_tooManyPools_leastRecentlyDemandedRemoved() {
+        deckPoolService.demand(Language.EN, 7);
+        now = 10;
+        deckPoolService.demand(Language.EN, 13);
+        now = 20;
+        deckPoolService.demand(Language.DE, 7);
+        now = 30;
+        deckPoolService.demand(Language.EN, 7);
+
+        deckPoolService.refill();
+
+        assertEquals(2, deckPoolService.poolCount());
+        assertEquals(4, deckPoolService.size(Language.EN, 7));
+        assertEquals(0, deckPoolService.size(Language.EN, 13));
+        assertEquals(4, deckPoolService.size(Language.DE, 7));
+    }
+
+    private Deck createDeck(long deckId, Language language, int numberOfCards) {
+        Deck deck = new Deck();
+        deck.setDeckId(deckId);
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < numberOfCards; i++) {
+            Card card = new Card();
+            card.setLanguage(language);
+            cards.add(card);
+        }
+        deck.clearAndAddCards(cards);
+        return deck;
+    }
+
+    private Deck createDeck(long deckId) {
+        Deck deck = new Deck();
+        deck.setDeckId(deckId);
+        deck.clearAndAddCards(Collections.singletonList(new Card()));
+        return deck;
+    }
+}
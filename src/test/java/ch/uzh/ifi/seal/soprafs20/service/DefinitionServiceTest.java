@@ -0,0 +1,148 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.exceptions.NotFoundException;
+import ch.uzh.ifi.seal.soprafs20.exceptions.SopraServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefinitionServiceTest {
+
+    @Mock
+    private OutboundHttpService outboundHttpService;
+
+    @TempDir
+    Path store;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    private void answer(String definition) {
+        Mockito.when(outboundHttpService.get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any()))
+                .thenReturn(definition);
+    }
+
+    @Test
+    void getDefinitionOfWord_repeatedWord_calledOnce() {
+        answer("{\"id\":\"star\"}");
+        DefinitionService definitionService = new DefinitionService(outboundHttpService, 10, "", 0, 600000L);
+
+        assertEquals("{\"id\":\"star\"}", definitionService.getDefinitionOfWord("Star"));
+        assertEquals("{\"id\":\"star\"}", definitionService.getDefinitionOfWord("star"));
+
+        Mockito.verify(outboundHttpService, Mockito.times(1))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void getDefinitionOfWord_notAvailable_notCached() {
+        answer(null);
+        DefinitionService definitionService = new DefinitionService(outboundHttpService, 10, "", 0, 600000L);
+
+        assertThrows(SopraServiceException.class, () -> definitionService.getDefinitionOfWord("star"));
+        answer("{\"id\":\"star\"}");
+        assertEquals("{\"id\":\"star\"}", definitionService.getDefinitionOfWord("star"));
+    }
+
+    @Test
+    void getDefinitionOfWord_storedDefinition_survivesRestart() {
+        answer("{\"id\":\"star\"}");
+        DefinitionService definitionService = new DefinitionService(outboundHttpService, 10, store.toString(), 0, 600000L);
+        definitionService.prefetch(List.of("star"));
+        definitionService.getDefinitionOfWord("star");
+
+        // a new instance with the same store, as after a restart
+        DefinitionService restarted = new DefinitionService(outboundHttpService, 10, store.toString(), 0, 600000L);
+        assertEquals("{\"id\":\"star\"}", restarted.getDefinitionOfWord("STAR"));
+
+        Mockito.verify(outboundHttpService, Mockito.times(1))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void getDefinitionOfWord_noCardWord_notStored() {
+        answer("{\"id\":\"anything\"}");
+        new DefinitionService(outboundHttpService, 10, store.toString(), 0, 600000L).getDefinitionOfWord("anything");
+
+        DefinitionService restarted = new DefinitionService(outboundHttpService, 10, store.toString(), 0, 600000L);
+        restarted.getDefinitionOfWord("anything");
+
+        Mockito.verify(outboundHttpService, Mockito.times(2))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void getDefinitionOfWord_unknownWord_notFoundCachedUntilTtl() {
+        // the dictionary answers 404, the service gets the notFound answer
+        Mockito.when(outboundHttpService.get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> ((Supplier<String>) invocation.getArgument(4)).get());
+        AtomicLong now = new AtomicLong();
+        DefinitionService definitionService = new DefinitionService(outboundHttpService, 10, "", 0, 1000L, now::get);
+
+        assertThrows(NotFoundException.class, () -> definitionService.getDefinitionOfWord("xyzzy"));
+        assertThrows(NotFoundException.class, () -> definitionService.getDefinitionOfWord("XYZZY"));
+        Mockito.verify(outboundHttpService, Mockito.times(1))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+
+        now.set(1000L);
+        assertThrows(NotFoundException.class, () -> definitionService.getDefinitionOfWord("xyzzy"));
+        Mockito.verify(outboundHttpService, Mockito.times(2))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void getDefinitionOfWord_concurrentLookups_shareOneCall() throws Exception {
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(outboundHttpService.get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    called.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "{\"id\":\"star\"}";
+                });
+        DefinitionService definitionService = new DefinitionService(outboundHttpService, 10, "", 0, 600000L);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> definitionService.getDefinitionOfWord("star"));
+        assertTrue(called.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> definitionService.getDefinitionOfWord("star"));
+        // give the second lookup time to join the running one
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("{\"id\":\"star\"}", first.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"id\":\"star\"}", second.get(5, TimeUnit.SECONDS));
+        Mockito.verify(outboundHttpService, Mockito.times(1))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void prefetch_wordsOfCard_servedFromCache() {
+        answer("{\"id\":\"word\"}");
+        DefinitionService definitionService = new DefinitionService(outboundHttpService, 10, "", 1, 600000L);
+
+        definitionService.prefetch(List.of("star", "moon", "star"));
+        Mockito.verify(outboundHttpService, Mockito.timeout(5000).times(2))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+
+        assertEquals("{\"id\":\"word\"}", definitionService.getDefinitionOfWord("moon"));
+        Mockito.verify(outboundHttpService, Mockito.times(2))
+                .get(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any());
+        definitionService.shutdown();
+    }
+}
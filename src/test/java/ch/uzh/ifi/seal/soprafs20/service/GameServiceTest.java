@@ -0,0 +1,155 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.*;
+import ch.uzh.ifi.seal.soprafs20.entity.*;
+import ch.uzh.ifi.seal.soprafs20.repository.GameRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.StatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+    @Mock
+    private StatsRepository statsRepository;
+    @Mock
+    private StatsService statsService;
+    @Mock
+    private LobbyStateService lobbyStateService;
+    @Mock
+    private LobbyNotificationService lobbyNotificationService;
+
+    private GameService gameService;
+
+    private Lobby lobby;
+    private Player clueCreator;
+    private Player bot;
+
+    private Player createPlayer(long id, PlayerRole role, PlayerType playerType) {
+        Player player = new Player();
+        player.setId(id);
+        player.setUsername("p" + id);
+        player.setRole(role);
+        player.setPlayerType(playerType);
+        return player;
+    }
+
+    private Clue createClue(Player player, ClueStatus clueStatus, long timeForClue) {
+        Clue clue = new Clue();
+        clue.setPlayer(player);
+        clue.setClueStatus(clueStatus);
+        clue.setTimeForClue(timeForClue);
+        return clue;
+    }
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        gameService = new GameService(gameRepository, statsRepository, statsService, lobbyStateService, lobbyNotificationService);
+
+        Player guesser = createPlayer(1L, PlayerRole.GUESSER, PlayerType.HUMAN);
+        clueCreator = createPlayer(2L, PlayerRole.CLUE_CREATOR, PlayerType.HUMAN);
+        bot = createPlayer(3L, PlayerRole.CLUE_CREATOR, PlayerType.FRIENDLYBOT);
+
+        MysteryWord mysteryWord = new MysteryWord();
+        mysteryWord.setWord("star");
+        List<MysteryWord> mysteryWords = new ArrayList<>();
+        mysteryWords.add(mysteryWord);
+        Card card = new Card();
+        card.setMysteryWords(mysteryWords);
+        Deck deck = new Deck();
+        deck.addCard(card);
+        deck.addCard(new Card());
+
+        Game game = new Game();
+        game.getRoundState().select(mysteryWord.getNumber(), new Date());
+
+        lobby = new Lobby();
+        lobby.setId(10L);
+        lobby.setNumberOfCards(2);
+        lobby.addPlayer(guesser);
+        lobby.addPlayer(clueCreator);
+        lobby.addPlayer(bot);
+        lobby.setDeck(deck);
+        lobby.setGame(game);
+
+        Mockito.when(lobbyStateService.markDirty(lobby)).thenReturn(true);
+    }
+
+    @Test
+    void compareGuess_publishesCluesOfCurrentRoundOnly() {
+        Game game = lobby.getGame();
+        // clue of an earlier round
+        game.addClue(createClue(clueCreator, ClueStatus.INACTIVE, 30L));
+        game.addClue(createClue(clueCreator, ClueStatus.ACTIVE, 10L));
+        game.addClue(createClue(clueCreator, ClueStatus.DISABLED, 20L));
+        game.addClue(createClue(bot, ClueStatus.ACTIVE, 5L));
+
+        gameService.compareGuess(lobby, "star", 1L, 12L);
+
+        ArgumentCaptor<StatsService.GuessEvent> event = ArgumentCaptor.forClass(StatsService.GuessEvent.class);
+        Mockito.verify(statsService, Mockito.times(1)).publish(event.capture());
+        assertEquals(10L, event.getValue().getLobbyId());
+        assertEquals(1L, event.getValue().getGuesserId());
+        assertTrue(event.getValue().isSuccess());
+        assertEquals(1L, event.getValue().getTeamPoints());
+        assertFalse(event.getValue().isGameOver());
+        List<StatsService.GivenClue> clues = event.getValue().getClues();
+        assertEquals(2, clues.size());
+        assertEquals(10L, clues.get(0).getTimeForClue());
+        assertTrue(clues.get(0).isGood());
+        assertFalse(clues.get(1).isGood());
+    }
+
+    @Test
+    void compareGuess_cluesUnordered_allCluesOfCurrentRoundPublished() {
+        Game game = lobby.getGame();
+        // the clues of a game come back from the database in no defined order
+        game.addClue(createClue(clueCreator, ClueStatus.ACTIVE, 10L));
+        game.addClue(createClue(clueCreator, ClueStatus.INACTIVE, 30L));
+        game.addClue(createClue(clueCreator, ClueStatus.DISABLED, 20L));
+
+        gameService.compareGuess(lobby, "star", 1L, 12L);
+
+        ArgumentCaptor<StatsService.GuessEvent> event = ArgumentCaptor.forClass(StatsService.GuessEvent.class);
+        Mockito.verify(statsService, Mockito.times(1)).publish(event.capture());
+        List<StatsService.GivenClue> clues = event.getValue().getClues();
+        assertEquals(2, clues.size());
+        assertEquals(10L, clues.get(0).getTimeForClue());
+        assertEquals(20L, clues.get(1).getTimeForClue());
+    }
+
+    @Test
+    void compareGuess_statsNotTouched() {
+        for (int round = 0; round < 20; round++) {
+            lobby.getGame().addClue(createClue(clueCreator, ClueStatus.INACTIVE, 10L));
+        }
+        lobby.getGame().addClue(createClue(clueCreator, ClueStatus.ACTIVE, 10L));
+
+        gameService.compareGuess(lobby, "moon", 1L, 12L);
+
+        Mockito.verify(statsService, Mockito.times(1)).publish(Mockito.any());
+        Mockito.verifyNoInteractions(statsRepository);
+        Mockito.verify(lobbyNotificationService, Mockito.times(1)).guessMade(lobby, "star");
+    }
+
+    @Test
+    void compareGuess_noTimeToGuess_publishedAsZero() {
+        gameService.compareGuess(lobby, "star", 1L, null);
+
+        ArgumentCaptor<StatsService.GuessEvent> event = ArgumentCaptor.forClass(StatsService.GuessEvent.class);
+        Mockito.verify(statsService, Mockito.times(1)).publish(event.capture());
+        assertEquals(0L, event.getValue().getTimeToGuess());
+    }
+}
@@ -0,0 +1,91 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.RankingOrderBy;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private LeaderboardService leaderboardService;
+    private User alice;
+    private User bob;
+    private User carol;
+
+    private User createUser(long id, long score, long correctGuesses, long bestClues) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("u" + id);
+        user.setScore(score);
+        user.setCorrectGuesses(correctGuesses);
+        user.setBestClues(bestClues);
+        return user;
+    }
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        alice = createUser(1L, 100L, 2L, 7L);
+        bob = createUser(2L, 300L, 5L, 1L);
+        carol = createUser(3L, 100L, 9L, 3L);
+        Mockito.when(userRepository.findAll()).thenReturn(List.of(alice, bob, carol));
+        leaderboardService = new LeaderboardService(userRepository);
+    }
+
+    @Test
+    void getPage_loadedOnce_orderedPerKey() {
+        assertEquals(List.of(2L, 1L, 3L), leaderboardService.getPage(RankingOrderBy.SCORE, 0, 10));
+        assertEquals(List.of(3L, 2L, 1L), leaderboardService.getPage(RankingOrderBy.CORRECT_GUESSES, 0, 10));
+        assertEquals(List.of(1L, 3L), leaderboardService.getPage(RankingOrderBy.BEST_CLUES, 0, 2));
+
+        Mockito.verify(userRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    void getRank_sameValue_sameRank() {
+        assertEquals(1, leaderboardService.getRank(RankingOrderBy.SCORE, 2L));
+        assertEquals(2, leaderboardService.getRank(RankingOrderBy.SCORE, 1L));
+        assertEquals(2, leaderboardService.getRank(RankingOrderBy.SCORE, 3L));
+        assertNull(leaderboardService.getRank(RankingOrderBy.SCORE, 4L));
+    }
+
+    @Test
+    void update_counterChanged_rankMoves() {
+        leaderboardService.load();
+        alice.addScore(250L);
+        leaderboardService.update(alice);
+
+        assertEquals(1, leaderboardService.getRank(RankingOrderBy.SCORE, 1L));
+        assertEquals(List.of(1L, 2L, 3L), leaderboardService.getPage(RankingOrderBy.SCORE, 0, 10));
+
+        leaderboardService.remove(2L);
+        assertEquals(2, leaderboardService.size());
+        assertNull(leaderboardService.getRank(RankingOrderBy.CORRECT_GUESSES, 2L));
+    }
+
+    @Test
+    void load_updatedBefore_notOverwritten() {
+        // updated while the database was still read
+        User newerAlice = createUser(1L, 1000L, 2L, 7L);
+        leaderboardService.update(newerAlice);
+
+        assertEquals(1, leaderboardService.getRank(RankingOrderBy.SCORE, 1L));
+    }
+
+    @Test
+    void getPage_username_notIndexed() {
+        assertFalse(leaderboardService.isIndexed(RankingOrderBy.USERNAME));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getPage(RankingOrderBy.USERNAME, 0, 10));
+    }
+}
@@ -0,0 +1,132 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.exceptions.ConflictException;
+import ch.uzh.ifi.seal.soprafs20.exceptions.ForbiddenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyCommandExecutorTest {
+
+    private LobbyCommandExecutor lobbyCommandExecutor;
+    private ExecutorService threads;
+
+    @BeforeEach
+    public void setup() {
+        lobbyCommandExecutor = new LobbyCommandExecutor(2000);
+        threads = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void call_returnsResultOfCommand() {
+        assertEquals("done", lobbyCommandExecutor.call(1L, () -> "done"));
+    }
+
+    @Test
+    void call_exceptionOfCommand_isRethrown() {
+        assertThrows(ForbiddenException.class, () -> lobbyCommandExecutor.execute(1L, () -> {
+            throw new ForbiddenException("not allowed");
+        }));
+        // the mailbox is usable afterwards
+        assertEquals(1, lobbyCommandExecutor.call(1L, () -> 1));
+    }
+
+    @Test
+    void call_nestedCommandOfSameLobby_runsDirectly() {
+        assertEquals(2, lobbyCommandExecutor.call(1L, () -> lobbyCommandExecutor.call(1L, () -> 2)));
+    }
+
+    @Test
+    void execute_sameLobby_commandsNeverOverlap() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(threads.submit(() -> lobbyCommandExecutor.execute(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.yield();
+                running.decrementAndGet();
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void execute_differentLobbies_runInParallel() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Future<Boolean> first = threads.submit(() -> lobbyCommandExecutor.call(1L, () -> meet(bothStarted)));
+        Future<Boolean> second = threads.submit(() -> lobbyCommandExecutor.call(2L, () -> meet(bothStarted)));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tryExecute_busyLobby_returnsFalse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<?> busy = threads.submit(() -> lobbyCommandExecutor.execute(1L, () -> {
+            started.countDown();
+            waitFor(finish);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertFalse(lobbyCommandExecutor.tryExecute(1L, () -> fail("lobby is busy")));
+        assertTrue(lobbyCommandExecutor.tryExecute(2L, () -> { }));
+
+        finish.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+        assertTrue(lobbyCommandExecutor.tryExecute(1L, () -> { }));
+    }
+
+    @Test
+    void call_lobbyBusyLongerThanTimeout_throwsConflict() throws Exception {
+        LobbyCommandExecutor shortTimeout = new LobbyCommandExecutor(50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<?> busy = threads.submit(() -> shortTimeout.execute(1L, () -> {
+            started.countDown();
+            waitFor(finish);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ConflictException.class, () -> shortTimeout.call(1L, () -> "too late"));
+
+        finish.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+    }
+
+    private static boolean meet(CountDownLatch latch) {
+        latch.countDown();
+        return waitFor(latch);
+    }
+
+    private static boolean waitFor(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.GameModeStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
+import ch.uzh.ifi.seal.soprafs20.entity.Clue;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
+import ch.uzh.ifi.seal.soprafs20.entity.Player;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyNotificationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LobbyNotificationService lobbyNotificationService;
+    private WebSocketSession session;
+    private Lobby lobby;
+    private Player player;
+
+    @BeforeEach
+    public void setup() {
+        lobbyNotificationService = new LobbyNotificationService(objectMapper, new LobbyVersionService());
+        session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.isOpen()).thenReturn(true);
+
+        player = new Player();
+        player.setId(1L);
+        player.setToken("abc");
+        player.setUsername("player1");
+        player.setRole(PlayerRole.GUESSER);
+        player.setPlayerType(PlayerType.HUMAN);
+        player.setStatus(PlayerStatus.PICKING_NUMBER);
+
+        Game game = new Game();
+        game.setActiveGuess("star");
+        game.setLastGuessSuccess(true);
+        game.setLeftCards(3);
+        game.setWonCards(1);
+
+        lobby = new Lobby();
+        lobby.setId(10L);
+        lobby.setLobbyName("lobby");
+        lobby.setLobbyStatus(LobbyStatus.RUNNING);
+        lobby.setGameMode(GameModeStatus.HUMANS);
+        lobby.addPlayer(player);
+        lobby.setCreator(player);
+        lobby.setGame(game);
+    }
+
+    @Test
+    void lobbyChanged_subscribedSession_receivesPlayerStatus() throws Exception {
+        lobbyNotificationService.subscribe(10L, 1L, session);
+
+        lobbyNotificationService.lobbyChanged(lobby);
+
+        JsonNode event = receivedEvent();
+        assertEquals("LOBBY_CHANGED", event.get("type").asText());
+        assertEquals(10L, event.get("lobbyId").asLong());
+        assertEquals("PICKING_NUMBER", event.get("lobby").get("players").get(0).get("status").asText());
+        // the token of the players is never sent
+        assertFalse(event.get("lobby").get("players").get(0).has("token"));
+    }
+
+    @Test
+    void clueAdded_hintIsNotSent() throws Exception {
+        lobbyNotificationService.subscribe(10L, 1L, session);
+        Clue clue = new Clue();
+        clue.setHint("secret");
+        clue.setPlayer(player);
+
+        lobbyNotificationService.clueAdded(lobby, clue);
+
+        JsonNode event = receivedEvent();
+        assertEquals("CLUE_ADDED", event.get("type").asText());
+        assertEquals(1L, event.get("playerId").asLong());
+        assertFalse(event.toString().contains("secret"));
+    }
+
+    @Test
+    void guessMade_sendsResultOfGuess() throws Exception {
+        lobbyNotificationService.subscribe(10L, 1L, session);
+
+        lobbyNotificationService.guessMade(lobby, "Star");
+
+        JsonNode game = receivedEvent().get("game");
+        assertEquals("star", game.get("guess").asText());
+        assertTrue(game.get("success").asBoolean());
+        assertEquals(3, game.get("leftCards").asInt());
+        assertEquals("Star", game.get("mysteryWord").asText());
+    }
+
+    @Test
+    void events_otherLobbyOrUnsubscribed_nothingSent() throws Exception {
+        lobbyNotificationService.subscribe(11L, 1L, session);
+        lobbyNotificationService.lobbyChanged(lobby);
+
+        lobbyNotificationService.subscribe(10L, 1L, session);
+        lobbyNotificationService.unsubscribe(10L, session);
+        lobbyNotificationService.nextRound(lobby);
+
+        Mockito.verify(session, Mockito.never()).sendMessage(Mockito.any());
+        assertFalse(lobbyNotificationService.hasSubscribers(10L));
+    }
+
+    @Test
+    void playerRemoved_sessionsOfPlayerClosed() throws Exception {
+        WebSocketSession otherSession = Mockito.mock(WebSocketSession.class);
+        Mockito.when(otherSession.isOpen()).thenReturn(true);
+        lobbyNotificationService.subscribe(10L, 1L, session);
+        lobbyNotificationService.subscribe(10L, 2L, otherSession);
+
+        lobbyNotificationService.playerRemoved(10L, 1L);
+        lobbyNotificationService.lobbyChanged(lobby);
+
+        Mockito.verify(session, Mockito.times(1)).close(Mockito.any(CloseStatus.class));
+        Mockito.verify(session, Mockito.never()).sendMessage(Mockito.any());
+        Mockito.verify(otherSession, Mockito.never()).close(Mockito.any(CloseStatus.class));
+        Mockito.verify(otherSession, Mockito.times(1)).sendMessage(Mockito.any());
+    }
+
+    private JsonNode receivedEvent() throws Exception {
+        ArgumentCaptor<TextMessage> message = ArgumentCaptor.forClass(TextMessage.class);
+        Mockito.verify(session).sendMessage(message.capture());
+        return objectMapper.readTree(message.getValue().getPayload());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +38,14 @@ public class LobbyServiceTest {
     private CardRepository cardRepository;
     @Mock
     private MysteryWordRepository mysteryWordRepository;
+    @Mock
+    private LobbyStateService lobbyStateService;
+    @Mock
+    private LobbyNotificationService lobbyNotificationService;
+    @Mock
+    private TokenCacheService tokenCacheService;
+    @Mock
+    private SessionTokenService sessionTokenService;
 
     @InjectMocks
     private LobbyService lobbyService;
@@ -46,8 +55,16 @@ public class LobbyServiceTest {
     private PlayerService playerService;
     @MockBean
     private UserService userService;
-    @MockBean
+    @Mock
     private ClueService clueService;
+    @Mock
+    private DefinitionService definitionService;
+    @Mock
+    private StatsService statsService;
+    @Mock
+    private LeaderboardService leaderboardService;
+    @Mock
+    private WindowedLeaderboardService windowedLeaderboardService;
     @MockBean
     private MysteryWordService mysteryWordService;
     @MockBean
@@ -74,14 +91,14 @@ public class LobbyServiceTest {
         MockitoAnnotations.initMocks(this);
 
 
-        playerService = new PlayerService(playerRepository);
-        userService = new UserService(userRepository);
-        gameService = new GameService(gameRepository,statsRepository, userService, clueService);
+        playerService = new PlayerService(playerRepository, lobbyStateService, tokenCacheService, sessionTokenService);
+        userService = new UserService(userRepository, tokenCacheService, sessionTokenService, playerService, leaderboardService, windowedLeaderboardService);
+        gameService = new GameService(gameRepository,statsRepository, statsService, lobbyStateService, lobbyNotificationService);
 
         mysteryWordService = new MysteryWordService(mysteryWordRepository);
         deckService = new DeckService(deckRepository, cardService);
         cardService = new CardService(cardRepository, mysteryWordService);
-        lobbyService = new LobbyService(lobbyRepository, userService, playerService, deckService, cardService, gameService, mysteryWordService);
+        lobbyService = new LobbyService(lobbyRepository, userService, playerService, deckService, cardService, gameService, lobbyStateService, lobbyNotificationService, tokenCacheService, new DeckPoolService(deckService, 0, 0, 0, 0), clueService, definitionService);
 
         // given
         lobby = new Lobby();
@@ -316,6 +333,8 @@ public class LobbyServiceTest {
         assertEquals(botPlayer1.getStatus(), WRITING_CLUES);
         assertEquals(testPlayer2.getStatus(), WRITING_CLUES);
         assertEquals(testPlayer.getStatus(), WAITING_FOR_CLUES);
+        // the bots start on their clues as soon as everybody accepted
+        Mockito.verify(clueService, Mockito.times(1)).precomputeBotClues(lobby);
     }
 
     /**
@@ -346,12 +365,11 @@ public class LobbyServiceTest {
         Deck deck = lobby.getDeck();
         Card activeCard = deck.getCards().get(0);
         MysteryWord word = activeCard.getMysteryWords().get(0);
-        word.setStatus(MysteryWordStatus.IN_USE);
-        deck.setActiveCard(activeCard);
+        lobby.getGame().getRoundState().select(word.getNumber(), new Date());
         // test with three players and end the game
         lobbyService.acceptOrDeclineMysteryWord(testUser, lobby, Boolean.FALSE);
         assertEquals(testPlayer.getStatus(), PICKING_NUMBER);
-        assertEquals(word.getStatus(), MysteryWordStatus.NOT_USED);
+        assertNull(lobby.getGame().getRoundState().getSelectedNumber());
 
         lobby.setDeck(null);
         try {
@@ -423,11 +441,50 @@ public class LobbyServiceTest {
         Deck deck = lobby.getDeck();
         Card activeCard = deck.getCards().get(0);
         MysteryWord word = activeCard.getMysteryWords().get(0);
-        word.setStatus(MysteryWordStatus.IN_USE);
-        deck.setActiveCard(activeCard);
+        lobby.getGame().getRoundState().select(word.getNumber(), new Date());
 
         lobbyService.nextRound(lobby.getId(), testUser.getToken());
         assertEquals(botPlayer1.getStatus(), WAITING_FOR_NUMBER);
     }
 
+    /**
+     * Reading the mystery words writes nothing, the next round only moves the cursor of the deck
+     */
+    @Test
+    public void nextRound_advancesDeckCursor() {
+        lobby.setLobbyStatus(LobbyStatus.RUNNING);
+        lobby.setGame(gameService.createNewGame(lobby));
+        Deck deck = lobby.getDeck();
+        Card secondCard = deck.getCards().get(1);
+
+        assertEquals("Sun", lobbyService.getMysteryWordsFromLobby(lobby.getId()).get(0).getWord());
+        Mockito.verifyNoInteractions(deckRepository);
+
+        lobbyService.nextRound(lobby.getId(), testUser.getToken());
+
+        assertEquals(1, deck.getActiveIndex());
+        assertSame(secondCard, deck.getActiveCard());
+        assertEquals(2, deck.getCards().size());
+        Mockito.verify(deckRepository).updateActiveIndex(deck.getDeckId(), 1);
+        Mockito.verify(deckRepository, Mockito.never()).save(any());
+    }
+
+    /**
+     * The selected mystery word is kept in the round state of the lobby, the shared words are not written
+     */
+    @Test
+    public void updateSelectedMysteryWord_roundStateOfLobbyChanged() {
+        lobby.setLobbyStatus(LobbyStatus.RUNNING);
+        lobby.setGame(gameService.createNewGame(lobby));
+
+        lobbyService.updateSelectedMysteryWord(lobby.getId(), 2);
+
+        RoundState roundState = lobby.getGame().getRoundState();
+        assertEquals(2, roundState.getSelectedNumber());
+        assertNotNull(roundState.getTimeDrawn());
+        assertTrue(roundState.isSelected(lobby.getDeck().getActiveCard().getMysteryWords().get(1)));
+        assertFalse(roundState.isSelected(lobby.getDeck().getActiveCard().getMysteryWords().get(0)));
+        Mockito.verifyNoInteractions(mysteryWordRepository);
+    }
+
 }
@@ -0,0 +1,168 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
+import ch.uzh.ifi.seal.soprafs20.entity.Clue;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
+import ch.uzh.ifi.seal.soprafs20.entity.Player;
+import ch.uzh.ifi.seal.soprafs20.repository.ClueRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.GameRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.LobbyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyStateServiceTest {
+
+    @Mock
+    private LobbyRepository lobbyRepository;
+    @Mock
+    private GameRepository gameRepository;
+    @Mock
+    private ClueRepository clueRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LobbyStateService lobbyStateService;
+
+    private Lobby lobby;
+    private Player player;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        lobbyStateService = new LobbyStateService(lobbyRepository, gameRepository, clueRepository, transactionManager, new LobbyCommandExecutor(1000), new LobbyVersionService());
+
+        player = new Player();
+        player.setId(1L);
+        player.setToken("abc");
+        player.setUsername("player1");
+        player.setRole(PlayerRole.GUESSER);
+        player.setPlayerType(PlayerType.HUMAN);
+        player.setStatus(PlayerStatus.PICKING_NUMBER);
+
+        Game game = new Game();
+        game.addClue(new Clue());
+
+        lobby = new Lobby();
+        lobby.setId(10L);
+        lobby.setLobbyStatus(LobbyStatus.RUNNING);
+        lobby.addPlayer(player);
+        lobby.setGame(game);
+    }
+
+    @Test
+    void track_indexesLobbyAndPlayers() {
+        lobbyStateService.track(lobby);
+
+        assertSame(lobby, lobbyStateService.getLobby(10L));
+        assertSame(player, lobbyStateService.getPlayerById(1L));
+        assertSame(player, lobbyStateService.getPlayerByToken("abc"));
+        assertEquals(10L, lobbyStateService.getLobbyIdOfPlayer(1L));
+        assertTrue(lobbyStateService.isTracked(lobby));
+    }
+
+    @Test
+    void updateToken_trackedPlayer_indexedByNewToken() {
+        lobbyStateService.track(lobby);
+
+        assertTrue(lobbyStateService.updateToken(1L, "def"));
+
+        assertEquals("def", player.getToken());
+        assertSame(player, lobbyStateService.getPlayerByToken("def"));
+        assertNull(lobbyStateService.getPlayerByToken("abc"));
+        assertFalse(lobbyStateService.updateToken(2L, "ghi"));
+    }
+
+    @Test
+    void getters_unknownOrNull_returnNull() {
+        assertNull(lobbyStateService.getLobby(10L));
+        assertNull(lobbyStateService.getLobby(null));
+        assertNull(lobbyStateService.getPlayerByToken(null));
+        assertNull(lobbyStateService.getPlayerById(1L));
+    }
+
+    @Test
+    void markDirty_untrackedLobby_returnsFalse() {
+        assertFalse(lobbyStateService.markDirty(lobby));
+        assertFalse(lobbyStateService.markDirty(lobby.getPlayers()));
+    }
+
+    @Test
+    void markDirty_otherInstanceOfTrackedLobby_returnsFalse() {
+        lobbyStateService.track(lobby);
+        Lobby copy = new Lobby();
+        copy.setId(10L);
+
+        assertFalse(lobbyStateService.markDirty(copy));
+    }
+
+    @Test
+    void flushDirtyLobbies_writesDirtyLobbyOnce() {
+        lobbyStateService.track(lobby);
+        assertTrue(lobbyStateService.markDirty(lobby.getPlayers()));
+
+        lobbyStateService.flushDirtyLobbies();
+        lobbyStateService.flushDirtyLobbies();
+
+        Mockito.verify(clueRepository, Mockito.times(1)).saveAll(lobby.getGame().getClues());
+        Mockito.verify(gameRepository, Mockito.times(1)).save(lobby.getGame());
+        Mockito.verify(lobbyRepository, Mockito.times(1)).save(lobby);
+        // still running
+        assertSame(lobby, lobbyStateService.getLobby(10L));
+    }
+
+    @Test
+    void flushDirtyLobbies_writeFailed_retried() {
+        lobbyStateService.track(lobby);
+        lobbyStateService.markDirty(lobby);
+        Mockito.when(lobbyRepository.save(lobby)).thenThrow(new IllegalStateException("database down")).thenReturn(lobby);
+
+        lobbyStateService.flushDirtyLobbies();
+        lobbyStateService.flushDirtyLobbies();
+        lobbyStateService.flushDirtyLobbies();
+
+        Mockito.verify(lobbyRepository, Mockito.times(2)).save(lobby);
+    }
+
+    @Test
+    void flushDirtyLobbies_cleanLobby_noWrites() {
+        lobbyStateService.track(lobby);
+
+        lobbyStateService.flushDirtyLobbies();
+
+        Mockito.verifyNoInteractions(lobbyRepository, gameRepository, clueRepository);
+    }
+
+    @Test
+    void release_dirtyLobby_writesAndRemoves() {
+        lobbyStateService.track(lobby);
+        lobbyStateService.markDirty(lobby);
+
+        lobbyStateService.release(10L);
+
+        Mockito.verify(lobbyRepository, Mockito.times(1)).save(lobby);
+        assertNull(lobbyStateService.getLobby(10L));
+        assertNull(lobbyStateService.getPlayerByToken("abc"));
+        assertNull(lobbyStateService.getLobbyIdOfPlayer(1L));
+        assertFalse(lobbyStateService.markDirty(lobby));
+    }
+
+    @Test
+    void release_cleanLobby_noWrites() {
+        lobbyStateService.track(lobby);
+
+        lobbyStateService.release(10L);
+
+        Mockito.verifyNoInteractions(lobbyRepository);
+        assertNull(lobbyStateService.getLobby(10L));
+    }
+}
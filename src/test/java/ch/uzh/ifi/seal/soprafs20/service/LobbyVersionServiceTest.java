@@ -0,0 +1,88 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyVersionServiceTest {
+
+    private LobbyVersionService lobbyVersionService;
+
+    @BeforeEach
+    public void setup() {
+        lobbyVersionService = new LobbyVersionService();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void served_sameETagAndReader_wasServed() {
+        String eTag = lobbyVersionService.getETag(1L);
+
+        assertFalse(lobbyVersionService.wasServed(1L, eTag, "lobby:abc"));
+        lobbyVersionService.served(1L, eTag, "lobby:abc");
+
+        assertTrue(lobbyVersionService.wasServed(1L, eTag, "lobby:abc"));
+        assertFalse(lobbyVersionService.wasServed(1L, eTag, "lobby:def"));
+        assertFalse(lobbyVersionService.wasServed(1L, eTag, "clues:abc"));
+        assertFalse(lobbyVersionService.wasServed(2L, eTag, "lobby:abc"));
+    }
+
+    @Test
+    void changed_newETag_readersForgotten() {
+        String eTag = lobbyVersionService.getETag(1L);
+        lobbyVersionService.served(1L, eTag, "lobby:abc");
+
+        lobbyVersionService.changed(1L);
+
+        assertNotEquals(eTag, lobbyVersionService.getETag(1L));
+        assertFalse(lobbyVersionService.wasServed(1L, eTag, "lobby:abc"));
+        assertFalse(lobbyVersionService.wasServed(1L, lobbyVersionService.getETag(1L), "lobby:abc"));
+    }
+
+    @Test
+    void served_lobbyChangedInTheMeantime_notRemembered() {
+        String eTag = lobbyVersionService.getETag(1L);
+        lobbyVersionService.changed(1L);
+
+        lobbyVersionService.served(1L, eTag, "lobby:abc");
+
+        assertFalse(lobbyVersionService.wasServed(1L, eTag, "lobby:abc"));
+        assertFalse(lobbyVersionService.wasServed(1L, lobbyVersionService.getETag(1L), "lobby:abc"));
+    }
+
+    @Test
+    void changed_withinTransaction_versionIncreasedAfterCommit() {
+        String eTag = lobbyVersionService.getETag(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        lobbyVersionService.changed(1L);
+        assertEquals(eTag, lobbyVersionService.getETag(1L));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertNotEquals(eTag, lobbyVersionService.getETag(1L));
+    }
+
+    @Test
+    void remove_servedReadersForgotten() {
+        lobbyVersionService.changed(1L);
+        String eTag = lobbyVersionService.getETag(1L);
+        lobbyVersionService.served(1L, eTag, "lobby:abc");
+
+        lobbyVersionService.remove(1L);
+
+        assertFalse(lobbyVersionService.wasServed(1L, eTag, "lobby:abc"));
+        assertNotEquals(eTag, lobbyVersionService.getETag(1L));
+    }
+}
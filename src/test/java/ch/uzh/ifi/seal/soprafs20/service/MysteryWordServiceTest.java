@@ -1,6 +1,5 @@
 package ch.uzh.ifi.seal.soprafs20.service;
 
-import ch.uzh.ifi.seal.soprafs20.constant.MysteryWordStatus;
 import ch.uzh.ifi.seal.soprafs20.entity.MysteryWord;
 import ch.uzh.ifi.seal.soprafs20.exceptions.ForbiddenException;
 import ch.uzh.ifi.seal.soprafs20.repository.MysteryWordRepository;
@@ -41,7 +40,6 @@ public class MysteryWordServiceTest {
         mysteryWord.setNumber(1);
         mysteryWord.setWord("Star");
         mysteryWord.setDescription("is a luminous object");
-        mysteryWord.setStatus(MysteryWordStatus.NOT_USED);
 
         // when -> any object is being save in the mysteryWordRepository -> return the dummy testUser
         when(mysteryWordRepository.save(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
@@ -100,7 +98,6 @@ public class MysteryWordServiceTest {
         mysteryWordNew.setNumber(2);
         mysteryWordNew.setWord("Earth");
         mysteryWordNew.setDescription("is a unique planet");
-        mysteryWordNew.setStatus(MysteryWordStatus.NOT_USED);
 
         Mockito.when(mysteryWordRepository.findById(mysteryWordNew.getId())).thenReturn(Optional.of(mysteryWordNew));
 
@@ -0,0 +1,184 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.GameModeStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.Language;
+import ch.uzh.ifi.seal.soprafs20.constant.LobbyStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerRole;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerStatus;
+import ch.uzh.ifi.seal.soprafs20.constant.PlayerType;
+import ch.uzh.ifi.seal.soprafs20.constant.UserStatus;
+import ch.uzh.ifi.seal.soprafs20.entity.Lobby;
+import ch.uzh.ifi.seal.soprafs20.entity.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.repository.LobbyRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.PlayerRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the uniqueness checks when creating users and lobbies.
+ * The creation latency must stay flat when the tables grow from 1'000 to 100'000 rows.
+ * Tagged "benchmark": not part of the test task, run it with ./gradlew benchmark (takes about a minute).
+ * The first 1'000 creations go through the services on an empty table, they warm up the JIT and fill
+ * the table for the measurement at 1'000 rows. Each measurement is the median of several rounds.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "/application-test.properties")
+@DirtiesContext
+@Tag("benchmark")
+class NameUniquenessBenchmarkTest {
+
+    private static final int SMALL = 1_000;
+    private static final int LARGE = 100_000;
+    private static final int ROUNDS = 5;
+    private static final int MEASURED = 100;
+
+    private long nextPlayerId = 1;
+
+    private final Logger log = LoggerFactory.getLogger(NameUniquenessBenchmarkTest.class);
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private LobbyService lobbyService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LobbyRepository lobbyRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Test
+    void createUser_latencyIndependentOfNumberOfUsers() {
+        run("warmup", SMALL, userService::createUser, this::createUser);
+        double small = measure("small", userService::createUser, this::createUser);
+        seed(userRepository::count, this::seedUsers);
+        run("rewarm", MEASURED, userService::createUser, this::createUser);
+        double large = measure("large", userService::createUser, this::createUser);
+
+        log.info("createUser: {} us with {} users, {} us with {} users", small, SMALL, large, LARGE);
+        assertTrue(large < 3 * small, "creating a user got slower with more users");
+    }
+
+    @Test
+    void createLobby_latencyIndependentOfNumberOfLobbies() {
+        run("warmup", SMALL, this::createLobbyWithCreator, this::createLobby);
+        double small = measure("small", this::createLobbyWithCreator, this::createLobby);
+        seed(lobbyRepository::count, this::seedLobbies);
+        run("rewarm", MEASURED, this::createLobbyWithCreator, this::createLobby);
+        double large = measure("large", this::createLobbyWithCreator, this::createLobby);
+
+        log.info("createLobby: {} us with {} lobbies, {} us with {} lobbies", small, SMALL, large, LARGE);
+        assertTrue(large < 3 * small, "creating a lobby got slower with more lobbies");
+    }
+
+    private interface Creator<T> {
+        T create(String name);
+    }
+
+    private interface Action<T> {
+        T run(T entity);
+    }
+
+    /**
+     * @return the median over ROUNDS rounds of the average latency in us of creating MEASURED entities
+     */
+    private <T> double measure(String prefix, Action<T> action, Creator<T> creator) {
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            run(prefix + "-" + round, MEASURED, action, creator);
+            rounds[round] = (System.nanoTime() - start) / 1000.0 / MEASURED;
+        }
+        log.info("{}: {} us per round", prefix, rounds);
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private <T> void run(String prefix, int count, Action<T> action, Creator<T> creator) {
+        for (int i = 0; i < count; i++) {
+            action.run(creator.create("measured-" + prefix + "-" + i));
+        }
+    }
+
+    /**
+     * Fills the table with seeded rows up to LARGE rows
+     */
+    private void seed(LongSupplier count, LongConsumer chunk) {
+        for (long i = count.getAsLong(); i < LARGE; i += 1000) {
+            chunk.accept(i);
+        }
+    }
+
+    private void seedUsers(long from) {
+        List<User> users = new ArrayList<>();
+        for (long i = from; i < from + 1000; i++) {
+            User user = createUser("Seed-" + i);
+            user.setToken("seed-token-" + i);
+            user.setStatus(UserStatus.OFFLINE);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+    }
+
+    private void seedLobbies(long from) {
+        List<Lobby> lobbies = new ArrayList<>();
+        for (long i = from; i < from + 1000; i++) {
+            Lobby lobby = createLobby("Seed-" + i);
+            lobbies.add(lobby);
+        }
+        lobbyRepository.saveAll(lobbies);
+    }
+
+    /**
+     * The LobbyController saves the creator before the lobby is created
+     */
+    private Lobby createLobbyWithCreator(Lobby lobby) {
+        playerRepository.save(lobby.getCreator());
+        return lobbyService.createLobby(lobby);
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("pw");
+        return user;
+    }
+
+    /**
+     * Every lobby has its own creator, like a lobby created over the LobbyController
+     */
+    private Lobby createLobby(String lobbyName) {
+        Player creator = new Player();
+        creator.setId(nextPlayerId++);
+        creator.setUsername("creator-" + lobbyName);
+        creator.setToken("token-" + lobbyName);
+        creator.setStatus(PlayerStatus.JOINED);
+        creator.setRole(PlayerRole.GUESSER);
+        creator.setPlayerType(PlayerType.HUMAN);
+
+        Lobby lobby = new Lobby();
+        lobby.setLobbyName(lobbyName);
+        lobby.setLobbyStatus(LobbyStatus.WAITING);
+        lobby.setCreator(creator);
+        lobby.addPlayer(creator);
+        lobby.setGameMode(GameModeStatus.HUMANS);
+        lobby.setLanguage(Language.EN);
+        return lobby;
+    }
+}
@@ -0,0 +1,140 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundHttpServiceTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicLong now = new AtomicLong(1000L);
+    private OutboundHttpService outboundHttpService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "definition".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/unavailable", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/unknown", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        outboundHttpService = new OutboundHttpService(1000, 200, 2, 2, 2, 10000, now::get);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+        outboundHttpService.shutdown();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    @Test
+    void get_success_returnsBody() {
+        String body = outboundHttpService.get("test", uri("/ok"), Collections.singletonMap("app_id", "1"), () -> "fallback");
+
+        assertEquals("definition", body);
+        assertEquals(1, outboundHttpService.getMetrics().getCalls());
+        assertEquals(0, outboundHttpService.getMetrics().getInFlight());
+        assertTrue(outboundHttpService.getMetrics().toString().contains("calls=1"));
+    }
+
+    @Test
+    void get_slowUpstream_deadlineThenCircuitOpens() {
+        assertEquals("fallback", outboundHttpService.get("test", uri("/slow"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals("fallback", outboundHttpService.get("test", uri("/slow"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals(2, outboundHttpService.getMetrics().getTimeouts());
+        assertEquals(1, outboundHttpService.getMetrics().getOpenCircuits());
+
+        // the open circuit answers with the fallback without calling the upstream
+        assertEquals("fallback", outboundHttpService.get("test", uri("/ok"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals(1, outboundHttpService.getMetrics().getShortCircuited());
+        assertEquals(2, outboundHttpService.getMetrics().getCalls());
+
+        // other upstreams are not affected
+        assertEquals("definition", outboundHttpService.get("other", uri("/ok"), Collections.emptyMap(), () -> "fallback"));
+
+        // after the open duration a trial call closes the circuit again
+        now.addAndGet(10000L);
+        assertEquals("definition", outboundHttpService.get("test", uri("/ok"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals(0, outboundHttpService.getMetrics().getOpenCircuits());
+    }
+
+    @Test
+    void get_serverErrors_circuitOpens() {
+        assertEquals("fallback", outboundHttpService.get("test", uri("/unavailable"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals("fallback", outboundHttpService.get("test", uri("/unavailable"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals(2, outboundHttpService.getMetrics().getFailures());
+        assertEquals(1, outboundHttpService.getMetrics().getOpenCircuits());
+
+        assertEquals("fallback", outboundHttpService.get("test", uri("/unavailable"), Collections.emptyMap(), () -> "fallback"));
+        assertEquals(1, outboundHttpService.getMetrics().getShortCircuited());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void get_notFound_circuitStaysClosed() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("fallback", outboundHttpService.get("test", uri("/unknown"), Collections.emptyMap(), () -> "fallback"));
+        }
+
+        assertEquals(0, outboundHttpService.getMetrics().getFailures());
+        assertEquals(0, outboundHttpService.getMetrics().getOpenCircuits());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void get_notFound_notFoundAnswer() {
+        assertEquals("unknown", outboundHttpService.get("test", uri("/unknown"), Collections.emptyMap(),
+                () -> "fallback", () -> "unknown"));
+        assertEquals("fallback", outboundHttpService.get("test", uri("/unavailable"), Collections.emptyMap(),
+                () -> "fallback", () -> "unknown"));
+    }
+}
@@ -30,6 +30,12 @@ public class PlayerServiceTest {
 
     @Mock
     private PlayerRepository playerRepository;
+    @Mock
+    private LobbyStateService lobbyStateService;
+    @Mock
+    private TokenCacheService tokenCacheService;
+    @Mock
+    private SessionTokenService sessionTokenService;
 
     @InjectMocks
     private PlayerService playerService;
@@ -269,4 +275,33 @@ public class PlayerServiceTest {
         UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> playerService.playerIsInLobby(Mockito.anyString(), lobby), exceptionMessage);
         assertEquals(exceptionMessage, exception.getMessage());
     }
+
+    @Test
+    public void getLobbyIdOfPlayer_indexedUntilDeleted() {
+        Mockito.when(playerRepository.findLobbyIdByPlayerId(1L)).thenReturn(Optional.of(10L));
+        Mockito.when(playerRepository.findLobbyIdByUsername("user1")).thenReturn(Optional.of(10L));
+
+        assertEquals(10L, playerService.getLobbyIdOfPlayer(1L));
+        assertEquals(10L, playerService.getLobbyIdOfPlayer(1L));
+        assertEquals(10L, playerService.getLobbyIdOfUsername("user1"));
+        Mockito.verify(playerRepository, Mockito.times(1)).findLobbyIdByPlayerId(1L);
+
+        playerService.deletePlayer(player);
+        Mockito.when(playerRepository.findLobbyIdByPlayerId(1L)).thenReturn(Optional.empty());
+        Mockito.when(playerRepository.findLobbyIdByUsername("user1")).thenReturn(Optional.empty());
+
+        Assertions.assertNull(playerService.getLobbyIdOfPlayer(1L));
+        Assertions.assertNull(playerService.getLobbyIdOfUsername("user1"));
+    }
+
+    @Test
+    public void playerIsInLobby_otherLobbyOfIndex_unauthorized() {
+        Lobby lobby = new Lobby();
+        lobby.setId(11L);
+        lobby.addPlayer(player);
+        Mockito.when(playerRepository.findByToken("abc")).thenReturn(player);
+        Mockito.when(playerRepository.findLobbyIdByPlayerId(1L)).thenReturn(Optional.of(10L));
+
+        assertThrows(UnauthorizedException.class, () -> playerService.playerIsInLobby("abc", lobby));
+    }
 }
@@ -0,0 +1,77 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankIndexTest {
+
+    @Test
+    void getPage_highestValueFirst_tiesById() {
+        RankIndex rankIndex = new RankIndex();
+        rankIndex.put(1L, 10L);
+        rankIndex.put(2L, 30L);
+        rankIndex.put(3L, 10L);
+        rankIndex.put(4L, 20L);
+
+        assertEquals(List.of(2L, 4L, 1L, 3L), rankIndex.getPage(0, 10));
+        assertEquals(List.of(4L, 1L), rankIndex.getPage(1, 2));
+        assertEquals(List.of(), rankIndex.getPage(4, 2));
+        assertEquals(0, rankIndex.countAbove(30L));
+        assertEquals(2, rankIndex.countAbove(10L));
+    }
+
+    @Test
+    void put_existingUser_moved() {
+        RankIndex rankIndex = new RankIndex();
+        rankIndex.put(1L, 10L);
+        rankIndex.put(2L, 20L);
+        rankIndex.put(1L, 25L);
+
+        assertEquals(List.of(1L, 2L), rankIndex.getPage(0, 10));
+        assertEquals(2, rankIndex.size());
+        assertEquals(25L, rankIndex.getValue(1L));
+
+        rankIndex.remove(1L);
+        assertEquals(List.of(2L), rankIndex.getPage(0, 10));
+        assertFalse(rankIndex.contains(1L));
+    }
+
+    @Test
+    void randomUpdates_matchSortedList() {
+        Random random = new Random(42L);
+        RankIndex rankIndex = new RankIndex();
+        Map<Long, Long> values = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long userId = random.nextInt(300);
+            if (random.nextInt(10) == 0) {
+                rankIndex.remove(userId);
+                values.remove(userId);
+            }
+            else {
+                long value = random.nextInt(50);
+                rankIndex.put(userId, value);
+                values.put(userId, value);
+            }
+        }
+
+        List<Long> expected = values.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Long, Long> entry) -> -entry.getValue()).thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        assertEquals(expected, rankIndex.getPage(0, values.size()));
+        assertEquals(expected.subList(10, 30), rankIndex.getPage(10, 20));
+        for (Long userId : new ArrayList<>(values.keySet())) {
+            long above = values.values().stream().filter(value -> value > values.get(userId)).count();
+            assertEquals(above, rankIndex.countAbove(values.get(userId)));
+        }
+    }
+}
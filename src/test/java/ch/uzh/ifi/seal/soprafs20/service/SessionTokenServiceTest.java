@@ -0,0 +1,110 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.service.SessionTokenService.SessionToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokenServiceTest {
+
+    private static final long TTL = 60_000;
+
+    private long now;
+    private SessionTokenService sessionTokenService;
+
+    @BeforeEach
+    public void setup() {
+        now = 1_000_000;
+        sessionTokenService = new SessionTokenService(true, "secret", TTL, () -> now);
+    }
+
+    @Test
+    void issue_verify_containsUserAndPlayer() {
+        String token = sessionTokenService.issue(7L);
+
+        SessionToken sessionToken = sessionTokenService.verify(token);
+
+        assertNotNull(sessionToken);
+        assertEquals(7L, sessionToken.getUserId());
+        assertEquals(7L, sessionToken.getPlayerId());
+        assertEquals(1_000_000 + TTL, sessionToken.getExpiry());
+    }
+
+    @Test
+    void issue_sameUserAndTime_differentTokens() {
+        String first = sessionTokenService.issue(7L);
+        String second = sessionTokenService.issue(7L);
+
+        assertNotEquals(first, second);
+        assertNotNull(sessionTokenService.verify(second));
+    }
+
+    @Test
+    void verify_verifiedByFilter_reusedUntilRevoked() {
+        String token = sessionTokenService.issue(7L);
+        SessionToken verified = sessionTokenService.verify(token);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(SessionTokenService.REQUEST_ATTRIBUTE, verified);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertSame(verified, sessionTokenService.verify(token));
+            // another token of the same request is verified itself
+            String otherToken = sessionTokenService.issue(8L);
+            assertEquals(8L, sessionTokenService.verify(otherToken).getUserId());
+
+            sessionTokenService.revoke(token);
+            assertNull(sessionTokenService.verify(token));
+        }
+        finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void verify_changedOrForeignToken_null() {
+        String token = sessionTokenService.issue(7L);
+        String otherUser = "8" + token.substring(1);
+        String otherSecret = new SessionTokenService(true, "other", TTL, () -> now).issue(7L);
+
+        assertNull(sessionTokenService.verify(otherUser));
+        assertNull(sessionTokenService.verify(otherSecret));
+        assertNull(sessionTokenService.verify("not-a-token"));
+        assertNull(sessionTokenService.verify("a.b.c.d"));
+    }
+
+    @Test
+    void verify_expired_null() {
+        String token = sessionTokenService.issue(7L);
+
+        now += TTL;
+
+        assertNull(sessionTokenService.verify(token));
+    }
+
+    @Test
+    void revoke_tokenRejected_removedAfterExpiry() {
+        String token = sessionTokenService.issue(7L);
+
+        sessionTokenService.revoke(token);
+
+        assertNull(sessionTokenService.verify(token));
+        assertNotNull(sessionTokenService.verify(sessionTokenService.issue(8L)));
+        assertEquals(1, sessionTokenService.revokedTokenCount());
+
+        now += TTL + 1;
+        sessionTokenService.revoke(sessionTokenService.issue(8L));
+        assertEquals(1, sessionTokenService.revokedTokenCount());
+    }
+
+    @Test
+    void verify_disabled_null() {
+        SessionTokenService disabled = new SessionTokenService(false, "secret", TTL, () -> now);
+
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.verify(disabled.issue(7L)));
+    }
+}
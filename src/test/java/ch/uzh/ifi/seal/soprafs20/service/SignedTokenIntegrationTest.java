@@ -0,0 +1,115 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.exceptions.UnauthorizedException;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test of the UserService with signed tokens (token.signed.enabled=true)
+ *
+ * @see SessionTokenService
+ */
+@WebAppConfiguration
+@SpringBootTest
+@TestPropertySource(properties = {"token.signed.enabled=true", "token.signed.secret=test-secret",
+        "spring.datasource.url=jdbc:h2:mem:signedtokendb"})
+public class SignedTokenIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private WindowedLeaderboardService windowedLeaderboardService;
+
+    @BeforeEach
+    public void setup() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void createUser_signedTokenWithUserId() {
+        User createdUser = userService.createUser(createUser("signed"));
+
+        SessionTokenService.SessionToken sessionToken = sessionTokenService.verify(createdUser.getToken());
+        assertNotNull(sessionToken);
+        assertEquals(createdUser.getId(), sessionToken.getUserId());
+        assertEquals(createdUser.getToken(), userRepository.findById(createdUser.getId()).orElseThrow().getToken());
+        assertEquals(createdUser, userService.checkUserToken(createdUser.getToken()));
+    }
+
+    @Test
+    public void logoutUser_tokenRevoked_loginIssuesNewToken() {
+        User createdUser = userService.createUser(createUser("logout"));
+        String token = createdUser.getToken();
+        userService.checkUserToken(token);
+
+        User logout = new User();
+        logout.setToken(token);
+        userService.logoutUser(logout);
+
+        assertThrows(UnauthorizedException.class, () -> userService.checkUserToken(token));
+
+        User loggedIn = userService.loginUser(createUser("logout"));
+        assertNotEquals(token, loggedIn.getToken());
+        assertEquals(createdUser, userService.checkUserToken(loggedIn.getToken()));
+    }
+
+    @Test
+    public void logoutUser_otherInstance_oldTokenRejected() {
+        // a second instance with the same secret, its revocation set and token cache are its own
+        AtomicLong now = new AtomicLong(1000L);
+        UserService otherInstance = new UserService(userRepository, new TokenCacheService(100, 10000L, now::get),
+                new SessionTokenService(true, "test-secret", 604800000), playerService, leaderboardService, windowedLeaderboardService);
+        User createdUser = userService.createUser(createUser("instances"));
+        String token = createdUser.getToken();
+        // the other instance has cached the token before the logout
+        otherInstance.checkUserToken(token);
+
+        User logout = new User();
+        logout.setToken(token);
+        userService.logoutUser(logout);
+
+        // the cached token is checked against the database again once its time to live passed
+        now.addAndGet(10000L);
+        assertThrows(UnauthorizedException.class, () -> otherInstance.checkUserToken(token));
+        User loggedIn = otherInstance.loginUser(createUser("instances"));
+        assertNotEquals(token, loggedIn.getToken());
+        assertEquals(createdUser, userService.checkUserToken(loggedIn.getToken()));
+    }
+
+    @Test
+    public void checkUserToken_unsignedToken_unauthorized() {
+        userService.createUser(createUser("unsigned"));
+
+        assertThrows(UnauthorizedException.class, () -> userService.checkUserToken("not-signed"));
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("pw");
+        return user;
+    }
+}
@@ -0,0 +1,189 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.GameStats;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.repository.StatsRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatsServiceTest {
+
+    @Mock
+    private StatsRepository statsRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LeaderboardService leaderboardService;
+    @Mock
+    private WindowedLeaderboardService windowedLeaderboardService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameStats guesserStats;
+    private GameStats clueCreatorStats;
+    private User guesser;
+    private User clueCreator;
+
+    private User createUser(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("u" + id);
+        return user;
+    }
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        guesserStats = new GameStats(1L, 10L);
+        clueCreatorStats = new GameStats(2L, 10L);
+        guesser = createUser(1L);
+        clueCreator = createUser(2L);
+        Mockito.when(statsRepository.findAllByLobbyId(10L)).thenReturn(List.of(guesserStats, clueCreatorStats));
+        Mockito.when(userRepository.findAllById(Mockito.any())).thenReturn(List.of(guesser, clueCreator));
+    }
+
+    private StatsService.GuessEvent guess(boolean success, long teamPoints, boolean gameOver, StatsService.GivenClue... clues) {
+        return new StatsService.GuessEvent(10L, 1L, success, 10L, teamPoints, gameOver, List.of(clues));
+    }
+
+    @Test
+    void flushStats_guessesOfLobby_coalesced() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 100);
+        statsService.publish(guess(true, 1L, false, new StatsService.GivenClue(2L, 10L, true)));
+        statsService.publish(guess(false, 1L, false, new StatsService.GivenClue(2L, 20L, false)));
+        assertEquals(2, statsService.getPendingEvents());
+
+        statsService.flushStats();
+
+        assertEquals(0, statsService.getPendingEvents());
+        assertEquals(2L, guesserStats.getGuessCount());
+        assertEquals(1L, guesserStats.getCorrectGuessCount());
+        assertEquals(2L, clueCreatorStats.getGivenClues());
+        assertEquals(1L, clueCreatorStats.getGoodClues());
+        assertEquals(15L, clueCreatorStats.getTimeForClue());
+        assertEquals(1L, clueCreatorStats.getTeamPoints());
+        assertEquals(1L, guesser.getCorrectGuesses());
+        assertEquals(1L, clueCreator.getBestClues());
+        // nothing is added to the scores of the users before the game is over
+        assertEquals(0L, guesser.getScore());
+        Mockito.verify(statsRepository, Mockito.times(1)).findAllByLobbyId(10L);
+        Mockito.verify(statsRepository, Mockito.times(1)).saveAll(Mockito.anyCollection());
+        Mockito.verify(userRepository, Mockito.times(1)).findAllById(Mockito.any());
+        Mockito.verify(userRepository, Mockito.times(1)).saveAll(Mockito.anyCollection());
+        Mockito.verify(leaderboardService, Mockito.times(1)).update(guesser);
+    }
+
+    @Test
+    void flushStats_gameOver_scoresAddedToUsers() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 100);
+        statsService.publish(guess(true, 1L, true));
+
+        statsService.flushStats();
+
+        assertEquals(guesserStats.getScore().longValue(), guesser.getScore());
+        assertEquals(clueCreatorStats.getScore().longValue(), clueCreator.getScore());
+        assertEquals(30L, clueCreator.getScore());
+        Map<Long, Long> scores = Map.of(1L, guesserStats.getScore(), 2L, 30L);
+        Mockito.verify(windowedLeaderboardService, Mockito.times(1)).saveScores(0L, scores);
+        Mockito.verify(windowedLeaderboardService, Mockito.times(1)).addScores(0L, scores);
+    }
+
+    @Test
+    void flushStats_gameOverUserDeleted_noScoreForDeletedUser() {
+        // the clue creator deleted the account before the stats were persisted
+        Mockito.when(userRepository.findAllById(Mockito.any())).thenReturn(List.of(guesser));
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 100);
+        statsService.publish(guess(true, 1L, true));
+
+        statsService.flushStats();
+
+        Map<Long, Long> scores = Map.of(1L, guesserStats.getScore());
+        Mockito.verify(windowedLeaderboardService, Mockito.times(1)).saveScores(0L, scores);
+        Mockito.verify(windowedLeaderboardService, Mockito.times(1)).addScores(0L, scores);
+    }
+
+    @Test
+    void publish_queueFull_persistsBatch() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 1);
+        statsService.publish(guess(false, 0L, false));
+        statsService.publish(guess(false, 0L, false));
+
+        assertEquals(1, statsService.getPendingEvents());
+        assertEquals(1L, guesserStats.getGuessCount());
+        Mockito.verify(statsRepository, Mockito.times(1)).saveAll(Mockito.anyCollection());
+    }
+
+    @Test
+    void flushStats_persistFailed_retriedWithNextBatch() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 100);
+        Mockito.when(statsRepository.saveAll(Mockito.anyCollection())).thenThrow(new QueryTimeoutException("database down")).thenReturn(List.of());
+        statsService.publish(guess(true, 1L, false));
+
+        statsService.flushStats();
+        assertEquals(1, statsService.getPendingEvents());
+        Mockito.verify(leaderboardService, Mockito.never()).update(Mockito.any());
+
+        statsService.publish(guess(false, 1L, false, new StatsService.GivenClue(2L, 10L, true)));
+        statsService.flushStats();
+
+        assertEquals(0, statsService.getPendingEvents());
+        Mockito.verify(statsRepository, Mockito.times(2)).saveAll(Mockito.anyCollection());
+        Mockito.verify(leaderboardService, Mockito.times(1)).update(guesser);
+    }
+
+    @Test
+    void flushStats_persistFailedBeyondCapacity_oldestDropped() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 2);
+        Mockito.when(statsRepository.saveAll(Mockito.anyCollection())).thenThrow(new QueryTimeoutException("database down"));
+        statsService.publish(guess(false, 0L, false));
+        statsService.publish(guess(false, 0L, false));
+        statsService.flushStats();
+
+        statsService.publish(guess(false, 0L, false));
+        statsService.flushStats();
+
+        assertEquals(2, statsService.getPendingEvents());
+    }
+
+    @Test
+    void flushStats_guessWithoutTime_onlyItsLobbyDropped() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 100);
+        GameStats otherLobbyStats = new GameStats(1L, 11L);
+        Mockito.when(statsRepository.findAllByLobbyId(11L)).thenReturn(List.of(otherLobbyStats));
+        statsService.publish(new StatsService.GuessEvent(11L, 1L, true, null, 1L, false, List.of()));
+        statsService.publish(guess(true, 1L, false));
+
+        statsService.flushStats();
+
+        // the guess without a time is not retried, the guess of the other lobby is persisted
+        assertEquals(0, statsService.getPendingEvents());
+        assertEquals(1L, guesserStats.getCorrectGuessCount());
+        Mockito.verify(leaderboardService, Mockito.times(1)).update(guesser);
+
+        statsService.publish(guess(false, 1L, false));
+        statsService.flushStats();
+
+        assertEquals(0, statsService.getPendingEvents());
+        assertEquals(2L, guesserStats.getGuessCount());
+    }
+
+    @Test
+    void flushStats_nothingQueued_noDatabaseAccess() {
+        StatsService statsService = new StatsService(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager, 100);
+
+        statsService.flushStats();
+
+        Mockito.verifyNoInteractions(statsRepository, userRepository, leaderboardService, windowedLeaderboardService, transactionManager);
+    }
+}
@@ -0,0 +1,108 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCacheServiceTest {
+
+    private TokenCacheService tokenCacheService;
+    private final AtomicLong now = new AtomicLong(1000L);
+
+    @BeforeEach
+    public void setup() {
+        tokenCacheService = new TokenCacheService(2, 100L, now::get);
+    }
+
+    @Test
+    void getUser_timeToLivePassed_entryEvicted() {
+        tokenCacheService.putUser(createUser(1L, "abc"));
+        tokenCacheService.putLobbyId("abc", 10L);
+
+        now.addAndGet(99L);
+        assertNotNull(tokenCacheService.getUser("abc"));
+
+        now.addAndGet(1L);
+        assertNull(tokenCacheService.getUser("abc"));
+        assertNull(tokenCacheService.getLobbyId("abc"));
+        assertEquals(0, tokenCacheService.size());
+    }
+
+    @Test
+    void putUser_getUserByToken() {
+        User user = createUser(1L, "abc");
+
+        tokenCacheService.putUser(user);
+
+        assertSame(user, tokenCacheService.getUser("abc"));
+        assertNull(tokenCacheService.getUser("def"));
+    }
+
+    @Test
+    void putUser_full_leastRecentlyUsedEvicted() {
+        tokenCacheService.putUser(createUser(1L, "a"));
+        tokenCacheService.putUser(createUser(2L, "b"));
+        tokenCacheService.getUser("a");
+
+        tokenCacheService.putUser(createUser(3L, "c"));
+
+        assertEquals(2, tokenCacheService.size());
+        assertNotNull(tokenCacheService.getUser("a"));
+        assertNull(tokenCacheService.getUser("b"));
+        assertNotNull(tokenCacheService.getUser("c"));
+        // the evicted user is cached again with a new token without evicting another one
+        tokenCacheService.evictUser(1L);
+        tokenCacheService.putUser(createUser(2L, "b2"));
+        assertEquals(2, tokenCacheService.size());
+    }
+
+    @Test
+    void putUser_newTokenOfSameUser_oldTokenEvicted() {
+        tokenCacheService.putUser(createUser(1L, "old"));
+
+        tokenCacheService.putUser(createUser(1L, "new"));
+
+        assertNull(tokenCacheService.getUser("old"));
+        assertNotNull(tokenCacheService.getUser("new"));
+    }
+
+    @Test
+    void evictTokenAndUser_entriesRemoved() {
+        tokenCacheService.putUser(createUser(1L, "a"));
+        tokenCacheService.putUser(createUser(2L, "b"));
+
+        tokenCacheService.evictToken("a");
+        tokenCacheService.evictUser(2L);
+
+        assertNull(tokenCacheService.getUser("a"));
+        assertNull(tokenCacheService.getUser("b"));
+        assertEquals(0, tokenCacheService.size());
+    }
+
+    @Test
+    void putLobbyId_onlyForCachedTokens() {
+        tokenCacheService.putUser(createUser(1L, "a"));
+
+        tokenCacheService.putLobbyId("a", 10L);
+        tokenCacheService.putLobbyId("b", 10L);
+
+        assertEquals(10L, tokenCacheService.getLobbyId("a"));
+        assertNull(tokenCacheService.getLobbyId("b"));
+
+        // leaving the lobby deletes the player which evicts the user
+        tokenCacheService.evictUser(1L);
+        assertNull(tokenCacheService.getLobbyId("a"));
+    }
+
+    private User createUser(Long id, String token) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setToken(token);
+        return user;
+    }
+}
@@ -11,6 +11,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.web.WebAppConfiguration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -72,4 +80,52 @@ public class UserServiceIntegrationTest {
         ConflictException exception = assertThrows(ConflictException.class, () -> userService.createUser(testUser2), exceptionMessage);
         assertEquals(exceptionMessage, exception.getMessage());
     }
+
+    @Test
+    public void createUser_sameUsernameOtherCase_throwsException() {
+        User testUser = new User();
+        testUser.setUsername("testUsername");
+        testUser.setPassword("pw");
+        userService.createUser(testUser);
+
+        User testUser2 = new User();
+        testUser2.setUsername("TESTusername");
+        testUser2.setPassword("pw2");
+
+        assertThrows(ConflictException.class, () -> userService.createUser(testUser2));
+    }
+
+    @Test
+    public void createUser_sameUsernameConcurrently_onlyOneCreated() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String username = i % 2 == 0 ? "racer" : "Racer";
+            results.add(threads.submit(() -> {
+                start.await();
+                User user = new User();
+                user.setUsername(username);
+                user.setPassword("pw");
+                try {
+                    userService.createUser(user);
+                    return true;
+                }
+                catch (ConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (Boolean.TRUE.equals(result.get(10, TimeUnit.SECONDS))) {
+                created++;
+            }
+        }
+        threads.shutdown();
+        assertEquals(1, created);
+        assertEquals(1, userRepository.count());
+    }
 }
@@ -11,6 +11,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +25,16 @@ public class UserServiceTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private TokenCacheService tokenCacheService;
+    @Mock
+    private SessionTokenService sessionTokenService;
+    @Mock
+    private PlayerService playerService;
+    @Mock
+    private LeaderboardService leaderboardService;
+    @Mock
+    private WindowedLeaderboardService windowedLeaderboardService;
 
     @InjectMocks
     private UserService userService;
@@ -74,11 +87,9 @@ public class UserServiceTest {
     public void createUser_duplicateUsername_throwsException() {
         // given -> a first user has already been created
         userService.createUser(testUser);
-        List<User> testUserList = new ArrayList<>();
-        testUserList.add(testUser);
 
         // when -> setup additional mocks for UserRepository
-        Mockito.when(userRepository.findAll()).thenReturn(testUserList);
+        Mockito.when(userRepository.existsByNormalizedUsername(testUser.getUsername().toLowerCase())).thenReturn(true);
 
         // then -> attempt to create second user with same user -> check that an error is thrown
         String exceptionMessage = "The username provided is not unique. Therefore, the user could not be created!";
@@ -208,6 +219,24 @@ public class UserServiceTest {
         assertEquals(testUser.getBirthday(), updatedUser.getBirthday());
     }
 
+    /**
+     * Tests Update Profile function when the new username is taken concurrently
+     */
+    @Test
+    public void updateUser_usernameTakenConcurrently_throwsException() {
+        testUser.setToken("12345");
+        Mockito.when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(testUser));
+        Mockito.when(userRepository.findByToken(Mockito.anyString())).thenReturn(testUser);
+        Mockito.doThrow(new DataIntegrityViolationException("unique index")).when(userRepository).flush();
+
+        User newProfile = new User();
+        newProfile.setUsername("flo");
+
+        String exceptionMessage = "Username already in use!";
+        ConflictException exception = assertThrows(ConflictException.class, () -> userService.updateUser(newProfile, "12345", testUser.getId()), exceptionMessage);
+        assertEquals(exceptionMessage, exception.getMessage());
+    }
+
     /**
      * Tests Update Profile function with wrong Token
      */
@@ -296,4 +325,86 @@ public class UserServiceTest {
         assertEquals(exceptionMessage, exception.getMessage());
     }
 
+    @Test
+    public void logoutUser_signedTokens_playerGetsNewToken() {
+        testUser.setToken("old");
+        Mockito.when(userRepository.findByToken("old")).thenReturn(testUser);
+        Mockito.when(sessionTokenService.isEnabled()).thenReturn(true);
+        Mockito.when(sessionTokenService.issue(1L)).thenReturn("new");
+
+        userService.logoutUser(testUser);
+
+        assertEquals("new", testUser.getToken());
+        Mockito.verify(playerService, Mockito.times(1)).updateToken(1L, "new");
+    }
+
+    @Test
+    public void deleteUser_rankedUser_removedFromLeaderboards() {
+        userService.deleteUser(testUser);
+
+        Mockito.verify(userRepository, Mockito.times(1)).delete(testUser);
+        Mockito.verify(leaderboardService, Mockito.times(1)).remove(1L);
+        Mockito.verify(windowedLeaderboardService, Mockito.times(1)).deleteScores(1L);
+        Mockito.verify(windowedLeaderboardService, Mockito.times(1)).remove(1L);
+    }
+
+    @Test
+    public void createUser_inTransaction_addedToLeaderboardAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.createUser(testUser);
+            Mockito.verify(leaderboardService, Mockito.never()).update(Mockito.any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            Mockito.verify(leaderboardService, Mockito.times(1)).update(testUser);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void deleteUser_inTransaction_removedFromLeaderboardsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.deleteUser(testUser);
+
+            // the buckets are deleted in the transaction, the rankings wait for the commit
+            Mockito.verify(windowedLeaderboardService, Mockito.times(1)).deleteScores(1L);
+            Mockito.verify(leaderboardService, Mockito.never()).remove(Mockito.any());
+            Mockito.verify(windowedLeaderboardService, Mockito.never()).remove(Mockito.any());
+            Mockito.verify(tokenCacheService, Mockito.times(1)).evictUser(1L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            Mockito.verify(leaderboardService, Mockito.times(1)).remove(1L);
+            Mockito.verify(windowedLeaderboardService, Mockito.times(1)).remove(1L);
+            // evicted again, a request that read the user before the commit may have cached it
+            Mockito.verify(tokenCacheService, Mockito.times(2)).evictUser(1L);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void checkUserToken_cachedToken_noRepositoryAccess() {
+        testUser.setToken("12345");
+        Mockito.when(tokenCacheService.getUser("12345")).thenReturn(testUser);
+
+        assertEquals(testUser, userService.checkUserToken("12345"));
+        Mockito.verify(userRepository, Mockito.never()).findByToken(Mockito.any());
+    }
+
+    @Test
+    public void checkUserToken_unknownToken_userCached() {
+        testUser.setToken("12345");
+        Mockito.when(userRepository.findByToken("12345")).thenReturn(testUser);
+
+        userService.checkUserToken("12345");
+
+        Mockito.verify(tokenCacheService, Mockito.times(1)).putUser(testUser);
+    }
+
 }
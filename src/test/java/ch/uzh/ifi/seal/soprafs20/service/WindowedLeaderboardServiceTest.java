@@ -0,0 +1,175 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.RankingWindow;
+import ch.uzh.ifi.seal.soprafs20.entity.ScoreBucket;
+import ch.uzh.ifi.seal.soprafs20.repository.ScoreBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedLeaderboardServiceTest {
+
+    private static final long DAY = 18000L;
+
+    @Mock
+    private ScoreBucketRepository scoreBucketRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DayClock clock;
+    private WindowedLeaderboardService windowedLeaderboardService;
+
+    /**
+     * Clock whose day is moved by the tests
+     */
+    private static final class DayClock extends Clock {
+        private long day;
+
+        private DayClock(long day) {
+            this.day = day;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochSecond(day * 24 * 60 * 60 + 60);
+        }
+    }
+
+    private ScoreBucket bucket(long day, long userId, long score) {
+        ScoreBucket bucket = new ScoreBucket(day, userId);
+        bucket.addScore(score);
+        return bucket;
+    }
+
+    private List<Long> userIds(List<WindowedLeaderboardService.WindowRank> ranks) {
+        return ranks.stream().map(WindowedLeaderboardService.WindowRank::getUserId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        clock = new DayClock(DAY);
+        // user 1 played today, user 2 three days ago and user 3 twenty days ago
+        Mockito.when(scoreBucketRepository.findAllByBucketDayGreaterThanEqual(DAY - 29))
+                .thenReturn(List.of(bucket(DAY, 1L, 10L), bucket(DAY - 3, 2L, 20L), bucket(DAY - 20, 3L, 40L)));
+        windowedLeaderboardService = new WindowedLeaderboardService(scoreBucketRepository, transactionManager, clock);
+    }
+
+    @Test
+    void getPage_bucketsLoaded_scoresPerWindow() {
+        assertEquals(List.of(1L), userIds(windowedLeaderboardService.getPage(RankingWindow.DAILY, 0, 10)));
+        assertEquals(List.of(2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.WEEKLY, 0, 10)));
+        assertEquals(List.of(3L, 2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10)));
+        assertEquals(List.of(1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 2, 10)));
+
+        WindowedLeaderboardService.WindowRank rank = windowedLeaderboardService.getRank(RankingWindow.MONTHLY, 2L);
+        assertEquals(20L, rank.getScore());
+        assertEquals(2, rank.getRank());
+        assertNull(windowedLeaderboardService.getRank(RankingWindow.DAILY, 3L));
+        Mockito.verify(scoreBucketRepository, Mockito.times(1)).findAllByBucketDayGreaterThanEqual(Mockito.anyLong());
+    }
+
+    @Test
+    void addScores_sameDay_topPageUpdated() {
+        windowedLeaderboardService.load();
+        assertEquals(List.of(1L), userIds(windowedLeaderboardService.getPage(RankingWindow.DAILY, 0, 10)));
+
+        windowedLeaderboardService.addScores(DAY, Map.of(2L, 15L, 1L, 10L));
+
+        List<WindowedLeaderboardService.WindowRank> daily = windowedLeaderboardService.getPage(RankingWindow.DAILY, 0, 10);
+        assertEquals(List.of(1L, 2L), userIds(daily));
+        assertEquals(20L, daily.get(0).getScore());
+        assertEquals(35L, windowedLeaderboardService.getRank(RankingWindow.WEEKLY, 2L).getScore());
+        assertEquals(1, windowedLeaderboardService.getRank(RankingWindow.WEEKLY, 2L).getRank());
+    }
+
+    @Test
+    void rollOver_daysPassed_expiredScoresSubtracted() {
+        windowedLeaderboardService.load();
+
+        clock.day = DAY + 4;
+        windowedLeaderboardService.rollOver();
+
+        assertTrue(windowedLeaderboardService.getPage(RankingWindow.DAILY, 0, 10).isEmpty());
+        // the game of user 2 was seven days ago
+        assertEquals(List.of(1L), userIds(windowedLeaderboardService.getPage(RankingWindow.WEEKLY, 0, 10)));
+        // the game of user 3 was 24 days ago
+        assertEquals(List.of(3L, 2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10)));
+        Mockito.verify(scoreBucketRepository, Mockito.times(1)).deleteOlderThan(DAY + 4 - 29);
+
+        clock.day = DAY + 10;
+        assertEquals(List.of(2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10)));
+
+        clock.day = DAY + 100;
+        assertTrue(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10).isEmpty());
+        // the history is never read again
+        Mockito.verify(scoreBucketRepository, Mockito.times(1)).findAllByBucketDayGreaterThanEqual(Mockito.anyLong());
+    }
+
+    @Test
+    void remove_userWithScores_removedFromEveryWindow() {
+        assertEquals(List.of(3L, 2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10)));
+
+        windowedLeaderboardService.deleteScores(3L);
+        windowedLeaderboardService.remove(3L);
+
+        assertEquals(List.of(2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10)));
+        assertNull(windowedLeaderboardService.getRank(RankingWindow.MONTHLY, 3L));
+        assertEquals(1, windowedLeaderboardService.getRank(RankingWindow.MONTHLY, 2L).getRank());
+        Mockito.verify(scoreBucketRepository, Mockito.times(1)).deleteByUserId(3L);
+
+        // the removed bucket is not subtracted when it drops out of the monthly window
+        clock.day = DAY + 10;
+        assertEquals(List.of(2L, 1L), userIds(windowedLeaderboardService.getPage(RankingWindow.MONTHLY, 0, 10)));
+    }
+
+    @Test
+    void addScores_notLoaded_committedScoresReadOnce() {
+        windowedLeaderboardService.addScores(DAY, Map.of(1L, 10L));
+
+        // the score of user 1 is part of the loaded bucket
+        assertEquals(10L, windowedLeaderboardService.getRank(RankingWindow.DAILY, 1L).getScore());
+    }
+
+    @Test
+    void saveScores_existingBucket_scoreAdded() {
+        ScoreBucket existing = bucket(DAY, 1L, 10L);
+        Mockito.when(scoreBucketRepository.findAllByBucketDayAndUserIdIn(Mockito.eq(DAY), Mockito.anyCollection()))
+                .thenReturn(List.of(existing));
+
+        windowedLeaderboardService.saveScores(DAY, Map.of(1L, 5L, 2L, 7L));
+
+        assertEquals(15L, existing.getScore());
+        Mockito.verify(scoreBucketRepository, Mockito.times(1)).saveAll(Mockito.argThat(buckets -> {
+            long count = 0;
+            for (ScoreBucket bucket : buckets) {
+                count++;
+                assertEquals(DAY, bucket.getBucketDay());
+            }
+            return count == 2;
+        }));
+    }
+}